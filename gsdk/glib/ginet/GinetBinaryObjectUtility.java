@@ -0,0 +1,571 @@
+package gsdk.glib.ginet;
+
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+import gsdk.source.vectors.Vector2Df;
+import gsdk.source.vectors.Vector2Di;
+import gsdk.source.vectors.Vector3Df;
+import gsdk.source.vectors.Vector3Di;
+import gsdk.source.vectors.Vector4Df;
+import gsdk.source.vectors.Vector4Di;
+
+/**
+ * Compact binary encoding/decoding of transfer data (binary alternative to <code>GinetTransferableObjectUtility</code>).
+ * Values are written directly into <code>ByteBuffer</code> and read back without intermediate strings.
+ * Typed methods (<code>put</code>/<code>get*</code>) write raw values for fixed message layouts; <code>assemble</code>/<code>disassemble</code>
+ * write values with one byte type tag each (primitives, strings, vectors, primitive and object arrays).
+ * Numbers use buffer byte order, lengths and counts are unsigned varints, strings are UTF-8.
+ */
+public class GinetBinaryObjectUtility {
+    public static final byte NULL = 0, BOOLEAN = 1, BYTE = 2, SHORT = 3, CHAR = 4, INT = 5, LONG = 6, FLOAT = 7, DOUBLE = 8, STRING = 9;
+
+    public static final byte VECTOR2DF = 10, VECTOR2DI = 11, VECTOR3DF = 12, VECTOR3DI = 13, VECTOR4DF = 14, VECTOR4DI = 15;
+
+    public static final byte BYTE_ARRAY = 16, INT_ARRAY = 17, LONG_ARRAY = 18, FLOAT_ARRAY = 19, DOUBLE_ARRAY = 20, OBJECT_ARRAY = 21;
+
+    /**
+     * Write objects count and tagged objects.
+     *
+     * @param dst Destination buffer (at least <code>assembledSize</code> remaining).
+     * @param objects Objects.
+     */
+    public static void assemble(ByteBuffer dst, Object... objects) {
+        GinetFrameCodec.writeVarint(dst, objects.length);
+
+        for(Object object : objects) write(dst, object);
+    }
+
+    /**
+     * Read objects written with <code>assemble</code>.
+     *
+     * @param src Source buffer.
+     */
+    public static Object[] disassemble(ByteBuffer src) {
+        Object[] objects = new Object[readLength(src)];
+
+        for(int i = 0; i < objects.length; i++) objects[i] = read(src);
+
+        return objects;
+    }
+
+    /**
+     * Get encoded size of <code>assemble</code> (bytes).
+     *
+     * @param objects Objects.
+     */
+    public static int assembledSize(Object... objects) {
+        int size = GinetFrameCodec.varintSize(objects.length);
+
+        for(Object object : objects) size += sizeOf(object);
+
+        return size;
+    }
+
+    /**
+     * Write tagged object.
+     *
+     * @param dst Destination buffer.
+     * @param object Object (null, boxed primitive, String, vector, primitive array or Object[]).
+     */
+    public static void write(ByteBuffer dst, Object object) {
+        if(object == null) {
+            dst.put(NULL);
+        } else if(object instanceof Integer value) {
+            dst.put(INT).putInt(value);
+        } else if(object instanceof Float value) {
+            dst.put(FLOAT).putFloat(value);
+        } else if(object instanceof String value) {
+            dst.put(STRING); put(dst, value);
+        } else if(object instanceof Boolean value) {
+            dst.put(BOOLEAN).put((byte) (value ? 1 : 0));
+        } else if(object instanceof Long value) {
+            dst.put(LONG).putLong(value);
+        } else if(object instanceof Double value) {
+            dst.put(DOUBLE).putDouble(value);
+        } else if(object instanceof Byte value) {
+            dst.put(BYTE).put(value);
+        } else if(object instanceof Short value) {
+            dst.put(SHORT).putShort(value);
+        } else if(object instanceof Character value) {
+            dst.put(CHAR).putChar(value);
+        } else if(object instanceof Vector2Df value) {
+            dst.put(VECTOR2DF); put(dst, value);
+        } else if(object instanceof Vector2Di value) {
+            dst.put(VECTOR2DI); put(dst, value);
+        } else if(object instanceof Vector3Df value) {
+            dst.put(VECTOR3DF); put(dst, value);
+        } else if(object instanceof Vector3Di value) {
+            dst.put(VECTOR3DI); put(dst, value);
+        } else if(object instanceof Vector4Df value) {
+            dst.put(VECTOR4DF); put(dst, value);
+        } else if(object instanceof Vector4Di value) {
+            dst.put(VECTOR4DI); put(dst, value);
+        } else if(object instanceof byte[] value) {
+            dst.put(BYTE_ARRAY); put(dst, value);
+        } else if(object instanceof int[] value) {
+            dst.put(INT_ARRAY); put(dst, value);
+        } else if(object instanceof long[] value) {
+            dst.put(LONG_ARRAY); put(dst, value);
+        } else if(object instanceof float[] value) {
+            dst.put(FLOAT_ARRAY); put(dst, value);
+        } else if(object instanceof double[] value) {
+            dst.put(DOUBLE_ARRAY); put(dst, value);
+        } else if(object instanceof Object[] value) {
+            dst.put(OBJECT_ARRAY); assemble(dst, value);
+        } else {
+            throw new IllegalArgumentException("Unsupported transfer type: " + object.getClass().getName());
+        }
+    }
+
+    /**
+     * Read tagged object.
+     *
+     * @param src Source buffer.
+     */
+    public static Object read(ByteBuffer src) {
+        byte tag = src.get();
+
+        return switch(tag) {
+            case NULL -> null;
+            case BOOLEAN -> src.get() != 0;
+            case BYTE -> src.get();
+            case SHORT -> src.getShort();
+            case CHAR -> src.getChar();
+            case INT -> src.getInt();
+            case LONG -> src.getLong();
+            case FLOAT -> src.getFloat();
+            case DOUBLE -> src.getDouble();
+            case STRING -> getString(src);
+            case VECTOR2DF -> getVector2Df(src);
+            case VECTOR2DI -> getVector2Di(src);
+            case VECTOR3DF -> getVector3Df(src);
+            case VECTOR3DI -> getVector3Di(src);
+            case VECTOR4DF -> getVector4Df(src);
+            case VECTOR4DI -> getVector4Di(src);
+            case BYTE_ARRAY -> getBytes(src);
+            case INT_ARRAY -> getInts(src);
+            case LONG_ARRAY -> getLongs(src);
+            case FLOAT_ARRAY -> getFloats(src);
+            case DOUBLE_ARRAY -> getDoubles(src);
+            case OBJECT_ARRAY -> disassemble(src);
+            default -> throw new IllegalArgumentException("Unknown transfer type tag: " + tag);
+        };
+    }
+
+    /**
+     * Get encoded size of tagged object (bytes).
+     *
+     * @param object Object.
+     */
+    public static int sizeOf(Object object) {
+        if(object == null) return 1;
+
+        if(object instanceof Integer || object instanceof Float) return 5;
+        if(object instanceof Long || object instanceof Double) return 9;
+        if(object instanceof Short || object instanceof Character) return 3;
+        if(object instanceof Byte || object instanceof Boolean) return 2;
+
+        if(object instanceof String value) return 1 + sizeOf(value);
+
+        if(object instanceof Vector2Df || object instanceof Vector2Di) return 9;
+        if(object instanceof Vector3Df || object instanceof Vector3Di) return 13;
+        if(object instanceof Vector4Df || object instanceof Vector4Di) return 17;
+
+        if(object instanceof byte[] value) return 1 + arraySize(value.length, 1);
+        if(object instanceof int[] value) return 1 + arraySize(value.length, 4);
+        if(object instanceof float[] value) return 1 + arraySize(value.length, 4);
+        if(object instanceof long[] value) return 1 + arraySize(value.length, 8);
+        if(object instanceof double[] value) return 1 + arraySize(value.length, 8);
+
+        if(object instanceof Object[] value) return 1 + assembledSize(value);
+
+        throw new IllegalArgumentException("Unsupported transfer type: " + object.getClass().getName());
+    }
+
+    /**
+     * Get encoded size of string (UTF-8 length varint and bytes).
+     *
+     * @param string String.
+     */
+    public static int sizeOf(String string) {
+        int length = utf8Length(string);
+
+        return GinetFrameCodec.varintSize(length) + length;
+    }
+
+    /**
+     * Write string (UTF-8 length varint and bytes, encoded without intermediate array).
+     *
+     * @param dst Destination buffer.
+     * @param string String.
+     */
+    public static void put(ByteBuffer dst, String string) {
+        GinetFrameCodec.writeVarint(dst, utf8Length(string));
+
+        for(int i = 0; i < string.length(); i++) {
+            char chr = string.charAt(i);
+
+            if(chr < 0x80) {
+                dst.put((byte) chr);
+            } else if(chr < 0x800) {
+                dst.put((byte) (0xC0 | (chr >> 6))).put((byte) (0x80 | (chr & 0x3F)));
+            } else if(Character.isHighSurrogate(chr) && i + 1 < string.length() && Character.isLowSurrogate(string.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(chr, string.charAt(++i));
+
+                dst.put((byte) (0xF0 | (codePoint >> 18))).put((byte) (0x80 | ((codePoint >> 12) & 0x3F)))
+                    .put((byte) (0x80 | ((codePoint >> 6) & 0x3F))).put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if(Character.isSurrogate(chr)) {
+                // Unpaired surrogate: replacement character '?' (same as String.getBytes).
+                dst.put((byte) '?');
+            } else {
+                dst.put((byte) (0xE0 | (chr >> 12))).put((byte) (0x80 | ((chr >> 6) & 0x3F))).put((byte) (0x80 | (chr & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Read string written with <code>put(ByteBuffer, String)</code>.
+     *
+     * @param src Source buffer.
+     */
+    public static String getString(ByteBuffer src) {
+        int length = readLength(src);
+
+        String string;
+
+        if(src.hasArray()) {
+            string = new String(src.array(), src.arrayOffset() + src.position(), length, StandardCharsets.UTF_8);
+
+            src.position(src.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+
+            src.get(bytes);
+
+            string = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        return string;
+    }
+
+    /**
+     * Write vector.
+     *
+     * @param dst Destination buffer.
+     * @param vector Vector.
+     */
+    public static void put(ByteBuffer dst, Vector2Df vector) {
+        dst.putFloat(vector.x()).putFloat(vector.y());
+    }
+
+    /**
+     * Write vector.
+     *
+     * @param dst Destination buffer.
+     * @param vector Vector.
+     */
+    public static void put(ByteBuffer dst, Vector2Di vector) {
+        dst.putInt(vector.x()).putInt(vector.y());
+    }
+
+    /**
+     * Write vector.
+     *
+     * @param dst Destination buffer.
+     * @param vector Vector.
+     */
+    public static void put(ByteBuffer dst, Vector3Df vector) {
+        dst.putFloat(vector.x()).putFloat(vector.y()).putFloat(vector.z());
+    }
+
+    /**
+     * Write vector.
+     *
+     * @param dst Destination buffer.
+     * @param vector Vector.
+     */
+    public static void put(ByteBuffer dst, Vector3Di vector) {
+        dst.putInt(vector.x()).putInt(vector.y()).putInt(vector.z());
+    }
+
+    /**
+     * Write vector.
+     *
+     * @param dst Destination buffer.
+     * @param vector Vector.
+     */
+    public static void put(ByteBuffer dst, Vector4Df vector) {
+        dst.putFloat(vector.x()).putFloat(vector.y()).putFloat(vector.z()).putFloat(vector.w());
+    }
+
+    /**
+     * Write vector.
+     *
+     * @param dst Destination buffer.
+     * @param vector Vector.
+     */
+    public static void put(ByteBuffer dst, Vector4Di vector) {
+        dst.putInt(vector.x()).putInt(vector.y()).putInt(vector.z()).putInt(vector.w());
+    }
+
+    /**
+     * Read vector.
+     *
+     * @param src Source buffer.
+     */
+    public static Vector2Df getVector2Df(ByteBuffer src) {
+        return new Vector2Df(src.getFloat(), src.getFloat());
+    }
+
+    /**
+     * Read vector.
+     *
+     * @param src Source buffer.
+     */
+    public static Vector2Di getVector2Di(ByteBuffer src) {
+        return new Vector2Di(src.getInt(), src.getInt());
+    }
+
+    /**
+     * Read vector.
+     *
+     * @param src Source buffer.
+     */
+    public static Vector3Df getVector3Df(ByteBuffer src) {
+        return new Vector3Df(src.getFloat(), src.getFloat(), src.getFloat());
+    }
+
+    /**
+     * Read vector.
+     *
+     * @param src Source buffer.
+     */
+    public static Vector3Di getVector3Di(ByteBuffer src) {
+        return new Vector3Di(src.getInt(), src.getInt(), src.getInt());
+    }
+
+    /**
+     * Read vector.
+     *
+     * @param src Source buffer.
+     */
+    public static Vector4Df getVector4Df(ByteBuffer src) {
+        return new Vector4Df(src.getFloat(), src.getFloat(), src.getFloat(), src.getFloat());
+    }
+
+    /**
+     * Read vector.
+     *
+     * @param src Source buffer.
+     */
+    public static Vector4Di getVector4Di(ByteBuffer src) {
+        return new Vector4Di(src.getInt(), src.getInt(), src.getInt(), src.getInt());
+    }
+
+    /**
+     * Read vector into existing vector (no allocation).
+     *
+     * @param src Source buffer.
+     * @param vector Destination vector.
+     */
+    public static Vector3Df get(ByteBuffer src, Vector3Df vector) {
+        vector.x(src.getFloat());
+        vector.y(src.getFloat());
+        vector.z(src.getFloat());
+
+        return vector;
+    }
+
+    /**
+     * Read vector into existing vector (no allocation).
+     *
+     * @param src Source buffer.
+     * @param vector Destination vector.
+     */
+    public static Vector2Df get(ByteBuffer src, Vector2Df vector) {
+        vector.x(src.getFloat());
+        vector.y(src.getFloat());
+
+        return vector;
+    }
+
+    /**
+     * Write array (length varint and elements).
+     *
+     * @param dst Destination buffer.
+     * @param array Array.
+     */
+    public static void put(ByteBuffer dst, byte[] array) {
+        GinetFrameCodec.writeVarint(dst, array.length);
+
+        dst.put(array);
+    }
+
+    /**
+     * Write array (length varint and elements).
+     *
+     * @param dst Destination buffer.
+     * @param array Array.
+     */
+    public static void put(ByteBuffer dst, int[] array) {
+        GinetFrameCodec.writeVarint(dst, array.length);
+
+        dst.asIntBuffer().put(array);
+
+        dst.position(dst.position() + array.length * Integer.BYTES);
+    }
+
+    /**
+     * Write array (length varint and elements).
+     *
+     * @param dst Destination buffer.
+     * @param array Array.
+     */
+    public static void put(ByteBuffer dst, long[] array) {
+        GinetFrameCodec.writeVarint(dst, array.length);
+
+        dst.asLongBuffer().put(array);
+
+        dst.position(dst.position() + array.length * Long.BYTES);
+    }
+
+    /**
+     * Write array (length varint and elements).
+     *
+     * @param dst Destination buffer.
+     * @param array Array.
+     */
+    public static void put(ByteBuffer dst, float[] array) {
+        GinetFrameCodec.writeVarint(dst, array.length);
+
+        dst.asFloatBuffer().put(array);
+
+        dst.position(dst.position() + array.length * Float.BYTES);
+    }
+
+    /**
+     * Write array (length varint and elements).
+     *
+     * @param dst Destination buffer.
+     * @param array Array.
+     */
+    public static void put(ByteBuffer dst, double[] array) {
+        GinetFrameCodec.writeVarint(dst, array.length);
+
+        dst.asDoubleBuffer().put(array);
+
+        dst.position(dst.position() + array.length * Double.BYTES);
+    }
+
+    /**
+     * Read array.
+     *
+     * @param src Source buffer.
+     */
+    public static byte[] getBytes(ByteBuffer src) {
+        byte[] array = new byte[readLength(src)];
+
+        src.get(array);
+
+        return array;
+    }
+
+    /**
+     * Read array.
+     *
+     * @param src Source buffer.
+     */
+    public static int[] getInts(ByteBuffer src) {
+        int[] array = new int[readLength(src, Integer.BYTES)];
+
+        src.asIntBuffer().get(array);
+
+        src.position(src.position() + array.length * Integer.BYTES);
+
+        return array;
+    }
+
+    /**
+     * Read array.
+     *
+     * @param src Source buffer.
+     */
+    public static long[] getLongs(ByteBuffer src) {
+        long[] array = new long[readLength(src, Long.BYTES)];
+
+        src.asLongBuffer().get(array);
+
+        src.position(src.position() + array.length * Long.BYTES);
+
+        return array;
+    }
+
+    /**
+     * Read array.
+     *
+     * @param src Source buffer.
+     */
+    public static float[] getFloats(ByteBuffer src) {
+        float[] array = new float[readLength(src, Float.BYTES)];
+
+        src.asFloatBuffer().get(array);
+
+        src.position(src.position() + array.length * Float.BYTES);
+
+        return array;
+    }
+
+    /**
+     * Read array.
+     *
+     * @param src Source buffer.
+     */
+    public static double[] getDoubles(ByteBuffer src) {
+        double[] array = new double[readLength(src, Double.BYTES)];
+
+        src.asDoubleBuffer().get(array);
+
+        src.position(src.position() + array.length * Double.BYTES);
+
+        return array;
+    }
+
+    private static int arraySize(int length, int elementSize) {
+        return GinetFrameCodec.varintSize(length) + length * elementSize;
+    }
+
+    private static int utf8Length(String string) {
+        int length = string.length();
+
+        for(int i = 0; i < string.length(); i++) {
+            char chr = string.charAt(i);
+
+            if(chr >= 0x800) {
+                if(Character.isHighSurrogate(chr) && i + 1 < string.length() && Character.isLowSurrogate(string.charAt(i + 1))) {
+                    length += 2; i++;
+                } else if(!Character.isSurrogate(chr)) {
+                    length += 2;
+                }
+            } else if(chr >= 0x80) {
+                length++;
+            }
+        }
+
+        return length;
+    }
+
+    private static int readLength(ByteBuffer src) {
+        return readLength(src, 1);
+    }
+
+    // Length varint checked against remaining bytes (damaged data must not allocate huge arrays).
+    private static int readLength(ByteBuffer src, int elementSize) {
+        int length = GinetFrameCodec.readVarint(src);
+
+        if(length < 0 || (long) length * elementSize > src.remaining()) throw new IllegalArgumentException("Bad transfer length: " + length);
+
+        return length;
+    }
+}
@@ -0,0 +1,481 @@
+package gsdk.glib.ginet;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Binary length-prefixed frame codec (per connection).
+ * Frame: <code>varint length | varint id | payload</code>, where length covers id and payload. Id 0 is plain data, id 1 is control frame,
+ * ids from 2 are events: event names are interned per connection and sent once (DEFINE control frame), then events carry only id.
+ * Connection starts with MAGIC followed by DEFINE frames of pre-registered event names (handshake), sent by both sides.
+ * Encoding writes into caller or reusable buffer; decoding returns event name from id table and payload as view of reusable buffer,
+ * so there is no per-message string building.
+ */
+public class GinetFrameCodec {
+    /**
+     * Handshake magic ("GNB1").
+     */
+    public static final int MAGIC = 0x474E4231;
+
+    /**
+     * Plain data frame id.
+     */
+    public static final int DATA_ID = 0;
+
+    /**
+     * Control frame id.
+     */
+    public static final int CONTROL_ID = 1;
+
+    /**
+     * First event id.
+     */
+    public static final int FIRST_EVENT_ID = 2;
+
+    /**
+     * Maximal frame size (bytes after length prefix).
+     */
+    public static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Maximal event id (ids are sequential, so this is event names limit per connection direction).
+     */
+    public static final int MAX_EVENT_ID = 65535;
+
+    private static final byte CONTROL_DEFINE = 1;
+
+    // Outbound event ids (defined to peer).
+    private final HashMap<String, Integer> outIds = new HashMap<>();
+
+    private int nextId = FIRST_EVENT_ID;
+
+    // Inbound event names (defined by peer).
+    private String[] inNames = new String[16];
+
+    // Reusable encode buffer for stream writes.
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+
+    // Inbound bytes [inStart; inEnd) and view used for payloads.
+    private byte[] in = new byte[4096];
+
+    private int inStart = 0, inEnd = 0;
+
+    private ByteBuffer inView = ByteBuffer.wrap(in);
+
+    private boolean magicReceived = false;
+
+    private String frameName = null;
+
+    // Position after last varint read from inbound bytes.
+    private int varintEnd = 0;
+
+    /**
+     * Initialize codec.
+     *
+     * @param names Pre-registered event names (sent in handshake).
+     */
+    public GinetFrameCodec(Collection<String> names) {
+        for(String name : names) if(!outIds.containsKey(name)) outIds.put(name, allocateId());
+    }
+
+    /**
+     * Initialize codec without pre-registered event names.
+     */
+    public GinetFrameCodec() {
+        this(List.of());
+    }
+
+    /**
+     * Maximal encoded size of frame (with possible DEFINE frame).
+     *
+     * @param name Event name (null for plain data).
+     * @param payloadSize Payload size.
+     */
+    public static int maxEncodedSize(String name, int payloadSize) {
+        return 10 + payloadSize + (name != null ? 16 + name.length() * 3 : 0);
+    }
+
+    /**
+     * Maximal encoded size of handshake.
+     */
+    public synchronized int maxHandshakeSize() {
+        int size = 4;
+
+        for(String name : outIds.keySet()) size += 16 + name.length() * 3;
+
+        return size;
+    }
+
+    /**
+     * Write handshake (MAGIC and DEFINE frames of pre-registered names) into buffer.
+     *
+     * @param dst Destination buffer (at least <code>maxHandshakeSize</code> remaining).
+     */
+    public synchronized void encodeHandshake(ByteBuffer dst) {
+        dst.putInt(MAGIC);
+
+        outIds.forEach((name, id) -> writeDefine(dst, id, name));
+    }
+
+    /**
+     * Write frame into buffer (DEFINE frame is written first if event name is new). Payload position is not changed.
+     *
+     * @param name Event name (null for plain data).
+     * @param payload Payload.
+     * @param dst Destination buffer (at least <code>maxEncodedSize</code> remaining).
+     */
+    public synchronized void encode(String name, ByteBuffer payload, ByteBuffer dst) {
+        int id = DATA_ID;
+
+        if(name != null) {
+            Integer known = outIds.get(name);
+
+            if(known == null) {
+                id = allocateId();
+
+                outIds.put(name, id);
+
+                writeDefine(dst, id, name);
+            } else {
+                id = known;
+            }
+        }
+
+        encodeFrame(id, payload, dst);
+    }
+
+    /**
+     * Write frame with already defined id (no DEFINE frame; same bytes for every connection where id is defined). Payload position is not changed.
+     *
+     * @param id Frame id (<code>DATA_ID</code> or event id).
+     * @param payload Payload.
+     * @param dst Destination buffer (at least <code>frameSize</code> remaining).
+     */
+    public static void encodeFrame(int id, ByteBuffer payload, ByteBuffer dst) {
+        int payloadSize = payload.remaining();
+
+        writeVarint(dst, varintSize(id) + payloadSize);
+        writeVarint(dst, id);
+
+        dst.put(dst.position(), payload, payload.position(), payloadSize);
+
+        dst.position(dst.position() + payloadSize);
+    }
+
+    /**
+     * Exact encoded size of frame written with <code>encodeFrame</code>.
+     *
+     * @param id Frame id.
+     * @param payloadSize Payload size.
+     */
+    public static int frameSize(int id, int payloadSize) {
+        int size = varintSize(id) + payloadSize;
+
+        return varintSize(size) + size;
+    }
+
+    /**
+     * Write handshake to stream.
+     *
+     * @param out Output stream.
+     */
+    public synchronized void writeHandshake(OutputStream out) throws IOException {
+        ensureScratch(maxHandshakeSize());
+
+        encodeHandshake(scratch);
+
+        out.write(scratch.array(), 0, scratch.position());
+    }
+
+    /**
+     * Encode frame with reusable buffer and write it to stream.
+     *
+     * @param out Output stream.
+     * @param name Event name (null for plain data).
+     * @param payload Payload.
+     */
+    public synchronized void write(OutputStream out, String name, ByteBuffer payload) throws IOException {
+        ensureScratch(maxEncodedSize(name, payload.remaining()));
+
+        encode(name, payload, scratch);
+
+        out.write(scratch.array(), 0, scratch.position());
+    }
+
+    /**
+     * Append received bytes (non-blocking decoding).
+     *
+     * @param src Received bytes.
+     */
+    public void feed(ByteBuffer src) {
+        int size = src.remaining();
+
+        if(inEnd + size > in.length) {
+            // Compact consumed bytes, grow if still not enough.
+            System.arraycopy(in, inStart, in, 0, inEnd - inStart);
+
+            inEnd -= inStart;
+            inStart = 0;
+
+            if(inEnd + size > in.length) {
+                in = Arrays.copyOf(in, Math.max(in.length * 2, inEnd + size));
+
+                inView = ByteBuffer.wrap(in);
+            }
+        }
+
+        src.get(in, inEnd, size);
+
+        inEnd += size;
+    }
+
+    /**
+     * Decode next data or event frame from fed bytes (control frames are handled internally).
+     * Returns false if more bytes are required. Payload is valid until next <code>feed</code> or <code>next</code> call.
+     */
+    public boolean next() throws IOException {
+        while(true) {
+            if(!magicReceived) {
+                if(inEnd - inStart < 4) return false;
+
+                if(inView.limit(in.length).getInt(inStart) != MAGIC) throw new IOException("Bad frame handshake magic");
+
+                inStart += 4;
+
+                magicReceived = true;
+            }
+
+            int position = inStart;
+
+            long length = readVarint(in, position, inEnd);
+
+            if(length < 0) return false;
+
+            if(length > MAX_FRAME_SIZE) throw new IOException("Frame is too big: " + length);
+
+            position = varintEnd;
+
+            if(inEnd - position < length) return false;
+
+            int end = position + (int) length;
+
+            inStart = end;
+
+            if(frame(position, end)) return true;
+        }
+    }
+
+    /**
+     * Read next data or event frame from stream (blocking decoding). Returns false on end of stream.
+     * Payload is valid until next <code>read</code> call.
+     *
+     * @param stream Input stream (should be buffered).
+     */
+    public boolean read(InputStream stream) throws IOException {
+        while(true) {
+            if(!magicReceived) {
+                if(stream.readNBytes(in, 0, 4) < 4) return false;
+
+                if(inView.limit(in.length).getInt(0) != MAGIC) throw new IOException("Bad frame handshake magic");
+
+                magicReceived = true;
+            }
+
+            int length = 0, shift = 0, b;
+
+            do {
+                if((b = stream.read()) < 0) {
+                    if(shift == 0) return false;
+
+                    throw new EOFException("Frame length is truncated");
+                }
+
+                length |= (b & 0x7F) << shift;
+
+                shift += 7;
+            } while((b & 0x80) != 0 && shift < 35);
+
+            if(length < 0 || length > MAX_FRAME_SIZE) throw new IOException("Frame is too big: " + length);
+
+            if(length > in.length) {
+                in = new byte[Math.max(in.length * 2, length)];
+
+                inView = ByteBuffer.wrap(in);
+            }
+
+            if(stream.readNBytes(in, 0, length) < length) throw new EOFException("Frame is truncated");
+
+            if(frame(0, length)) return true;
+        }
+    }
+
+    /**
+     * Get event name of current frame (null for plain data).
+     */
+    public String getFrameName() {
+        return frameName;
+    }
+
+    /**
+     * Get payload of current frame (view of reusable buffer).
+     */
+    public ByteBuffer getPayload() {
+        return inView;
+    }
+
+    /**
+     * Get event id assigned to outbound event name (-1 if not defined yet).
+     *
+     * @param name Event name.
+     */
+    public synchronized int getEventId(String name) {
+        return outIds.getOrDefault(name, -1);
+    }
+
+    /**
+     * Write unsigned varint (LEB128).
+     *
+     * @param dst Destination buffer.
+     * @param value Value.
+     */
+    public static void writeVarint(ByteBuffer dst, int value) {
+        while((value & ~0x7F) != 0) {
+            dst.put((byte) ((value & 0x7F) | 0x80));
+
+            value >>>= 7;
+        }
+
+        dst.put((byte) value);
+    }
+
+    /**
+     * Read unsigned varint (LEB128) from buffer.
+     *
+     * @param src Source buffer.
+     */
+    public static int readVarint(ByteBuffer src) {
+        int value = 0, shift = 0, b;
+
+        do {
+            b = src.get();
+
+            value |= (b & 0x7F) << shift;
+
+            shift += 7;
+        } while((b & 0x80) != 0 && shift < 35);
+
+        return value;
+    }
+
+    /**
+     * Get unsigned varint size (bytes).
+     *
+     * @param value Value.
+     */
+    public static int varintSize(int value) {
+        int size = 1;
+
+        while((value & ~0x7F) != 0) {
+            size++;
+
+            value >>>= 7;
+        }
+
+        return size;
+    }
+
+    // Handle frame [start; end): returns true for data/event frame (payload view prepared), false for control frame.
+    private boolean frame(int start, int end) throws IOException {
+        long id = readVarint(in, start, end);
+
+        if(id < 0) throw new IOException("Frame id is truncated");
+
+        int payloadStart = varintEnd;
+
+        if(id == CONTROL_ID) {
+            control(payloadStart, end); return false;
+        }
+
+        if(id == DATA_ID) {
+            frameName = null;
+        } else {
+            frameName = id < inNames.length ? inNames[(int) id] : null;
+
+            if(frameName == null) throw new IOException("Undefined event id: " + id);
+        }
+
+        inView.limit(end).position(payloadStart);
+
+        return true;
+    }
+
+    private void control(int start, int end) throws IOException {
+        if(start >= end || in[start] != CONTROL_DEFINE) throw new IOException("Unknown control frame");
+
+        long id = readVarint(in, start + 1, end);
+
+        // Peer ids are checked before names table grows (hostile id must not allocate huge table).
+        if(id < FIRST_EVENT_ID || id > MAX_EVENT_ID) throw new IOException("Bad event id: " + id);
+
+        int nameStart = varintEnd;
+
+        if(id >= inNames.length) inNames = Arrays.copyOf(inNames, Math.min(Math.max(inNames.length * 2, (int) id + 1), MAX_EVENT_ID + 1));
+
+        inNames[(int) id] = new String(in, nameStart, end - nameStart, StandardCharsets.UTF_8);
+    }
+
+    private int allocateId() {
+        if(nextId > MAX_EVENT_ID) throw new IllegalStateException("Too many event names: " + nextId);
+
+        return nextId++;
+    }
+
+    private void writeDefine(ByteBuffer dst, int id, String name) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+
+        writeVarint(dst, varintSize(CONTROL_ID) + 1 + varintSize(id) + nameBytes.length);
+        writeVarint(dst, CONTROL_ID);
+
+        dst.put(CONTROL_DEFINE);
+
+        writeVarint(dst, id);
+
+        dst.put(nameBytes);
+    }
+
+    private void ensureScratch(int size) {
+        if(scratch.capacity() < size) scratch = ByteBuffer.allocate(Math.max(scratch.capacity() * 2, size));
+
+        scratch.clear();
+    }
+
+    // Read varint from array [position; end), -1 if incomplete (sets varintEnd).
+    private long readVarint(byte[] array, int position, int end) {
+        long value = 0;
+
+        for(int shift = 0; shift < 35; shift += 7) {
+            if(position >= end) return -1;
+
+            byte b = array[position++];
+
+            value |= (long) (b & 0x7F) << shift;
+
+            if((b & 0x80) == 0) break;
+        }
+
+        varintEnd = position;
+
+        return value;
+    }
+}
@@ -0,0 +1,137 @@
+package gsdk.glib.ginet;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of non-negative values (HDR-style): every power of two range is split into 32 buckets,
+ * so percentiles have ~3% relative error at any magnitude. Recording is few atomic increments without allocation (safe on hot paths).
+ */
+public class GinetHistogram {
+    private static final int SUB_BITS = 5, SUB_COUNT = 1 << SUB_BITS;
+
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray buckets;
+
+    private final LongAdder count = new LongAdder(), sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Initialize empty histogram.
+     */
+    public GinetHistogram() {
+        buckets = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Record value (negative values are recorded as 0).
+     *
+     * @param value Value.
+     */
+    public void record(long value) {
+        if(value < 0) value = 0;
+
+        buckets.incrementAndGet(bucket(value));
+
+        count.increment();
+
+        sum.add(value);
+
+        max.accumulate(value);
+    }
+
+    /**
+     * Copy current state (consistent enough for monitoring: concurrent records may be partially included).
+     */
+    public GinetHistogram copy() {
+        GinetHistogram copy = new GinetHistogram();
+
+        for(int i = 0; i < BUCKETS; i++) {
+            long bucketCount = buckets.get(i);
+
+            if(bucketCount != 0) copy.buckets.set(i, bucketCount);
+        }
+
+        copy.count.add(count.sum());
+        copy.sum.add(sum.sum());
+        copy.max.accumulate(max.get());
+
+        return copy;
+    }
+
+    /**
+     * Clear histogram.
+     */
+    public void reset() {
+        for(int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Get recorded values count.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get mean value (0 if empty).
+     */
+    public double getMean() {
+        long total = count.sum();
+
+        return total > 0 ? sum.sum() / (double) total : 0;
+    }
+
+    /**
+     * Get maximal value.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get value at percentile (upper bound of bucket, not above maximum; 0 if empty).
+     *
+     * @param percentile Percentile [0; 100].
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+
+        for(int i = 0; i < BUCKETS; i++) total += buckets.get(i);
+
+        if(total == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total)), seen = 0;
+
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+
+            if(seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+
+        return max.get();
+    }
+
+    private static int bucket(long value) {
+        if(value < SUB_COUNT) return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + (int) ((value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1));
+    }
+
+    private static long upperBound(int bucket) {
+        if(bucket < SUB_COUNT) return bucket;
+
+        int shift = bucket / SUB_COUNT - 1;
+
+        return ((long) (SUB_COUNT + bucket % SUB_COUNT) << shift) + (1L << shift) - 1;
+    }
+}
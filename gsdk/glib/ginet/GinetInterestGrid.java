@@ -0,0 +1,363 @@
+package gsdk.glib.ginet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import gsdk.source.vectors.Vector2Df;
+
+/**
+ * Area of interest management: entities and observers (clients) on uniform 2D grid.
+ * Every observer sees square of cells around its position (view radius), its relevance set holds entities in these cells.
+ * Relevance sets are updated incrementally: moving entity between cells touches only observers of these two cells,
+ * moving observer touches only cells entering or leaving its view. Servers use relevance for filtered broadcasts, replicated world for filtered snapshots.
+ * For 3D worlds use ground plane coordinates (for example X and Z).
+ *
+ * @param <T> Observer type (<code>GinetServerClient</code>, <code>GinetConnectionUDP</code>, etc).
+ */
+public class GinetInterestGrid<T> {
+    private final float cellSize;
+
+    private final HashMap<Long, Cell<T>> cells = new HashMap<>();
+
+    private final HashMap<Integer, Long> entities = new HashMap<>();
+
+    private final HashMap<T, Observer<T>> observers = new HashMap<>();
+
+    /**
+     * Initialize interest grid.
+     *
+     * @param cellSize_ Cell size (world units, about typical view radius or smaller).
+     */
+    public GinetInterestGrid(float cellSize_) {
+        if(!(cellSize_ > 0)) throw new IllegalArgumentException("cellSize <= 0");
+
+        cellSize = cellSize_;
+    }
+
+    /**
+     * Add or move entity.
+     *
+     * @param id Entity id.
+     * @param x Position X.
+     * @param y Position Y.
+     */
+    public synchronized void setEntity(int id, float x, float y) {
+        int cx = cell(x), cy = cell(y);
+
+        long key = key(cx, cy);
+
+        Long previous = entities.put(id, key);
+
+        if(previous != null && previous == key) return;
+
+        Cell<T> target = cells.computeIfAbsent(key, k -> new Cell<>());
+
+        target.entities.add(id);
+
+        if(previous != null) {
+            Cell<T> source = cells.get(previous);
+
+            source.entities.remove(id);
+
+            // Observers of old cell not seeing new cell lose entity.
+            for(Observer<T> observer : source.watchers) {
+                if(!observer.sees(cx, cy)) observer.remove(id);
+            }
+
+            for(Observer<T> observer : target.watchers) {
+                if(!observer.sees(cellX(previous), cellY(previous))) observer.add(id);
+            }
+
+            release(previous, source);
+        } else {
+            for(Observer<T> observer : target.watchers) observer.add(id);
+        }
+    }
+
+    /**
+     * Add or move entity.
+     *
+     * @param id Entity id.
+     * @param position Position.
+     */
+    public void setEntity(int id, Vector2Df position) {
+        setEntity(id, position.x(), position.y());
+    }
+
+    /**
+     * Remove entity.
+     *
+     * @param id Entity id.
+     */
+    public synchronized void removeEntity(int id) {
+        Long key = entities.remove(id);
+
+        if(key == null) return;
+
+        Cell<T> cell = cells.get(key);
+
+        cell.entities.remove(id);
+
+        for(Observer<T> observer : cell.watchers) observer.remove(id);
+
+        release(key, cell);
+    }
+
+    /**
+     * Add or move observer.
+     *
+     * @param observer Observer (client).
+     * @param x Position X.
+     * @param y Position Y.
+     * @param radius View radius (world units).
+     */
+    public synchronized void setObserver(T observer, float x, float y, float radius) {
+        int range = Math.max(0, (int) Math.ceil(radius / cellSize));
+
+        int minX = cell(x) - range, minY = cell(y) - range, maxX = cell(x) + range, maxY = cell(y) + range;
+
+        Observer<T> state = observers.get(observer);
+
+        if(state == null) {
+            state = new Observer<>(observer);
+
+            observers.put(observer, state);
+
+            state.setView(minX, minY, maxX, maxY);
+
+            for(int cx = minX; cx <= maxX; cx++) {
+                for(int cy = minY; cy <= maxY; cy++) watch(state, cx, cy);
+            }
+
+            return;
+        }
+
+        if(state.minX == minX && state.minY == minY && state.maxX == maxX && state.maxY == maxY) return;
+
+        // Cells leaving view.
+        for(int cx = state.minX; cx <= state.maxX; cx++) {
+            for(int cy = state.minY; cy <= state.maxY; cy++) {
+                if(cx < minX || cx > maxX || cy < minY || cy > maxY) unwatch(state, cx, cy);
+            }
+        }
+
+        // Cells entering view.
+        for(int cx = minX; cx <= maxX; cx++) {
+            for(int cy = minY; cy <= maxY; cy++) {
+                if(!state.sees(cx, cy)) watch(state, cx, cy);
+            }
+        }
+
+        state.setView(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Add or move observer.
+     *
+     * @param observer Observer (client).
+     * @param position Position.
+     * @param radius View radius (world units).
+     */
+    public void setObserver(T observer, Vector2Df position, float radius) {
+        setObserver(observer, position.x(), position.y(), radius);
+    }
+
+    /**
+     * Remove observer (disconnected client).
+     *
+     * @param observer Observer.
+     */
+    public synchronized void removeObserver(T observer) {
+        Observer<T> state = observers.remove(observer);
+
+        if(state == null) return;
+
+        for(int cx = state.minX; cx <= state.maxX; cx++) {
+            for(int cy = state.minY; cy <= state.maxY; cy++) unwatch(state, cx, cy);
+        }
+    }
+
+    /**
+     * Get entities relevant to observer (sorted ids, empty if there is no observer). Array is shared and must not be modified.
+     *
+     * @param observer Observer.
+     */
+    public synchronized int[] getRelevant(T observer) {
+        Observer<T> state = observers.get(observer);
+
+        return state != null ? state.sorted() : new int[0];
+    }
+
+    /**
+     * Check if entity is relevant to observer.
+     *
+     * @param observer Observer.
+     * @param id Entity id.
+     */
+    public synchronized boolean isRelevant(T observer, int id) {
+        Observer<T> state = observers.get(observer);
+
+        return state != null && state.relevant.contains(id);
+    }
+
+    /**
+     * Get observers which see entity (empty if there is no entity).
+     *
+     * @param id Entity id.
+     */
+    public synchronized List<T> getObservers(int id) {
+        Long key = entities.get(id);
+
+        if(key == null) return List.of();
+
+        ArrayList<T> result = new ArrayList<>();
+
+        for(Observer<T> state : cells.get(key).watchers) result.add(state.observer);
+
+        return result;
+    }
+
+    /**
+     * Get observers which see position.
+     *
+     * @param x Position X.
+     * @param y Position Y.
+     */
+    public synchronized List<T> getObservers(float x, float y) {
+        Cell<T> cell = cells.get(key(cell(x), cell(y)));
+
+        if(cell == null) return List.of();
+
+        ArrayList<T> result = new ArrayList<>();
+
+        for(Observer<T> state : cell.watchers) result.add(state.observer);
+
+        return result;
+    }
+
+    /**
+     * Check if entity exists.
+     *
+     * @param id Entity id.
+     */
+    public synchronized boolean hasEntity(int id) {
+        return entities.containsKey(id);
+    }
+
+    /**
+     * Check if observer exists.
+     *
+     * @param observer Observer.
+     */
+    public synchronized boolean hasObserver(T observer) {
+        return observers.containsKey(observer);
+    }
+
+    /**
+     * Get cell size.
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    private void watch(Observer<T> state, int cx, int cy) {
+        Cell<T> cell = cells.computeIfAbsent(key(cx, cy), k -> new Cell<>());
+
+        cell.watchers.add(state);
+
+        for(int id : cell.entities) state.add(id);
+    }
+
+    private void unwatch(Observer<T> state, int cx, int cy) {
+        long key = key(cx, cy);
+
+        Cell<T> cell = cells.get(key);
+
+        if(cell == null) return;
+
+        cell.watchers.remove(state);
+
+        for(int id : cell.entities) state.remove(id);
+
+        release(key, cell);
+    }
+
+    // Remove cell without entities and watchers.
+    private void release(long key, Cell<T> cell) {
+        if(cell.entities.isEmpty() && cell.watchers.isEmpty()) cells.remove(key);
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static int cellX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int cellY(long key) {
+        return (int) key;
+    }
+
+    // Grid cell: entities in cell and observers seeing it.
+    private static class Cell<T> {
+        final HashSet<Integer> entities = new HashSet<>();
+
+        final HashSet<Observer<T>> watchers = new HashSet<>();
+    }
+
+    // Observer view (cells rectangle) and relevance set (sorted copy rebuilt lazily).
+    private static class Observer<T> {
+        final T observer;
+
+        final HashSet<Integer> relevant = new HashSet<>();
+
+        int minX, minY, maxX, maxY;
+
+        int[] sorted = null;
+
+        Observer(T observer_) {
+            observer = observer_;
+        }
+
+        void setView(int minX_, int minY_, int maxX_, int maxY_) {
+            minX = minX_;
+            minY = minY_;
+            maxX = maxX_;
+            maxY = maxY_;
+        }
+
+        boolean sees(int cx, int cy) {
+            return cx >= minX && cx <= maxX && cy >= minY && cy <= maxY;
+        }
+
+        void add(int id) {
+            if(relevant.add(id)) sorted = null;
+        }
+
+        void remove(int id) {
+            if(relevant.remove(id)) sorted = null;
+        }
+
+        int[] sorted() {
+            if(sorted == null) {
+                sorted = new int[relevant.size()];
+
+                int i = 0;
+
+                for(int id : relevant) sorted[i++] = id;
+
+                Arrays.sort(sorted);
+            }
+
+            return sorted;
+        }
+    }
+}
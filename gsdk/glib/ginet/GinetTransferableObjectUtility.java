@@ -6,6 +6,7 @@ import java.util.Base64;
 
 /**
  * Utility for encoding/decoding transfer data.
+ * For binary protocol and high tick rate state use <code>GinetBinaryObjectUtility</code> (no string copies, no Base64 inflation).
  */
 public class GinetTransferableObjectUtility{
     private static final String SPLIT = "'";
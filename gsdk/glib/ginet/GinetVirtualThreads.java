@@ -0,0 +1,61 @@
+package gsdk.glib.ginet;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Utility for starting virtual threads (Java 21+).
+ * Virtual threads are looked up at runtime, so GSDK still runs on older Java: there threads fall back to platform (daemon) threads.
+ */
+public class GinetVirtualThreads {
+    private static final MethodHandle START_VIRTUAL_THREAD = lookup();
+
+    private static volatile boolean available = START_VIRTUAL_THREAD != null;
+
+    /**
+     * Start task on virtual thread (or on platform daemon thread if virtual threads aren't available).
+     *
+     * @param task Task.
+     * @param name Thread name.
+     */
+    public static Thread start(Runnable task, String name) {
+        if(available) {
+            try {
+                Thread thread = (Thread) START_VIRTUAL_THREAD.invokeExact(task);
+
+                thread.setName(name);
+
+                return thread;
+            } catch(UnsupportedOperationException unsupportedExc) {
+                // Java 19/20 without preview features enabled.
+                available = false;
+            } catch(Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+
+        Thread thread = new Thread(task, name);
+
+        thread.setDaemon(true);
+
+        thread.start();
+
+        return thread;
+    }
+
+    /**
+     * Are virtual threads available in current runtime.
+     */
+    public static boolean isAvailable() {
+        return available;
+    }
+
+    private static MethodHandle lookup() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Thread.class, "startVirtualThread", MethodType.methodType(Thread.class, Runnable.class));
+        } catch(NoSuchMethodException | IllegalAccessException exc) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package gsdk.glib.ginet.replication;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bit-packing reader from buffer (most significant bit first), counterpart of <code>GinetBitWriter</code>.
+ */
+public class GinetBitReader {
+    private ByteBuffer buffer;
+
+    private long bits = 0;
+
+    private int count = 0;
+
+    /**
+     * Start reading from buffer (from its position).
+     *
+     * @param buffer_ Source buffer.
+     */
+    public GinetBitReader reset(ByteBuffer buffer_) {
+        buffer = buffer_;
+
+        bits = 0;
+        count = 0;
+
+        return this;
+    }
+
+    /**
+     * Read unsigned value.
+     *
+     * @param size Bits count [0; 32].
+     */
+    public int read(int size) {
+        if(size == 0) return 0;
+
+        while(count < size) {
+            bits = (bits << 8) | (buffer.get() & 0xFF);
+
+            count += 8;
+        }
+
+        count -= size;
+
+        return (int) ((bits >>> count) & (0xFFFFFFFFL >>> (32 - size)));
+    }
+
+    /**
+     * Read bit.
+     */
+    public boolean readBoolean() {
+        return read(1) != 0;
+    }
+
+    /**
+     * Read value written with <code>writeVarBits</code>.
+     */
+    public int readVarBits() {
+        int value = 0, shift = 0, group;
+
+        do {
+            group = read(5);
+
+            value |= (group & 0xF) << shift;
+
+            shift += 4;
+        } while((group & 0x10) != 0 && shift < 32);
+
+        return value;
+    }
+}
@@ -0,0 +1,83 @@
+package gsdk.glib.ginet.replication;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bit-packing writer into buffer (most significant bit first).
+ */
+public class GinetBitWriter {
+    private ByteBuffer buffer;
+
+    private long bits = 0;
+
+    private int count = 0;
+
+    /**
+     * Start writing into buffer (from its position).
+     *
+     * @param buffer_ Destination buffer.
+     */
+    public GinetBitWriter reset(ByteBuffer buffer_) {
+        buffer = buffer_;
+
+        bits = 0;
+        count = 0;
+
+        return this;
+    }
+
+    /**
+     * Write lower bits of value.
+     *
+     * @param value Value.
+     * @param size Bits count [0; 32].
+     */
+    public void write(int value, int size) {
+        if(size == 0) return;
+
+        bits = (bits << size) | (value & (0xFFFFFFFFL >>> (32 - size)));
+
+        count += size;
+
+        while(count >= 8) {
+            count -= 8;
+
+            buffer.put((byte) (bits >>> count));
+        }
+    }
+
+    /**
+     * Write bit.
+     *
+     * @param value Bit.
+     */
+    public void writeBoolean(boolean value) {
+        write(value ? 1 : 0, 1);
+    }
+
+    /**
+     * Write unsigned value in 4-bit groups with continuation bits (values below 16 take 5 bits).
+     *
+     * @param value Unsigned value.
+     */
+    public void writeVarBits(int value) {
+        while((value & ~0xF) != 0) {
+            write(0x10 | (value & 0xF), 5);
+
+            value >>>= 4;
+        }
+
+        write(value, 5);
+    }
+
+    /**
+     * Write remaining bits (last byte is padded with zeros).
+     */
+    public void flush() {
+        if(count == 0) return;
+
+        buffer.put((byte) (bits << (8 - count)));
+
+        count = 0;
+    }
+}
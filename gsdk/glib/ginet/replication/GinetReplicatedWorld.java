@@ -0,0 +1,411 @@
+package gsdk.glib.ginet.replication;
+
+import java.nio.ByteBuffer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import gsdk.source.vectors.Vector2Df;
+import gsdk.source.vectors.Vector3Df;
+
+/**
+ * Server side replicated state: entities with schema fields, numbered snapshots and per-client delta encoding.
+ * Every tick game state is written with setters and captured with <code>snapshot</code>; then each client gets snapshot encoded
+ * as bit-packed delta against last snapshot it acknowledged (full state if there is no acknowledged snapshot in history).
+ * Only changed entities and changed fields are written, so bandwidth follows change rate instead of world size.
+ * Snapshot can be filtered per client by relevant entities (area of interest): entities leaving relevance are sent as removed, entering ones in full.
+ * Entities and snapshots are modified from one (game) thread; <code>encode</code> may be called from any thread (one thread per peer at a time).
+ *
+ * <pre>
+ * Snapshot delta (bit-packed, most significant bit first):
+ *     32 bits  sequence
+ *     32 bits  baseline sequence (-1 for full state)
+ *     entity records (sorted by id), each:
+ *         1 bit    record flag (1)
+ *         varbits  id gap from previous record id minus one
+ *         1 bit    removed flag
+ *         per slot (if not removed): 1 bit changed flag, slot bits (if changed)
+ *     1 bit    end flag (0)
+ * </pre>
+ */
+public class GinetReplicatedWorld {
+    /**
+     * Default snapshots history size (should match receiver history size).
+     */
+    public static final int DEFAULT_HISTORY = 64;
+
+    private final GinetReplicationSchema schema;
+
+    // Snapshots history size (sent snapshots are kept per peer).
+    private final int history;
+
+    // Baseline values of entities new to client.
+    private final int[] zero;
+
+    private final HashMap<Integer, Entity> entities = new HashMap<>();
+
+    private final ConcurrentHashMap<String, GinetReplicationPeer> peers = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<GinetBitWriter> writers = ThreadLocal.withInitial(GinetBitWriter::new);
+
+    private volatile GinetSnapshot latest = GinetSnapshot.EMPTY;
+
+    // Entities sorted by id (rebuilt after add/remove).
+    private int[] ids = new int[0];
+
+    private Entity[] ordered = new Entity[0];
+
+    private boolean idsChanged = false;
+
+    /**
+     * Initialize replicated world.
+     *
+     * @param schema_ Entity schema (complete).
+     * @param history_ Snapshots history size (oldest delta baseline).
+     */
+    public GinetReplicatedWorld(GinetReplicationSchema schema_, int history_) {
+        if(history_ < 1) throw new IllegalArgumentException("history < 1");
+
+        schema = schema_;
+
+        history = history_;
+
+        zero = new int[schema.getSlots()];
+    }
+
+    /**
+     * Initialize replicated world with default history size.
+     *
+     * @param schema_ Entity schema (complete).
+     */
+    public GinetReplicatedWorld(GinetReplicationSchema schema_) {
+        this(schema_, DEFAULT_HISTORY);
+    }
+
+    /**
+     * Add entity (all slots are zero).
+     *
+     * @param id Entity id (non-negative).
+     */
+    public void add(int id) {
+        if(id < 0) throw new IllegalArgumentException("id < 0");
+
+        if(entities.putIfAbsent(id, new Entity(zero.length)) == null) idsChanged = true;
+    }
+
+    /**
+     * Remove entity.
+     *
+     * @param id Entity id.
+     */
+    public void remove(int id) {
+        if(entities.remove(id) != null) idsChanged = true;
+    }
+
+    /**
+     * Check if entity exists.
+     *
+     * @param id Entity id.
+     */
+    public boolean has(int id) {
+        return entities.containsKey(id);
+    }
+
+    /**
+     * Get entities count.
+     */
+    public int size() {
+        return entities.size();
+    }
+
+    /**
+     * Set integer field.
+     *
+     * @param id Entity id.
+     * @param slot Field slot.
+     * @param value Value.
+     */
+    public void setInt(int id, int slot, int value) {
+        entity(id).set(slot, schema.quantize(slot, value));
+    }
+
+    /**
+     * Set boolean field.
+     *
+     * @param id Entity id.
+     * @param slot Field slot.
+     * @param value Value.
+     */
+    public void setBoolean(int id, int slot, boolean value) {
+        entity(id).set(slot, value ? 1 : 0);
+    }
+
+    /**
+     * Set float field.
+     *
+     * @param id Entity id.
+     * @param slot Field slot.
+     * @param value Value.
+     */
+    public void setFloat(int id, int slot, float value) {
+        entity(id).set(slot, schema.quantize(slot, value));
+    }
+
+    /**
+     * Set 2D vector field.
+     *
+     * @param id Entity id.
+     * @param slot Field first slot.
+     * @param value Value.
+     */
+    public void setVector(int id, int slot, Vector2Df value) {
+        Entity entity = entity(id);
+
+        entity.set(slot, schema.quantize(slot, value.x()));
+        entity.set(slot + 1, schema.quantize(slot + 1, value.y()));
+    }
+
+    /**
+     * Set 3D vector field.
+     *
+     * @param id Entity id.
+     * @param slot Field first slot.
+     * @param value Value.
+     */
+    public void setVector(int id, int slot, Vector3Df value) {
+        Entity entity = entity(id);
+
+        entity.set(slot, schema.quantize(slot, value.x()));
+        entity.set(slot + 1, schema.quantize(slot + 1, value.y()));
+        entity.set(slot + 2, schema.quantize(slot + 2, value.z()));
+    }
+
+    /**
+     * Capture current state as new snapshot. Returns snapshot sequence.
+     * Unchanged entities share values with previous snapshot, so snapshot costs allocation only for changed entities.
+     */
+    public int snapshot() {
+        if(idsChanged) {
+            ids = entities.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+
+            ordered = new Entity[ids.length];
+
+            for(int i = 0; i < ids.length; i++) ordered[i] = entities.get(ids[i]);
+
+            idsChanged = false;
+        }
+
+        int[][] values = new int[ids.length][];
+
+        for(int i = 0; i < ids.length; i++) values[i] = ordered[i].publish();
+
+        GinetSnapshot snapshot = new GinetSnapshot(latest.sequence + 1, ids, values);
+
+        latest = snapshot;
+
+        return snapshot.sequence;
+    }
+
+    /**
+     * Encode latest snapshot for client as delta against its acknowledged snapshot.
+     *
+     * @param peer Client replication state.
+     * @param dst Destination buffer (at least <code>maxEncodedSize</code> remaining).
+     */
+    public void encode(GinetReplicationPeer peer, ByteBuffer dst) {
+        encode(peer, latest, dst);
+    }
+
+    /**
+     * Encode latest snapshot filtered by relevant entities for client as delta against its acknowledged snapshot.
+     *
+     * @param peer Client replication state.
+     * @param relevant Relevant entity ids (sorted, for example <code>GinetInterestGrid.getRelevant</code>).
+     * @param dst Destination buffer (at least <code>maxEncodedSize</code> remaining).
+     */
+    public void encode(GinetReplicationPeer peer, int[] relevant, ByteBuffer dst) {
+        GinetSnapshot snapshot = latest;
+
+        int[] viewIds = new int[relevant.length];
+
+        int[][] viewValues = new int[relevant.length][];
+
+        int count = 0;
+
+        for(int id : relevant) {
+            int index = snapshot.indexOf(id);
+
+            if(index < 0) continue;
+
+            viewIds[count] = id;
+
+            viewValues[count++] = snapshot.values[index];
+        }
+
+        encode(peer, new GinetSnapshot(snapshot.sequence, Arrays.copyOf(viewIds, count), Arrays.copyOf(viewValues, count)), dst);
+    }
+
+    private void encode(GinetReplicationPeer peer, GinetSnapshot current, ByteBuffer dst) {
+        GinetSnapshot baseline = baseline(peer, current);
+
+        if(peer.views == null) peer.views = new GinetSnapshot[history];
+
+        peer.views[current.sequence % history] = current;
+
+        GinetBitWriter writer = writers.get().reset(dst);
+
+        writer.write(current.sequence, 32);
+        writer.write(baseline != null ? baseline.sequence : -1, 32);
+
+        if(baseline == null) baseline = GinetSnapshot.EMPTY;
+
+        int slots = zero.length, previous = -1, c = 0, b = 0;
+
+        while(c < current.ids.length || b < baseline.ids.length) {
+            long currentId = c < current.ids.length ? current.ids[c] : Long.MAX_VALUE;
+            long baselineId = b < baseline.ids.length ? baseline.ids[b] : Long.MAX_VALUE;
+
+            if(currentId == baselineId) {
+                int[] values = current.values[c++], base = baseline.values[b++];
+
+                if(values == base || unchanged(values, base)) continue;
+
+                previous = writeRecord(writer, (int) currentId, previous, false);
+
+                writeSlots(writer, values, base, slots);
+            } else if(currentId < baselineId) {
+                previous = writeRecord(writer, (int) currentId, previous, false);
+
+                writeSlots(writer, current.values[c++], zero, slots);
+            } else {
+                previous = writeRecord(writer, (int) baselineId, previous, true);
+
+                b++;
+            }
+        }
+
+        writer.writeBoolean(false);
+
+        writer.flush();
+    }
+
+    /**
+     * Maximal size of <code>encode</code> output for client (bytes).
+     *
+     * @param peer Client replication state.
+     */
+    public int maxEncodedSize(GinetReplicationPeer peer) {
+        GinetSnapshot current = latest, baseline = baseline(peer, current);
+
+        long records = current.ids.length + (baseline != null ? baseline.ids.length : 0);
+
+        long bits = 64 + 1 + records * (1 + 40 + 1 + schema.getSlots() + schema.getEntityBits());
+
+        return (int) Math.min(Integer.MAX_VALUE, (bits + 7) / 8);
+    }
+
+    /**
+     * Get client replication state by identifier (created on first request).
+     *
+     * @param identifier Client identifier.
+     */
+    public GinetReplicationPeer getPeer(String identifier) {
+        return peers.computeIfAbsent(identifier, key -> new GinetReplicationPeer());
+    }
+
+    /**
+     * Remove client replication state (disconnected client).
+     *
+     * @param identifier Client identifier.
+     */
+    public void removePeer(String identifier) {
+        peers.remove(identifier);
+    }
+
+    /**
+     * Get latest snapshot sequence (-1 before first snapshot).
+     */
+    public int getSequence() {
+        return latest.sequence;
+    }
+
+    /**
+     * Get schema.
+     */
+    public GinetReplicationSchema getSchema() {
+        return schema;
+    }
+
+    private GinetSnapshot baseline(GinetReplicationPeer peer, GinetSnapshot current) {
+        int acknowledged = peer.getAcknowledged();
+
+        return acknowledged <= current.sequence && peer.views != null ? GinetSnapshot.find(peer.views, acknowledged) : null;
+    }
+
+    private Entity entity(int id) {
+        Entity entity = entities.get(id);
+
+        if(entity == null) throw new IllegalArgumentException("No entity: " + id);
+
+        return entity;
+    }
+
+    private static boolean unchanged(int[] values, int[] base) {
+        for(int i = 0; i < values.length; i++) {
+            if(values[i] != base[i]) return false;
+        }
+
+        return true;
+    }
+
+    private static int writeRecord(GinetBitWriter writer, int id, int previous, boolean removed) {
+        writer.writeBoolean(true);
+        writer.writeVarBits(id - previous - 1);
+        writer.writeBoolean(removed);
+
+        return id;
+    }
+
+    private void writeSlots(GinetBitWriter writer, int[] values, int[] base, int slots) {
+        for(int slot = 0; slot < slots; slot++) {
+            boolean changed = values[slot] != base[slot];
+
+            writer.writeBoolean(changed);
+
+            if(changed) writer.write(values[slot], schema.getBits(slot));
+        }
+    }
+
+    // Entity values being written and values published in last snapshot.
+    private static class Entity {
+        final int[] current;
+
+        int[] published;
+
+        boolean dirty = true;
+
+        Entity(int slots) {
+            current = new int[slots];
+        }
+
+        void set(int slot, int value) {
+            if(current[slot] != value) {
+                current[slot] = value;
+
+                dirty = true;
+            }
+        }
+
+        int[] publish() {
+            if(dirty) {
+                published = current.clone();
+
+                dirty = false;
+            }
+
+            return published;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package gsdk.glib.ginet.replication;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replication state of one client: last snapshot acknowledged by client and snapshots sent to client (delta baselines).
+ */
+public class GinetReplicationPeer {
+    private final AtomicInteger acknowledged = new AtomicInteger(-1);
+
+    // Snapshots as sent to client (filtered by relevance), delta baselines.
+    GinetSnapshot[] views = null;
+
+    /**
+     * Acknowledge snapshot (older acknowledgements are ignored).
+     *
+     * @param sequence Snapshot sequence received by client.
+     */
+    public void acknowledge(int sequence) {
+        acknowledged.accumulateAndGet(sequence, Math::max);
+    }
+
+    /**
+     * Forget acknowledged snapshot (next snapshot is sent in full).
+     */
+    public void reset() {
+        acknowledged.set(-1);
+    }
+
+    /**
+     * Get last acknowledged snapshot sequence (-1 if none).
+     */
+    public int getAcknowledged() {
+        return acknowledged.get();
+    }
+}
@@ -0,0 +1,242 @@
+package gsdk.glib.ginet.replication;
+
+import java.nio.ByteBuffer;
+
+import java.util.Arrays;
+
+import gsdk.source.vectors.Vector2Df;
+import gsdk.source.vectors.Vector3Df;
+
+/**
+ * Client side replicated state: decodes snapshot deltas from <code>GinetReplicatedWorld</code> against snapshots received earlier.
+ * Every decoded snapshot should be acknowledged to server (sequence returned by <code>decode</code>), so server can use it as delta baseline.
+ * History size should match server history size.
+ */
+public class GinetReplicationReceiver {
+    private final GinetReplicationSchema schema;
+
+    private final GinetSnapshot[] history;
+
+    private final GinetBitReader reader = new GinetBitReader();
+
+    private final int[] zero;
+
+    private GinetSnapshot latest = GinetSnapshot.EMPTY;
+
+    // Decoding buffers (reused).
+    private int[] ids = new int[16];
+
+    private int[][] values = new int[16][];
+
+    /**
+     * Initialize receiver.
+     *
+     * @param schema_ Entity schema (same as server schema).
+     * @param history_ Snapshots history size.
+     */
+    public GinetReplicationReceiver(GinetReplicationSchema schema_, int history_) {
+        if(history_ < 1) throw new IllegalArgumentException("history < 1");
+
+        schema = schema_;
+
+        history = new GinetSnapshot[history_];
+
+        zero = new int[schema.getSlots()];
+    }
+
+    /**
+     * Initialize receiver with default history size.
+     *
+     * @param schema_ Entity schema (same as server schema).
+     */
+    public GinetReplicationReceiver(GinetReplicationSchema schema_) {
+        this(schema_, GinetReplicatedWorld.DEFAULT_HISTORY);
+    }
+
+    /**
+     * Decode snapshot delta and make it current state. Returns snapshot sequence to acknowledge,
+     * or -1 if snapshot is older than current one or its baseline is unknown (snapshot is ignored).
+     *
+     * @param src Encoded snapshot.
+     */
+    public synchronized int decode(ByteBuffer src) {
+        reader.reset(src);
+
+        int sequence = reader.read(32), baselineSequence = reader.read(32);
+
+        if(sequence <= latest.sequence) return -1;
+
+        GinetSnapshot baseline = baselineSequence == -1 ? GinetSnapshot.EMPTY : GinetSnapshot.find(history, baselineSequence);
+
+        if(baseline == null) return -1;
+
+        int count = 0, b = 0, slots = zero.length;
+
+        long id = -1;
+
+        while(reader.readBoolean()) {
+            id += 1 + (reader.readVarBits() & 0xFFFFFFFFL);
+
+            boolean removed = reader.readBoolean();
+
+            // Unchanged baseline entities before record are kept.
+            while(b < baseline.ids.length && baseline.ids[b] < id) count = append(count, baseline.ids[b], baseline.values[b++]);
+
+            int[] base = zero;
+
+            if(b < baseline.ids.length && baseline.ids[b] == id) base = baseline.values[b++];
+
+            if(removed) continue;
+
+            int[] entity = base.clone();
+
+            for(int slot = 0; slot < slots; slot++) {
+                if(reader.readBoolean()) entity[slot] = reader.read(schema.getBits(slot));
+            }
+
+            count = append(count, (int) id, entity);
+        }
+
+        while(b < baseline.ids.length) count = append(count, baseline.ids[b], baseline.values[b++]);
+
+        GinetSnapshot snapshot = new GinetSnapshot(sequence, Arrays.copyOf(ids, count), Arrays.copyOf(values, count));
+
+        history[sequence % history.length] = snapshot;
+
+        latest = snapshot;
+
+        return sequence;
+    }
+
+    /**
+     * Get current snapshot sequence (-1 before first snapshot).
+     */
+    public synchronized int getSequence() {
+        return latest.sequence;
+    }
+
+    /**
+     * Get entities count.
+     */
+    public synchronized int size() {
+        return latest.ids.length;
+    }
+
+    /**
+     * Get entity ids (sorted).
+     */
+    public synchronized int[] getEntities() {
+        return latest.ids.clone();
+    }
+
+    /**
+     * Check if entity exists.
+     *
+     * @param id Entity id.
+     */
+    public synchronized boolean has(int id) {
+        return latest.indexOf(id) >= 0;
+    }
+
+    /**
+     * Get integer field.
+     *
+     * @param id Entity id.
+     * @param slot Field slot.
+     */
+    public int getInt(int id, int slot) {
+        return schema.dequantizeInt(slot, values(id)[slot]);
+    }
+
+    /**
+     * Get boolean field.
+     *
+     * @param id Entity id.
+     * @param slot Field slot.
+     */
+    public boolean getBoolean(int id, int slot) {
+        return values(id)[slot] != 0;
+    }
+
+    /**
+     * Get float field.
+     *
+     * @param id Entity id.
+     * @param slot Field slot.
+     */
+    public float getFloat(int id, int slot) {
+        return schema.dequantizeFloat(slot, values(id)[slot]);
+    }
+
+    /**
+     * Get 2D vector field into existing vector.
+     *
+     * @param id Entity id.
+     * @param slot Field first slot.
+     * @param dst Destination vector.
+     */
+    public Vector2Df getVector(int id, int slot, Vector2Df dst) {
+        int[] entity = values(id);
+
+        dst.x(schema.dequantizeFloat(slot, entity[slot]));
+        dst.y(schema.dequantizeFloat(slot + 1, entity[slot + 1]));
+
+        return dst;
+    }
+
+    /**
+     * Get 3D vector field into existing vector.
+     *
+     * @param id Entity id.
+     * @param slot Field first slot.
+     * @param dst Destination vector.
+     */
+    public Vector3Df getVector(int id, int slot, Vector3Df dst) {
+        int[] entity = values(id);
+
+        dst.x(schema.dequantizeFloat(slot, entity[slot]));
+        dst.y(schema.dequantizeFloat(slot + 1, entity[slot + 1]));
+        dst.z(schema.dequantizeFloat(slot + 2, entity[slot + 2]));
+
+        return dst;
+    }
+
+    /**
+     * Get 3D vector field.
+     *
+     * @param id Entity id.
+     * @param slot Field first slot.
+     */
+    public Vector3Df getVector3Df(int id, int slot) {
+        return getVector(id, slot, new Vector3Df(0, 0, 0));
+    }
+
+    /**
+     * Get schema.
+     */
+    public GinetReplicationSchema getSchema() {
+        return schema;
+    }
+
+    private synchronized int[] values(int id) {
+        int index = latest.indexOf(id);
+
+        if(index < 0) throw new IllegalArgumentException("No entity: " + id);
+
+        return latest.values[index];
+    }
+
+    private int append(int count, int id, int[] entity) {
+        if(count == ids.length) {
+            ids = Arrays.copyOf(ids, count * 2);
+
+            values = Arrays.copyOf(values, count * 2);
+        }
+
+        ids[count] = id;
+
+        values[count] = entity;
+
+        return count + 1;
+    }
+}
@@ -0,0 +1,224 @@
+package gsdk.glib.ginet.replication;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Replicated entity fields layout shared by server and client.
+ * Every field occupies one or more slots holding quantized integer values: integers are zigzag-encoded in fixed bits count,
+ * quantized floats are stored as steps of precision from range minimum (bits count follows from range and precision),
+ * raw floats take 32 bits and vectors take one quantized float slot per component.
+ */
+public class GinetReplicationSchema {
+    private static final byte INT = 0, FLOAT = 1, RAW_FLOAT = 2, BOOLEAN = 3;
+
+    private final HashMap<String, Integer> fields = new HashMap<>();
+
+    private byte[] kinds = new byte[8];
+
+    private int[] bits = new int[8];
+
+    private float[] minimums = new float[8], precisions = new float[8];
+
+    private int slots = 0, entityBits = 0;
+
+    /**
+     * Add signed integer field.
+     *
+     * @param name Field name.
+     * @param bits_ Bits count [1; 32] (values outside of range are clamped).
+     */
+    public int addInt(String name, int bits_) {
+        if(bits_ < 1 || bits_ > 32) throw new IllegalArgumentException("bits < 1 || bits > 32");
+
+        return addField(name, 1, INT, bits_, 0, 0);
+    }
+
+    /**
+     * Add boolean field (1 bit).
+     *
+     * @param name Field name.
+     */
+    public int addBoolean(String name) {
+        return addField(name, 1, BOOLEAN, 1, 0, 0);
+    }
+
+    /**
+     * Add quantized float field.
+     *
+     * @param name Field name.
+     * @param min Range minimum.
+     * @param max Range maximum (values outside of range are clamped).
+     * @param precision Quantization step.
+     */
+    public int addFloat(String name, float min, float max, float precision) {
+        return addField(name, 1, FLOAT, quantizationBits(min, max, precision), min, precision);
+    }
+
+    /**
+     * Add unquantized float field (32 bits).
+     *
+     * @param name Field name.
+     */
+    public int addFloat(String name) {
+        return addField(name, 1, RAW_FLOAT, 32, 0, 0);
+    }
+
+    /**
+     * Add quantized 2D vector field (2 slots).
+     *
+     * @param name Field name.
+     * @param min Components range minimum.
+     * @param max Components range maximum.
+     * @param precision Quantization step.
+     */
+    public int addVector2(String name, float min, float max, float precision) {
+        return addField(name, 2, FLOAT, quantizationBits(min, max, precision), min, precision);
+    }
+
+    /**
+     * Add quantized 3D vector field (3 slots).
+     *
+     * @param name Field name.
+     * @param min Components range minimum.
+     * @param max Components range maximum.
+     * @param precision Quantization step.
+     */
+    public int addVector3(String name, float min, float max, float precision) {
+        return addField(name, 3, FLOAT, quantizationBits(min, max, precision), min, precision);
+    }
+
+    /**
+     * Get field first slot (-1 if there is no field).
+     *
+     * @param name Field name.
+     */
+    public int getField(String name) {
+        return fields.getOrDefault(name, -1);
+    }
+
+    /**
+     * Get slots count.
+     */
+    public int getSlots() {
+        return slots;
+    }
+
+    /**
+     * Get slot bits count.
+     *
+     * @param slot Slot.
+     */
+    public int getBits(int slot) {
+        return bits[slot];
+    }
+
+    /**
+     * Get bits count of all entity slots.
+     */
+    public int getEntityBits() {
+        return entityBits;
+    }
+
+    /**
+     * Quantize integer value for slot.
+     *
+     * @param slot Slot.
+     * @param value Value.
+     */
+    public int quantize(int slot, int value) {
+        if(kinds[slot] == BOOLEAN) return value != 0 ? 1 : 0;
+
+        int size = bits[slot];
+
+        if(size < 32) value = (int) Math.max(-(1L << (size - 1)), Math.min((1L << (size - 1)) - 1, value));
+
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Quantize float value for slot.
+     *
+     * @param slot Slot.
+     * @param value Value.
+     */
+    public int quantize(int slot, float value) {
+        return switch(kinds[slot]) {
+            case RAW_FLOAT -> Float.floatToRawIntBits(value);
+
+            case FLOAT -> (int) Math.max(0, Math.min(0xFFFFFFFFL >>> (32 - bits[slot]), Math.round((value - minimums[slot]) / (double) precisions[slot])));
+
+            default -> quantize(slot, (int) value);
+        };
+    }
+
+    /**
+     * Restore integer value from quantized slot value.
+     *
+     * @param slot Slot.
+     * @param quantized Quantized value.
+     */
+    public int dequantizeInt(int slot, int quantized) {
+        return switch(kinds[slot]) {
+            case BOOLEAN -> quantized;
+
+            case INT -> (quantized >>> 1) ^ -(quantized & 1);
+
+            default -> (int) dequantizeFloat(slot, quantized);
+        };
+    }
+
+    /**
+     * Restore float value from quantized slot value.
+     *
+     * @param slot Slot.
+     * @param quantized Quantized value.
+     */
+    public float dequantizeFloat(int slot, int quantized) {
+        return switch(kinds[slot]) {
+            case RAW_FLOAT -> Float.intBitsToFloat(quantized);
+
+            case FLOAT -> (float) (minimums[slot] + (quantized & 0xFFFFFFFFL) * (double) precisions[slot]);
+
+            default -> dequantizeInt(slot, quantized);
+        };
+    }
+
+    private int addField(String name, int count, byte kind, int size, float min, float precision) {
+        if(fields.containsKey(name)) throw new IllegalArgumentException("Field already exists: " + name);
+
+        if(slots + count > kinds.length) {
+            int capacity = Math.max(kinds.length * 2, slots + count);
+
+            kinds = Arrays.copyOf(kinds, capacity);
+            bits = Arrays.copyOf(bits, capacity);
+            minimums = Arrays.copyOf(minimums, capacity);
+            precisions = Arrays.copyOf(precisions, capacity);
+        }
+
+        int first = slots;
+
+        for(int i = 0; i < count; i++, slots++) {
+            kinds[slots] = kind;
+            bits[slots] = size;
+            minimums[slots] = min;
+            precisions[slots] = precision;
+        }
+
+        entityBits += count * size;
+
+        fields.put(name, first);
+
+        return first;
+    }
+
+    private static int quantizationBits(float min, float max, float precision) {
+        if(!(max > min) || !(precision > 0)) throw new IllegalArgumentException("max <= min || precision <= 0");
+
+        double steps = Math.floor((max - (double) min) / precision);
+
+        if(steps >= 0xFFFFFFFFL) throw new IllegalArgumentException("Float range needs more than 32 bits at precision " + precision);
+
+        return Math.max(1, 64 - Long.numberOfLeadingZeros((long) steps));
+    }
+}
@@ -0,0 +1,36 @@
+package gsdk.glib.ginet.replication;
+
+import java.util.Arrays;
+
+// Immutable replicated state: sorted entity ids and quantized slot values (arrays are shared between snapshots while entity is unchanged).
+class GinetSnapshot {
+    static final GinetSnapshot EMPTY = new GinetSnapshot(-1, new int[0], new int[0][]);
+
+    final int sequence;
+
+    final int[] ids;
+
+    final int[][] values;
+
+    GinetSnapshot(int sequence_, int[] ids_, int[][] values_) {
+        sequence = sequence_;
+
+        ids = ids_;
+
+        values = values_;
+    }
+
+    // Entity index (negative if absent).
+    int indexOf(int id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    // Snapshot from history ring (null if evicted).
+    static GinetSnapshot find(GinetSnapshot[] history, int sequence) {
+        if(sequence < 0) return null;
+
+        GinetSnapshot snapshot = history[sequence % history.length];
+
+        return snapshot != null && snapshot.sequence == sequence ? snapshot : null;
+    }
+}
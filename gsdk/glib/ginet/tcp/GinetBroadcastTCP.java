@@ -0,0 +1,69 @@
+package gsdk.glib.ginet.tcp;
+
+import java.nio.ByteBuffer;
+
+import java.nio.charset.Charset;
+
+import java.nio.charset.StandardCharsets;
+
+import gsdk.glib.ginet.GinetFrameCodec;
+
+/**
+ * Broadcast message: encoded at most once per wire format (text line, binary frame) and shared read-only by all recipients.
+ * Binary event frame is shared by connections where event has same id (pre-registered events); other connections get own frame.
+ */
+final class GinetBroadcastTCP {
+    private final String name, data;
+
+    private ByteBuffer payload;
+
+    private String line = null;
+
+    private byte[] lineBytes = null, frame = null;
+
+    private int frameId = -1;
+
+    GinetBroadcastTCP(String name_, String data_, ByteBuffer payload_) {
+        name = name_;
+
+        data = data_;
+
+        payload = payload_;
+    }
+
+    void send(GinetServerClient client) {
+        if(!client.isBinary()) {
+            // Binary data can't be sent to text protocol clients.
+            if(data == null) return;
+
+            if(line == null) {
+                line = name == null ? data : "EV-BGN EVENT-NAME%s&&&EVENT-DATA%s EV-END".formatted(name, data);
+
+                lineBytes = (line + System.lineSeparator()).getBytes(Charset.defaultCharset());
+            }
+
+            client.sendShared(lineBytes, line); return;
+        }
+
+        if(payload == null) payload = ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8));
+
+        int id = name == null ? GinetFrameCodec.DATA_ID : client.getCodec().getEventId(name);
+
+        if(frame == null && id >= 0) {
+            frameId = id;
+
+            frame = new byte[GinetFrameCodec.frameSize(id, payload.remaining())];
+
+            GinetFrameCodec.encodeFrame(id, payload, ByteBuffer.wrap(frame));
+        }
+
+        if(id >= 0 && id == frameId) {
+            client.sendShared(frame, null);
+        } else if(name == null) {
+            client.send(payload);
+        } else {
+            // Event isn't defined on this connection yet (or has other id): own frame with DEFINE.
+            client.emit(name, payload);
+        }
+    }
+}
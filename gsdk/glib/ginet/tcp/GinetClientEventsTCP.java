@@ -1,5 +1,9 @@
 package gsdk.glib.ginet.tcp;
 
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
 /**
  * Networking TCP client events.
  */
@@ -36,6 +40,29 @@ public interface GinetClientEventsTCP {
      */
     void event(String name, String data, GinetClientServer server, GinetClientTCP client);
 
+    /**
+     * Triggered when received binary data frame from the server (binary protocol). Calls <code>receive(String, ...)</code> with UTF-8 data by default.
+     *
+     * @param data Received data (view of reusable buffer, valid only inside callback).
+     * @param server Server socket.
+     * @param client Client reference.
+     */
+    default void receive(ByteBuffer data, GinetClientServer server, GinetClientTCP client) {
+        receive(StandardCharsets.UTF_8.decode(data).toString(), server, client);
+    }
+
+    /**
+     * Triggered when event is toggled by server (binary protocol). Calls <code>event(String, String, ...)</code> with UTF-8 data by default.
+     *
+     * @param name Event name.
+     * @param data Event data (view of reusable buffer, valid only inside callback).
+     * @param server Server reference.
+     * @param client Client reference.
+     */
+    default void event(String name, ByteBuffer data, GinetClientServer server, GinetClientTCP client) {
+        event(name, StandardCharsets.UTF_8.decode(data).toString(), server, client);
+    }
+
     /**
      * Triggered when exception raised on client side in `connect` method.
      *
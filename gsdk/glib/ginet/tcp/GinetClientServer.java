@@ -4,8 +4,16 @@ import java.net.Socket;
 
 import java.io.PrintWriter;
 
+import java.io.OutputStream;
+
 import java.io.IOException;
 
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+import gsdk.glib.ginet.GinetFrameCodec;
+
 /**
  * Client representation of a server.
  */
@@ -14,10 +22,25 @@ public class GinetClientServer {
 
     private final PrintWriter out;
 
+    // Binary protocol state (null in text protocol).
+    private final GinetFrameCodec codec;
+
+    private final OutputStream rawOut;
+
     protected GinetClientServer(Socket server_) throws IOException {
+        this(server_, null);
+    }
+
+    protected GinetClientServer(Socket server_, GinetFrameCodec codec_) throws IOException {
         server = server_;
 
         out = new PrintWriter(server.getOutputStream(), true);
+
+        codec = codec_;
+
+        rawOut = codec != null ? server.getOutputStream() : null;
+
+        if(codec != null) codec.writeHandshake(rawOut);
     }
 
     /**
@@ -26,9 +49,72 @@ public class GinetClientServer {
      * @param data Data.
      */
     public void answer(String data) {
+        if(codec != null) {
+            writeFrame(null, ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8))); return;
+        }
+
         if(validOut()) out.println(data);
     }
 
+    /**
+     * Answer binary data to server (binary protocol).
+     *
+     * @param data Data (position is not changed).
+     */
+    public void answer(ByteBuffer data) {
+        if(codec == null) throw new IllegalStateException("Binary data requires GinetProtocolTCP.BINARY");
+
+        writeFrame(null, data);
+    }
+
+    /**
+     * Emit server event.
+     *
+     * @param eventName Event name.
+     * @param data Event data.
+     */
+    public void emit(String eventName, String data) {
+        if(codec != null) {
+            writeFrame(eventName, ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)));
+        } else {
+            answer("EV-BGN EVENT-NAME%s&&&EVENT-DATA%s EV-END".formatted(eventName, data));
+        }
+    }
+
+    /**
+     * Emit server event with binary data (binary protocol).
+     *
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     */
+    public void emit(String eventName, ByteBuffer data) {
+        if(codec == null) throw new IllegalStateException("Binary data requires GinetProtocolTCP.BINARY");
+
+        writeFrame(eventName, data);
+    }
+
+    /**
+     * Is binary protocol used.
+     */
+    public boolean isBinary() {
+        return codec != null;
+    }
+
+    /**
+     * Get frame codec (null in text protocol).
+     */
+    public GinetFrameCodec getCodec() {
+        return codec;
+    }
+
+    private void writeFrame(String name, ByteBuffer payload) {
+        try {
+            codec.write(rawOut, name, payload);
+        } catch(IOException ioExc) {
+            // Like PrintWriter in text protocol: broken connection is reported by read loop.
+        }
+    }
+
     /**
      * Is PrintWriter valid (!= null).
      */
@@ -10,9 +10,18 @@ import java.net.BindException;
 
 import java.io.InputStreamReader;
 import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 
 import java.io.IOException;
 
+import java.nio.ByteBuffer;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import gsdk.glib.ginet.GinetFrameCodec;
+import gsdk.glib.ginet.GinetVirtualThreads;
+
 /**
  * GinetClientTCP -
  *
@@ -34,7 +43,8 @@ import java.io.IOException;
  * - Connect to the server and manage the connection state.<br>
  * - Send data to the server and emit custom events.<br>
  * - Handle different events through the GinetClientEventsTCP interface.<br>
- * - Soft handling of critical situations.<br><br>
+ * - Soft handling of critical situations.<br>
+ * - Binary protocol (<code>GinetProtocolTCP.BINARY</code>): length-prefixed frames with event ids negotiated at connect.<br><br>
  *
  * The Transmission Control Protocol (TCP) is one of the main protocols of the Internet protocol suite.
  * It originated in the initial network implementation in which it complemented the Internet Protocol (IP).
@@ -64,6 +74,12 @@ public class GinetClientTCP {
 
     private final GinetClientEventsTCP events;
 
+    private final boolean virtualThread;
+
+    private GinetProtocolTCP protocol = GinetProtocolTCP.TEXT;
+
+    private final LinkedHashSet<String> registeredEvents = new LinkedHashSet<>();
+
     private GinetClientServer serverRepr;
 
     private boolean active;
@@ -77,6 +93,21 @@ public class GinetClientTCP {
      * @param connectionTime Time client has to connect to the server.
      */
     public GinetClientTCP(GinetClientEventsTCP events_, String host_, int port_, int connectionTime) {
+        this(events_, host_, port_, connectionTime, false);
+    }
+
+    /**
+     * Initialize Game Immediate mode Networking client (TCP).
+     *
+     * @param events_ Events handler.
+     * @param host_ Server host.
+     * @param port_ Server port.
+     * @param connectionTime Time client has to connect to the server.
+     * @param virtualThread_ Handle connection on virtual thread instead of platform thread.
+     */
+    public GinetClientTCP(GinetClientEventsTCP events_, String host_, int port_, int connectionTime, boolean virtualThread_) {
+        virtualThread = virtualThread_;
+
         host = host_;
         port = port_;
 
@@ -99,7 +130,7 @@ public class GinetClientTCP {
     }
 
     private void cHandler() {
-        new Thread(() -> {
+        Runnable handler = () -> {
             try {
                 socket = new Socket();
 
@@ -112,31 +143,15 @@ public class GinetClientTCP {
                 }
 
                 if(socket.isConnected()) {
-                    serverRepr = new GinetClientServer(socket);
+                    serverRepr = new GinetClientServer(socket, protocol == GinetProtocolTCP.BINARY ? new GinetFrameCodec(registeredEvents) : null);
 
                     events.connection(serverRepr, this);
 
-                    try(BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()))) {
-                        String data;
-
-                        try {
-                            while(active && (data = in.readLine()) != null) {
-                                if(data.startsWith("EV-BGN ")) {
-                                    String[] parts = data.substring(7, data.indexOf(" EV-END")).split("&&&");
-
-                                    events.event(parts[0].replace("EVENT-NAME", "").trim(), parts[1].replace("EVENT-DATA", "").trim(), serverRepr, this);
-                                } else {
-                                    events.receive(data, serverRepr, this);
-                                }
-                            }
-                        } catch(IOException ioExc) {
-                            if(ioExc.getMessage().equals("Connection reset")) {
-                                events.lost(this);
-                            } else {
-                                if(!ioExc.getMessage().equals("Connection closed") && active) {
-                                    events.exception(ioExc, this);
-                                }
-                            }
+                    try {
+                        if(serverRepr.isBinary()) {
+                            readFrames();
+                        } else {
+                            readLines();
                         }
                     } catch(IOException ioExc) {
                         events.exception(ioExc, this);
@@ -147,7 +162,61 @@ public class GinetClientTCP {
             } catch(IOException ioExc) {
                 events.exception(ioExc, this);
             }
-        }).start();
+        };
+
+        if(virtualThread) {
+            GinetVirtualThreads.start(handler, "GinetClientTCP-" + host + ":" + port);
+        } else {
+            new Thread(handler).start();
+        }
+    }
+
+    private void readLines() throws IOException {
+        try(BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()))) {
+            String data;
+
+            try {
+                while(active && (data = in.readLine()) != null) {
+                    if(data.startsWith("EV-BGN ")) {
+                        String[] parts = data.substring(7, data.indexOf(" EV-END")).split("&&&");
+
+                        events.event(parts[0].replace("EVENT-NAME", "").trim(), parts[1].replace("EVENT-DATA", "").trim(), serverRepr, this);
+                    } else {
+                        events.receive(data, serverRepr, this);
+                    }
+                }
+            } catch(IOException ioExc) {
+                readException(ioExc);
+            }
+        }
+    }
+
+    private void readFrames() throws IOException {
+        GinetFrameCodec codec = serverRepr.getCodec();
+
+        try(BufferedInputStream in = new BufferedInputStream(socket.getInputStream())) {
+            try {
+                while(active && codec.read(in)) {
+                    if(codec.getFrameName() == null) {
+                        events.receive(codec.getPayload(), serverRepr, this);
+                    } else {
+                        events.event(codec.getFrameName(), codec.getPayload(), serverRepr, this);
+                    }
+                }
+            } catch(IOException ioExc) {
+                readException(ioExc);
+            }
+        }
+    }
+
+    private void readException(IOException ioExc) {
+        if("Connection reset".equals(ioExc.getMessage())) {
+            events.lost(this);
+        } else {
+            if(!"Connection closed".equals(ioExc.getMessage()) && active) {
+                events.exception(ioExc, this);
+            }
+        }
     }
 
     /**
@@ -156,9 +225,16 @@ public class GinetClientTCP {
      * @param data Data.
      */
     public void send(String data) {
-        if(socket != null && !socket.isClosed() && serverRepr != null && serverRepr.validOut()) {
-            serverRepr.answer(data);
-        }
+        if(canSend()) serverRepr.answer(data);
+    }
+
+    /**
+     * Send binary data to server (binary protocol).
+     *
+     * @param data Data (position is not changed).
+     */
+    public void send(ByteBuffer data) {
+        if(canSend()) serverRepr.answer(data);
     }
 
     /**
@@ -168,7 +244,21 @@ public class GinetClientTCP {
      * @param data Event data.
      */
     public void emit(String eventName, String data) {
-        send("EV-BGN EVENT-NAME%s&&&EVENT-DATA%s EV-END".formatted(eventName, data));
+        if(canSend()) serverRepr.emit(eventName, data);
+    }
+
+    /**
+     * Emit server event with binary data (binary protocol).
+     *
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     */
+    public void emit(String eventName, ByteBuffer data) {
+        if(canSend()) serverRepr.emit(eventName, data);
+    }
+
+    private boolean canSend() {
+        return socket != null && !socket.isClosed() && serverRepr != null && serverRepr.validOut();
     }
 
     /**
@@ -239,6 +329,38 @@ public class GinetClientTCP {
         return serverRepr;
     }
 
+    /**
+     * Set wire protocol (used on next connect, server must use same protocol).
+     *
+     * @param protocol_ Protocol.
+     */
+    public void setProtocol(GinetProtocolTCP protocol_) {
+        protocol = protocol_;
+    }
+
+    /**
+     * Get wire protocol.
+     */
+    public GinetProtocolTCP getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * Pre-register event names (binary protocol): their ids are sent in connection handshake.
+     *
+     * @param eventNames Event names.
+     */
+    public void registerEvent(String... eventNames) {
+        registeredEvents.addAll(List.of(eventNames));
+    }
+
+    /**
+     * Is connection handled on virtual thread.
+     */
+    public boolean isVirtualThread() {
+        return virtualThread;
+    }
+
     /**
      * Change client active state.
      *
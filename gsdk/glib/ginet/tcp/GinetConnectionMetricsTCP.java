@@ -0,0 +1,146 @@
+package gsdk.glib.ginet.tcp;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-connection counters (lock-free): bytes and messages in and out, connection time and disconnect reason.
+ * Every update is also added to server aggregate metrics.
+ */
+public class GinetConnectionMetricsTCP {
+    private final LongAdder bytesIn = new LongAdder(), bytesOut = new LongAdder(), messagesIn = new LongAdder(), messagesOut = new LongAdder();
+
+    private final long connectedAt = System.currentTimeMillis();
+
+    private final AtomicReference<GinetDisconnectReasonTCP> disconnectReason = new AtomicReference<>();
+
+    private volatile GinetMetricsTCP server = null;
+
+    // Add updates to server metrics.
+    void attach(GinetMetricsTCP server_) {
+        server = server_;
+    }
+
+    void received(long bytes) {
+        bytesIn.add(bytes);
+
+        GinetMetricsTCP metrics = server;
+
+        if(metrics != null) metrics.received(bytes);
+    }
+
+    void sent(long bytes) {
+        bytesOut.add(bytes);
+
+        GinetMetricsTCP metrics = server;
+
+        if(metrics != null) metrics.sent(bytes);
+    }
+
+    void receivedMessage() {
+        messagesIn.increment();
+    }
+
+    void sentMessage() {
+        messagesOut.increment();
+
+        GinetMetricsTCP metrics = server;
+
+        if(metrics != null) metrics.sentMessage();
+    }
+
+    // First reason wins (for example KICKED before socket error caused by closing).
+    void disconnected(GinetDisconnectReasonTCP reason) {
+        disconnectReason.compareAndSet(null, reason);
+    }
+
+    /**
+     * Get received bytes.
+     */
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    /**
+     * Get sent bytes (written to socket).
+     */
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    /**
+     * Get received messages (data and events).
+     */
+    public long getMessagesIn() {
+        return messagesIn.sum();
+    }
+
+    /**
+     * Get sent messages (queued or written, without dropped ones).
+     */
+    public long getMessagesOut() {
+        return messagesOut.sum();
+    }
+
+    /**
+     * Get connection time (epoch MS).
+     */
+    public long getConnectedAt() {
+        return connectedAt;
+    }
+
+    /**
+     * Get disconnect reason (null while connected).
+     */
+    public GinetDisconnectReasonTCP getDisconnectReason() {
+        return disconnectReason.get();
+    }
+
+    // Stream counting received bytes (blocking mode).
+    InputStream count(InputStream stream) {
+        return new FilterInputStream(stream) {
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+
+                if(b >= 0) received(1);
+
+                return b;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                int read = in.read(bytes, offset, length);
+
+                if(read > 0) received(read);
+
+                return read;
+            }
+        };
+    }
+
+    // Stream counting sent bytes (blocking mode).
+    OutputStream count(OutputStream stream) {
+        return new FilterOutputStream(stream) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+
+                sent(1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+
+                sent(length);
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package gsdk.glib.ginet.tcp;
+
+/**
+ * Reason of client disconnection (metrics).
+ */
+public enum GinetDisconnectReasonTCP {
+    /**
+     * Client closed connection.
+     */
+    CLOSED,
+
+    /**
+     * Connection reset (client lost).
+     */
+    LOST,
+
+    /**
+     * Disconnected by server (<code>disconnect</code>).
+     */
+    KICKED,
+
+    /**
+     * Outbound queue limit exceeded (<code>GinetOverflowPolicyTCP.DISCONNECT</code>).
+     */
+    OVERFLOW,
+
+    /**
+     * I/O error.
+     */
+    ERROR,
+
+    /**
+     * Server stopped.
+     */
+    SHUTDOWN
+}
@@ -0,0 +1,242 @@
+package gsdk.glib.ginet.tcp;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import gsdk.glib.ginet.GinetFrameCodec;
+
+/**
+ * Selector event loop of non-blocking TCP server: reads client lines (or binary frames), dispatches them to server and flushes queued client writes.
+ * All channel operations of clients registered in loop happen on loop thread; other threads only enqueue work and wake selector up.
+ */
+class GinetEventLoopTCP implements Runnable {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final int GATHER_BUFFERS = 64;
+
+    private final GinetServerTCP server;
+
+    private final Selector selector;
+
+    private final Thread thread;
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+    private final ByteBuffer[] gather = new ByteBuffer[GATHER_BUFFERS];
+
+    private final ConcurrentLinkedQueue<GinetServerClient> registrations = new ConcurrentLinkedQueue<>();
+
+    private final ConcurrentLinkedQueue<GinetServerClient> writes = new ConcurrentLinkedQueue<>();
+
+    private final ConcurrentLinkedQueue<GinetServerClient> closes = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running = true;
+
+    GinetEventLoopTCP(GinetServerTCP server_, String name) throws IOException {
+        server = server_;
+
+        selector = Selector.open();
+
+        thread = new Thread(this, name);
+
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+
+        selector.wakeup();
+    }
+
+    // Register accepted client (any thread).
+    void register(GinetServerClient client) {
+        registrations.add(client);
+
+        selector.wakeup();
+    }
+
+    // Schedule flush of client outbound queue (any thread).
+    void scheduleWrite(GinetServerClient client) {
+        writes.add(client);
+
+        selector.wakeup();
+    }
+
+    // Schedule client close (any thread).
+    void scheduleClose(GinetServerClient client) {
+        closes.add(client);
+
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        while(running) {
+            try {
+                selector.select();
+            } catch(IOException ioExc) {
+                server.loopException(ioExc);
+
+                break;
+            }
+
+            processQueues();
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+
+            while(keys.hasNext()) {
+                SelectionKey key = keys.next();
+
+                keys.remove();
+
+                GinetServerClient client = (GinetServerClient) key.attachment();
+
+                if(!key.isValid()) continue;
+
+                if(key.isReadable()) read(client);
+
+                if(key.isValid() && key.isWritable()) flush(client);
+            }
+        }
+
+        for(SelectionKey key : selector.keys()) close((GinetServerClient) key.attachment(), GinetDisconnectReasonTCP.SHUTDOWN);
+
+        try {
+            selector.close();
+        } catch(IOException ioExc) {
+            server.loopException(ioExc);
+        }
+    }
+
+    private void processQueues() {
+        GinetServerClient client;
+
+        while((client = registrations.poll()) != null) {
+            try {
+                client.setKey(client.getChannel().register(selector, SelectionKey.OP_READ, client));
+
+                // Data may have been sent in connection callback before registration.
+                flush(client);
+            } catch(IOException ioExc) {
+                server.loopException(ioExc);
+
+                close(client, GinetDisconnectReasonTCP.ERROR);
+            }
+        }
+
+        // Reason (KICKED, OVERFLOW) is already set by disconnect.
+        while((client = closes.poll()) != null) close(client, GinetDisconnectReasonTCP.KICKED);
+
+        while((client = writes.poll()) != null) {
+            client.clearWriteScheduled();
+
+            if(client.getKey() != null) flush(client);
+        }
+    }
+
+    private void read(GinetServerClient client) {
+        SocketChannel channel = client.getChannel();
+
+        try {
+            int read;
+
+            while((read = channel.read(readBuffer.clear())) > 0) {
+                client.getMetrics().received(read);
+
+                readBuffer.flip();
+
+                GinetFrameCodec codec = client.getCodec();
+
+                if(codec != null) {
+                    codec.feed(readBuffer);
+
+                    while(codec.next()) server.processFrame(codec, client);
+                }
+
+                while(readBuffer.hasRemaining()) {
+                    String line = client.decode(readBuffer);
+
+                    if(line != null) server.process(line, client);
+                }
+
+                if(read < readBuffer.capacity()) break;
+            }
+
+            if(read < 0) close(client, GinetDisconnectReasonTCP.CLOSED);
+        } catch(IOException ioExc) {
+            boolean lost = "Connection reset".equals(ioExc.getMessage());
+
+            if(!lost && server.isActive()) server.loopException(ioExc);
+
+            close(client, lost ? GinetDisconnectReasonTCP.LOST : GinetDisconnectReasonTCP.ERROR);
+        }
+    }
+
+    private void flush(GinetServerClient client) {
+        SelectionKey key = client.getKey();
+
+        if(key == null || !key.isValid()) return;
+
+        try {
+            int count;
+
+            // Queued messages are coalesced into gathering writes (one syscall per GATHER_BUFFERS messages).
+            while((count = client.peekOutbound(gather)) > 0) {
+                client.outboundWritten(client.getChannel().write(gather, 0, count));
+
+                int written = 0;
+
+                while(written < count && !gather[written].hasRemaining()) {
+                    client.pollOutbound();
+
+                    written++;
+                }
+
+                Arrays.fill(gather, 0, count, null);
+
+                if(written < count) {
+                    // Socket buffer is full: continue when channel is writable again.
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+
+                    return;
+                }
+            }
+
+            key.interestOps(SelectionKey.OP_READ);
+        } catch(IOException ioExc) {
+            close(client, "Connection reset".equals(ioExc.getMessage()) ? GinetDisconnectReasonTCP.LOST : GinetDisconnectReasonTCP.ERROR);
+        }
+    }
+
+    private void close(GinetServerClient client, GinetDisconnectReasonTCP reason) {
+        if(!client.markClosed()) return;
+
+        client.getMetrics().disconnected(reason);
+
+        SelectionKey key = client.getKey();
+
+        if(key != null) key.cancel();
+
+        try {
+            client.getChannel().close();
+        } catch(IOException ioExc) {
+            server.loopException(ioExc);
+        }
+
+        server.closed(client);
+    }
+}
@@ -0,0 +1,211 @@
+package gsdk.glib.ginet.tcp;
+
+import java.time.Instant;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import gsdk.glib.ginet.GinetHistogram;
+
+/**
+ * Immutable TCP server metrics at moment of <code>GinetMetricsTCP.snapshot</code>. Rates are computed between two snapshots.
+ * Latencies are in nanoseconds.
+ */
+public class GinetMetricsSnapshotTCP {
+    private final long time, startedAt;
+
+    private final int connections;
+
+    private final long accepted, bytesIn, bytesOut, messagesIn, messagesOut, queuedBytes, droppedMessages;
+
+    private final long[] disconnects;
+
+    private final GinetHistogram handlerLatency;
+
+    private final Map<String, GinetHistogram> eventLatency;
+
+    GinetMetricsSnapshotTCP(long time_, long startedAt_, int connections_, long accepted_, long bytesIn_, long bytesOut_, long messagesIn_, long messagesOut_,
+                            long queuedBytes_, long droppedMessages_, long[] disconnects_, GinetHistogram handlerLatency_, Map<String, GinetHistogram> eventLatency_) {
+        time = time_;
+        startedAt = startedAt_;
+
+        connections = connections_;
+
+        accepted = accepted_;
+
+        bytesIn = bytesIn_;
+        bytesOut = bytesOut_;
+        messagesIn = messagesIn_;
+        messagesOut = messagesOut_;
+
+        queuedBytes = queuedBytes_;
+        droppedMessages = droppedMessages_;
+
+        disconnects = disconnects_;
+
+        handlerLatency = handlerLatency_;
+
+        eventLatency = Collections.unmodifiableMap(new TreeMap<>(eventLatency_));
+    }
+
+    /**
+     * Get snapshot time (epoch MS).
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Get time since metrics start (MS).
+     */
+    public long getUptime() {
+        return time - startedAt;
+    }
+
+    /**
+     * Get connected clients count.
+     */
+    public int getConnections() {
+        return connections;
+    }
+
+    /**
+     * Get accepted connections count.
+     */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Get accepted connections per second since previous snapshot (since start if previous is null).
+     *
+     * @param previous Previous snapshot.
+     */
+    public double getAcceptRate(GinetMetricsSnapshotTCP previous) {
+        return rate(accepted, previous != null ? previous.accepted : 0, previous);
+    }
+
+    /**
+     * Get received bytes.
+     */
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    /**
+     * Get sent bytes.
+     */
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    /**
+     * Get received messages.
+     */
+    public long getMessagesIn() {
+        return messagesIn;
+    }
+
+    /**
+     * Get sent messages.
+     */
+    public long getMessagesOut() {
+        return messagesOut;
+    }
+
+    /**
+     * Get received messages per second since previous snapshot (since start if previous is null).
+     *
+     * @param previous Previous snapshot.
+     */
+    public double getMessagesInRate(GinetMetricsSnapshotTCP previous) {
+        return rate(messagesIn, previous != null ? previous.messagesIn : 0, previous);
+    }
+
+    /**
+     * Get sent messages per second since previous snapshot (since start if previous is null).
+     *
+     * @param previous Previous snapshot.
+     */
+    public double getMessagesOutRate(GinetMetricsSnapshotTCP previous) {
+        return rate(messagesOut, previous != null ? previous.messagesOut : 0, previous);
+    }
+
+    /**
+     * Get queued outbound bytes of connected clients (queue depth).
+     */
+    public long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    /**
+     * Get messages dropped by outbound queue limit (connected clients).
+     */
+    public long getDroppedMessages() {
+        return droppedMessages;
+    }
+
+    /**
+     * Get disconnections count by reason.
+     *
+     * @param reason Disconnect reason.
+     */
+    public long getDisconnects(GinetDisconnectReasonTCP reason) {
+        return disconnects[reason.ordinal()];
+    }
+
+    /**
+     * Get disconnections count.
+     */
+    public long getDisconnects() {
+        long total = 0;
+
+        for(long count : disconnects) total += count;
+
+        return total;
+    }
+
+    /**
+     * Get event handler latency histogram (all received messages, nanoseconds).
+     */
+    public GinetHistogram getHandlerLatency() {
+        return handlerLatency;
+    }
+
+    /**
+     * Get event handler latency histograms by event name (<code>GinetMetricsTCP.DATA</code> for plain data).
+     */
+    public Map<String, GinetHistogram> getEventLatency() {
+        return eventLatency;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+
+        text.append("[%s] uptime %.1f s | connections %d | accepted %d (%.2f/s)%n".formatted(Instant.ofEpochMilli(time), getUptime() / 1000.0, connections, accepted, getAcceptRate(null)));
+        text.append("in %d B / %d msg | out %d B / %d msg | queued %d B | dropped %d%n".formatted(bytesIn, messagesIn, bytesOut, messagesOut, queuedBytes, droppedMessages));
+        text.append("disconnects");
+
+        for(GinetDisconnectReasonTCP reason : GinetDisconnectReasonTCP.values()) text.append(" | %s %d".formatted(reason, disconnects[reason.ordinal()]));
+
+        text.append(System.lineSeparator());
+        text.append(latency("handler latency", handlerLatency));
+
+        eventLatency.forEach((name, histogram) -> text.append(latency("  event " + name, histogram)));
+
+        return text.toString();
+    }
+
+    private double rate(long value, long previousValue, GinetMetricsSnapshotTCP previous) {
+        long elapsed = time - (previous != null ? previous.time : startedAt);
+
+        return elapsed > 0 ? (value - previousValue) * 1000.0 / elapsed : 0;
+    }
+
+    private static String latency(String label, GinetHistogram histogram) {
+        return "%s (us) | count %d | mean %.1f | p50 %.1f | p90 %.1f | p99 %.1f | max %.1f%n".formatted(label, histogram.getCount(), histogram.getMean() / 1000,
+            histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0, histogram.getMax() / 1000.0);
+    }
+}
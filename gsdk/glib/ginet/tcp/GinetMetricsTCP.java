@@ -0,0 +1,147 @@
+package gsdk.glib.ginet.tcp;
+
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.HashMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import gsdk.glib.ginet.GinetHistogram;
+
+/**
+ * Aggregate metrics of TCP server: bytes and messages in and out, accepted connections, disconnect reasons and event handler latency histograms
+ * (all events and per event name). Counters are lock-free (<code>LongAdder</code>, <code>GinetHistogram</code>), so they are updated on every message.
+ * State is read with <code>snapshot</code> (from game loop, monitoring thread) or appended to file with <code>dump</code>.
+ */
+public class GinetMetricsTCP {
+    /**
+     * Maximal count of per event latency histograms (events over limit are counted only in aggregate histogram).
+     */
+    public static final int MAX_EVENT_HISTOGRAMS = 64;
+
+    /**
+     * Histogram key of plain data messages.
+     */
+    public static final String DATA = "<data>";
+
+    private final GinetServerTCP server;
+
+    private final long startedAt = System.currentTimeMillis();
+
+    private final LongAdder bytesIn = new LongAdder(), bytesOut = new LongAdder(), messagesIn = new LongAdder(), messagesOut = new LongAdder();
+
+    private final LongAdder accepted = new LongAdder();
+
+    private final LongAdder[] disconnects = new LongAdder[GinetDisconnectReasonTCP.values().length];
+
+    private final GinetHistogram handlerLatency = new GinetHistogram();
+
+    private final ConcurrentHashMap<String, GinetHistogram> eventLatency = new ConcurrentHashMap<>();
+
+    GinetMetricsTCP(GinetServerTCP server_) {
+        server = server_;
+
+        for(int i = 0; i < disconnects.length; i++) disconnects[i] = new LongAdder();
+    }
+
+    void received(long bytes) {
+        bytesIn.add(bytes);
+    }
+
+    void sent(long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    void sentMessage() {
+        messagesOut.increment();
+    }
+
+    void accepted() {
+        accepted.increment();
+    }
+
+    void disconnected(GinetDisconnectReasonTCP reason) {
+        disconnects[reason.ordinal()].increment();
+    }
+
+    // Received message handled by events (handler time in nanoseconds).
+    void handled(String name, long nanos) {
+        messagesIn.increment();
+
+        handlerLatency.record(nanos);
+
+        GinetHistogram histogram = eventLatency.get(name);
+
+        if(histogram == null && eventLatency.size() < MAX_EVENT_HISTOGRAMS) histogram = eventLatency.computeIfAbsent(name, key -> new GinetHistogram());
+
+        if(histogram != null) histogram.record(nanos);
+    }
+
+    /**
+     * Capture current metrics (counters, queue depth of connected clients and copies of latency histograms).
+     */
+    public GinetMetricsSnapshotTCP snapshot() {
+        long queuedBytes = 0, droppedMessages = 0;
+
+        int connections = 0;
+
+        for(GinetServerClient client : server.getClients()) {
+            queuedBytes += client.getQueuedBytes();
+
+            droppedMessages += client.getDroppedMessages();
+
+            connections++;
+        }
+
+        long[] disconnectCounts = new long[disconnects.length];
+
+        for(int i = 0; i < disconnects.length; i++) disconnectCounts[i] = disconnects[i].sum();
+
+        HashMap<String, GinetHistogram> events = new HashMap<>();
+
+        eventLatency.forEach((name, histogram) -> events.put(name, histogram.copy()));
+
+        return new GinetMetricsSnapshotTCP(System.currentTimeMillis(), startedAt, connections, accepted.sum(), bytesIn.sum(), bytesOut.sum(),
+            messagesIn.sum(), messagesOut.sum(), queuedBytes, droppedMessages, disconnectCounts, handlerLatency.copy(), events);
+    }
+
+    /**
+     * Append current metrics snapshot to file (text).
+     *
+     * @param file File.
+     * @param connections Also write per connection counters.
+     */
+    public void dump(Path file, boolean connections) throws IOException {
+        StringBuilder text = new StringBuilder(snapshot().toString());
+
+        if(connections) {
+            for(GinetServerClient client : server.getClients()) {
+                GinetConnectionMetricsTCP metrics = client.getMetrics();
+
+                text.append("  client %s %s:%d | in %d B / %d msg | out %d B / %d msg | queued %d B | dropped %d%n".formatted(client.getClientIdentifier(), client.getIP(), client.getPort(),
+                    metrics.getBytesIn(), metrics.getMessagesIn(), metrics.getBytesOut(), metrics.getMessagesOut(), client.getQueuedBytes(), client.getDroppedMessages()));
+            }
+        }
+
+        text.append(System.lineSeparator());
+
+        Files.writeString(file, text, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Clear latency histograms (counters are cumulative).
+     */
+    public void resetLatency() {
+        handlerLatency.reset();
+
+        eventLatency.clear();
+    }
+}
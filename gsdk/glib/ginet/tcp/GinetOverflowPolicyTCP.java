@@ -0,0 +1,16 @@
+package gsdk.glib.ginet.tcp;
+
+/**
+ * What server does when client outbound queue is full (slow client, batched writes).
+ */
+public enum GinetOverflowPolicyTCP {
+    /**
+     * Discard new messages until queue drains.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Disconnect client.
+     */
+    DISCONNECT
+}
@@ -0,0 +1,16 @@
+package gsdk.glib.ginet.tcp;
+
+/**
+ * TCP wire protocols.
+ */
+public enum GinetProtocolTCP {
+    /**
+     * Text lines (events are formatted as <code>EV-BGN EVENT-NAME...&&&EVENT-DATA... EV-END</code>).
+     */
+    TEXT,
+
+    /**
+     * Binary length-prefixed frames with interned event ids (<code>GinetFrameCodec</code>); both sides should use it.
+     */
+    BINARY
+}
@@ -6,8 +6,43 @@ import java.net.InetAddress;
 
 import java.io.PrintWriter;
 
+import java.io.InputStream;
+
+import java.io.OutputStream;
+
+import java.io.BufferedOutputStream;
+
 import java.io.IOException;
 
+import java.nio.ByteBuffer;
+
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+import java.nio.charset.Charset;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
+
+import java.util.Collections;
+
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.concurrent.locks.LockSupport;
+
+import gsdk.glib.ginet.GinetFrameCodec;
+
+import gsdk.glib.ginet.GinetVirtualThreads;
+
 import static java.util.UUID.randomUUID;;
 
 /**
@@ -20,16 +55,82 @@ public class GinetServerClient {
 
     private final PrintWriter out;
 
+    // Socket output counted by metrics (blocking mode).
+    private final OutputStream socketOut;
+
     private final String clientIdentifier;
 
+    private final GinetConnectionMetricsTCP metrics = new GinetConnectionMetricsTCP();
+
+    // Non-blocking (selector) mode state: channel, owning event loop and partial line being decoded.
+    private final SocketChannel channel;
+
+    private final GinetEventLoopTCP loop;
+
+    // Outbound queue (selector mode and batched writes) with queued bytes bound.
+    private final ConcurrentLinkedQueue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong queuedBytes = new AtomicLong(), droppedMessages = new AtomicLong();
+
+    private volatile boolean batched = false;
+
+    private int outboundLimit = Integer.MAX_VALUE;
+
+    private GinetOverflowPolicyTCP overflowPolicy = GinetOverflowPolicyTCP.DROP_NEWEST;
+
+    // Writer of batched writes in blocking mode.
+    private Thread writer = null;
+
+    // Interest groups client joined (server side).
+    private final Set<String> groups = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean writeScheduled = new AtomicBoolean(false), closed = new AtomicBoolean(false);
+
+    private SelectionKey key = null;
+
+    private byte[] line = null;
+
+    private int lineLength = 0;
+
+    private boolean skipLF = false;
+
+    // Binary protocol state (null in text protocol).
+    private GinetFrameCodec codec = null;
+
+    private OutputStream rawOut = null;
+
     protected GinetServerClient(Socket client_, String identifier) throws IOException {
         client = client_;
 
         clientAddress = client.getInetAddress();
 
-        out = new PrintWriter(client.getOutputStream(), true);
+        socketOut = metrics.count(client.getOutputStream());
+
+        out = new PrintWriter(socketOut, true);
 
         clientIdentifier = identifier == null ? randomUUID().toString() : identifier;
+
+        channel = null;
+
+        loop = null;
+    }
+
+    GinetServerClient(SocketChannel channel_, GinetEventLoopTCP loop_, String identifier) {
+        channel = channel_;
+
+        loop = loop_;
+
+        client = channel.socket();
+
+        clientAddress = client.getInetAddress();
+
+        out = null;
+
+        socketOut = null;
+
+        clientIdentifier = identifier == null ? randomUUID().toString() : identifier;
+
+        line = new byte[256];
     }
 
     /**
@@ -38,14 +139,389 @@ public class GinetServerClient {
      * @param data Data to send.
      */
     public void send(String data) {
-        out.println(data);
+        if(codec != null) {
+            sendFrame(null, ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8))); return;
+        }
+
+        if(channel == null && !batched) {
+            out.println(data);
+
+            metrics.sentMessage();
+
+            return;
+        }
+
+        enqueue(ByteBuffer.wrap((data + System.lineSeparator()).getBytes(Charset.defaultCharset())), false);
+    }
+
+    /**
+     * Send binary data to client (binary protocol).
+     *
+     * @param data Data to send (position is not changed).
+     */
+    public void send(ByteBuffer data) {
+        if(codec == null) throw new IllegalStateException("Binary data requires GinetProtocolTCP.BINARY");
+
+        sendFrame(null, data);
+    }
+
+    /**
+     * Emit client event.
+     *
+     * @param eventName Event name.
+     * @param data Event data.
+     */
+    public void emit(String eventName, String data) {
+        if(codec != null) {
+            sendFrame(eventName, ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)));
+        } else {
+            send("EV-BGN EVENT-NAME%s&&&EVENT-DATA%s EV-END".formatted(eventName, data));
+        }
+    }
+
+    /**
+     * Emit client event with binary data (binary protocol).
+     *
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     */
+    public void emit(String eventName, ByteBuffer data) {
+        if(codec == null) throw new IllegalStateException("Binary data requires GinetProtocolTCP.BINARY");
+
+        sendFrame(eventName, data);
+    }
+
+    // Send bytes encoded once for several clients (shared, read-only). Line is used instead in blocking unbatched text mode (PrintWriter).
+    void sendShared(byte[] bytes, String line) {
+        if(channel == null && !batched) {
+            if(codec == null) {
+                out.println(line);
+
+                metrics.sentMessage();
+
+                return;
+            }
+
+            // Whole frame under codec lock: frames written by other threads can't interleave.
+            synchronized(codec) {
+                try {
+                    rawOut.write(bytes);
+
+                    metrics.sentMessage();
+                } catch(IOException ioExc) {
+                    // Like PrintWriter in text protocol: broken connection is reported by read loop.
+                }
+            }
+
+            return;
+        }
+
+        enqueue(ByteBuffer.wrap(bytes).asReadOnlyBuffer(), false);
+    }
+
+    /**
+     * Get interest groups client joined.
+     */
+    public Set<String> getGroups() {
+        return Collections.unmodifiableSet(groups);
+    }
+
+    Set<String> groups() {
+        return groups;
+    }
+
+    /**
+     * Write queued messages (batched writes) as one coalesced write. Returns immediately: bytes are written by event loop or client writer thread.
+     */
+    public void flush() {
+        if(!outbound.isEmpty()) scheduleFlush();
+    }
+
+    /**
+     * Are writes batched (queued until <code>flush</code>).
+     */
+    public boolean isBatched() {
+        return batched;
+    }
+
+    /**
+     * Get queued outbound bytes.
+     */
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    /**
+     * Get messages dropped because outbound queue was full.
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    /**
+     * Is client using binary protocol.
+     */
+    public boolean isBinary() {
+        return codec != null;
+    }
+
+    /**
+     * Get frame codec (null in text protocol).
+     */
+    public GinetFrameCodec getCodec() {
+        return codec;
+    }
+
+    // Switch connection to binary protocol and send handshake.
+    void useBinary(GinetFrameCodec codec_) throws IOException {
+        codec = codec_;
+
+        if(channel == null) {
+            rawOut = socketOut;
+
+            codec.writeHandshake(rawOut);
+        } else {
+            ByteBuffer handshake = ByteBuffer.allocate(codec.maxHandshakeSize());
+
+            codec.encodeHandshake(handshake);
+
+            enqueue(handshake.flip(), true);
+        }
+    }
+
+    // Configure outbound queue: batched writes (flushed explicitly), queued bytes bound and overflow policy.
+    void setOutbound(boolean batched_, int outboundLimit_, GinetOverflowPolicyTCP overflowPolicy_) {
+        batched = batched_;
+
+        outboundLimit = outboundLimit_;
+
+        overflowPolicy = overflowPolicy_;
+
+        if(batched && channel == null && writer == null) writer = GinetVirtualThreads.start(this::writeLoop, "GinetServerClientWriter-" + clientIdentifier);
+    }
+
+    private void sendFrame(String name, ByteBuffer payload) {
+        if(channel == null && !batched) {
+            try {
+                codec.write(rawOut, name, payload);
+
+                metrics.sentMessage();
+            } catch(IOException ioExc) {
+                // Like PrintWriter in text protocol: broken connection is reported by read loop.
+            }
+
+            return;
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(GinetFrameCodec.maxEncodedSize(name, payload.remaining()));
+
+        // Frames must be queued in encoding order (event id is defined by first frame using it).
+        // Frame defining new event id is never dropped: later frames would reference unknown id.
+        synchronized(codec) {
+            boolean defines = name != null && codec.getEventId(name) < 0;
+
+            codec.encode(name, payload, frame);
+
+            enqueue(frame.flip(), defines);
+        }
+    }
+
+    private void enqueue(ByteBuffer bytes, boolean force) {
+        if(closed.get()) return;
+
+        int size = bytes.remaining();
+
+        // Reserve first, roll back on overflow: separate check and add would let concurrent senders pass limit together.
+        if(queuedBytes.addAndGet(size) > outboundLimit && !force) {
+            queuedBytes.addAndGet(-size);
+
+            overflow(); return;
+        }
+
+        outbound.add(bytes);
+
+        metrics.sentMessage();
+
+        if(!batched) scheduleFlush();
+    }
+
+    private void overflow() {
+        droppedMessages.incrementAndGet();
+
+        if(overflowPolicy == GinetOverflowPolicyTCP.DISCONNECT) {
+            metrics.disconnected(GinetDisconnectReasonTCP.OVERFLOW);
+
+            try {
+                disconnect();
+            } catch(IOException ioExc) {
+                // Already closed.
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if(!writeScheduled.compareAndSet(false, true)) return;
+
+        if(channel != null) {
+            loop.scheduleWrite(this);
+        } else {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // Blocking mode batched writes: drain queue into buffered stream, one flush (syscall) per batch. Slow client blocks only this thread.
+    private void writeLoop() {
+        byte[] chunk = new byte[8192];
+
+        try {
+            BufferedOutputStream stream = new BufferedOutputStream(socketOut, 64 * 1024);
+
+            while(!closed.get()) {
+                writeScheduled.set(false);
+
+                ByteBuffer buffer;
+
+                while((buffer = outbound.poll()) != null) {
+                    int size = buffer.remaining();
+
+                    if(buffer.hasArray()) {
+                        stream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), size);
+                    } else {
+                        while(buffer.hasRemaining()) {
+                            int length = Math.min(chunk.length, buffer.remaining());
+
+                            buffer.get(chunk, 0, length);
+
+                            stream.write(chunk, 0, length);
+                        }
+                    }
+
+                    queuedBytes.addAndGet(-size);
+                }
+
+                stream.flush();
+
+                if(!writeScheduled.get()) LockSupport.park(this);
+            }
+        } catch(IOException ioExc) {
+            // Broken connection: close socket, read loop reports it.
+            metrics.disconnected(GinetDisconnectReasonTCP.ERROR);
+
+            try {
+                client.close();
+            } catch(IOException closeExc) {
+                // Already closed.
+            }
+        }
     }
 
     /**
      * Disconnect from the server.
      */
     public void disconnect() throws IOException {
-        client.close();
+        metrics.disconnected(GinetDisconnectReasonTCP.KICKED);
+
+        if(channel != null) loop.scheduleClose(this);
+        else client.close();
+    }
+
+    /**
+     * Is client handled by non-blocking (selector) event loop.
+     */
+    public boolean isNonBlocking() {
+        return channel != null;
+    }
+
+    /**
+     * Get client channel (null in blocking mode).
+     */
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    // Decode bytes until end of line (\n, \r or \r\n like BufferedReader.readLine). Returns line or null if buffer ended first.
+    String decode(ByteBuffer buffer) {
+        while(buffer.hasRemaining()) {
+            byte b = buffer.get();
+
+            if(skipLF) {
+                skipLF = false;
+
+                if(b == '\n') continue;
+            }
+
+            if(b == '\n' || b == '\r') {
+                skipLF = b == '\r';
+
+                String decoded = new String(line, 0, lineLength, Charset.defaultCharset());
+
+                lineLength = 0;
+
+                return decoded;
+            }
+
+            if(lineLength == line.length) line = Arrays.copyOf(line, line.length * 2);
+
+            line[lineLength++] = b;
+        }
+
+        return null;
+    }
+
+    // Fill array with queued buffers from queue head (event loop thread only removes them). Returns buffers count.
+    int peekOutbound(ByteBuffer[] buffers) {
+        int count = 0;
+
+        for(ByteBuffer buffer : outbound) {
+            if(count == buffers.length) break;
+
+            buffers[count++] = buffer;
+        }
+
+        return count;
+    }
+
+    void pollOutbound() {
+        outbound.poll();
+    }
+
+    void outboundWritten(long bytes) {
+        queuedBytes.addAndGet(-bytes);
+
+        metrics.sent(bytes);
+    }
+
+    void clearWriteScheduled() {
+        writeScheduled.set(false);
+    }
+
+    // Returns true only for first close.
+    boolean markClosed() {
+        if(!closed.compareAndSet(false, true)) return false;
+
+        if(writer != null) LockSupport.unpark(writer);
+
+        return true;
+    }
+
+    void setKey(SelectionKey key_) {
+        key = key_;
+    }
+
+    SelectionKey getKey() {
+        return key;
+    }
+
+    /**
+     * Get connection metrics.
+     */
+    public GinetConnectionMetricsTCP getMetrics() {
+        return metrics;
+    }
+
+    // Socket input counted by metrics (blocking mode).
+    InputStream input() throws IOException {
+        return metrics.count(client.getInputStream());
     }
 
     /**
@@ -1,5 +1,9 @@
 package gsdk.glib.ginet.tcp;
 
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
 /**
  * Networking server events.
  */
@@ -53,6 +57,29 @@ public interface GinetServerEventsTCP {
      */
     void event(String name, String data, GinetServerClient client, GinetServerTCP server);
 
+    /**
+     * Triggered when client send binary data frame (binary protocol). Calls <code>receive(String, ...)</code> with UTF-8 data by default.
+     *
+     * @param data Received data (view of reusable buffer, valid only inside callback).
+     * @param client Client that sent data.
+     * @param server Server reference.
+     */
+    default void receive(ByteBuffer data, GinetServerClient client, GinetServerTCP server) {
+        receive(StandardCharsets.UTF_8.decode(data).toString(), client, server);
+    }
+
+    /**
+     * Triggered when event is toggled by client (binary protocol). Calls <code>event(String, String, ...)</code> with UTF-8 data by default.
+     *
+     * @param name Event name.
+     * @param data Event data (view of reusable buffer, valid only inside callback).
+     * @param client Client that toggled event.
+     * @param server Server reference.
+     */
+    default void event(String name, ByteBuffer data, GinetServerClient client, GinetServerTCP server) {
+        event(name, StandardCharsets.UTF_8.decode(data).toString(), client, server);
+    }
+
     /**
      * Triggered when exception raised on server side in `process` method.
      *
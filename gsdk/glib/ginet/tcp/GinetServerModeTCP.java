@@ -0,0 +1,21 @@
+package gsdk.glib.ginet.tcp;
+
+/**
+ * TCP server I/O modes.
+ */
+public enum GinetServerModeTCP {
+    /**
+     * Blocking sockets: clients are handled by accept thread.
+     */
+    BLOCKING,
+
+    /**
+     * Non-blocking channels: clients are multiplexed with selectors over small pool of event loop threads.
+     */
+    SELECTOR,
+
+    /**
+     * Blocking sockets: every client is handled on its own virtual thread (platform thread before Java 21).
+     */
+    VIRTUAL_THREAD
+}
@@ -4,18 +4,45 @@ import java.net.ServerSocket;
 
 import java.net.Socket;
 
+import java.net.InetSocketAddress;
+
+import java.net.StandardSocketOptions;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.ServerSocketChannel;
+
+import java.nio.channels.SocketChannel;
+
 import java.io.InputStreamReader;
 
+import java.io.BufferedInputStream;
+
 import java.io.BufferedReader;
 
 import java.io.IOException;
 
+import java.nio.file.Path;
+
 import java.util.List;
 
+import java.util.Set;
+
+import java.util.Collections;
+
 import java.util.HashMap;
 
+import java.util.LinkedHashSet;
+
+import java.util.concurrent.ConcurrentHashMap;
+
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import gsdk.glib.ginet.GinetFrameCodec;
+import gsdk.glib.ginet.GinetInterestGrid;
+
+import gsdk.glib.ginet.GinetVirtualThreads;
+
 /**
  * GinetServerTCP -
  *
@@ -38,7 +65,13 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * - Send data to specific clients or broadcast to all clients.<br>
  * - Emit custom events to specific clients or broadcast to all clients.<br>
  * - Handle different events through the GinetServerEventsTCP interface.<br>
- * - Soft handling of critical situations.<br><br>
+ * - Soft handling of critical situations.<br>
+ * - Non-blocking mode (<code>GinetServerModeTCP.SELECTOR</code>): thousands of clients multiplexed over few selector event loop threads.<br>
+ * - Virtual thread mode (<code>GinetServerModeTCP.VIRTUAL_THREAD</code>): blocking handling of every client on its own virtual thread.<br>
+ * - Binary protocol (<code>GinetProtocolTCP.BINARY</code>): length-prefixed frames with event ids negotiated at connect.<br>
+ * - Batched writes (<code>setFlushInterval</code>): messages are queued per client and coalesced into one write at <code>flush</code>, queue is bounded.<br>
+ * - Broadcasts are encoded once and shared by all recipients; interest groups (rooms, channels) limit broadcast to joined clients.<br>
+ * - Metrics (<code>getMetrics</code>): lock-free traffic counters, event handler latency histograms, accept rate and disconnect reasons.<br><br>
  *
  * The Transmission Control Protocol (TCP) is one of the main protocols of the Internet protocol suite.
  * It originated in the initial network implementation in which it complemented the Internet Protocol (IP).
@@ -56,15 +89,51 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * @see <a href="https://en.wikipedia.org/wiki/Transmission_Control_Protocol">Transmission Control Protocol (Wikipedia).</a>
  */
 public class GinetServerTCP {
+    /**
+     * Default event loops count for selector mode.
+     */
+    public static final int DEFAULT_EVENT_LOOPS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Flush interval for batched writes flushed only by <code>flush</code> calls.
+     */
+    public static final int MANUAL_FLUSH = -1;
+
+    /**
+     * Default client outbound queue limit (bytes).
+     */
+    public static final int DEFAULT_OUTBOUND_LIMIT = 4 * 1024 * 1024;
+
     private final ServerSocket socket;
 
+    private final ServerSocketChannel serverChannel;
+
+    private final GinetServerModeTCP mode;
+
+    private final GinetEventLoopTCP[] loops;
+
     private final List<GinetServerClient> clients;
 
+    // Clients set (O(1) lookup) and interest groups.
+    private final Set<GinetServerClient> clientSet = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentHashMap<String, Set<GinetServerClient>> groups = new ConcurrentHashMap<>();
+
     private final HashMap<String, String> visitors;
 
     private final GinetServerEventsTCP events;
 
-    private boolean active;
+    private final GinetMetricsTCP metrics = new GinetMetricsTCP(this);
+
+    private GinetProtocolTCP protocol = GinetProtocolTCP.TEXT;
+
+    private final LinkedHashSet<String> registeredEvents = new LinkedHashSet<>();
+
+    private int flushInterval = 0, outboundLimit = DEFAULT_OUTBOUND_LIMIT;
+
+    private GinetOverflowPolicyTCP overflowPolicy = GinetOverflowPolicyTCP.DROP_NEWEST;
+
+    private volatile boolean active;
 
     /**
      * Initialize Game Immediate mode Networking server (TCP).
@@ -73,7 +142,37 @@ public class GinetServerTCP {
      * @param port Server port.
      */
     public GinetServerTCP(GinetServerEventsTCP events_, int port) throws IOException {
-        socket = new ServerSocket(port);
+        this(events_, port, GinetServerModeTCP.BLOCKING, 0);
+    }
+
+    /**
+     * Initialize Game Immediate mode Networking server (TCP) with I/O mode.
+     *
+     * @param events_ Events handler.
+     * @param port Server port.
+     * @param mode_ I/O mode.
+     * @param eventLoops Event loop threads count (selector mode; DEFAULT_EVENT_LOOPS if <= 0).
+     */
+    public GinetServerTCP(GinetServerEventsTCP events_, int port, GinetServerModeTCP mode_, int eventLoops) throws IOException {
+        mode = mode_;
+
+        if(mode == GinetServerModeTCP.SELECTOR) {
+            serverChannel = ServerSocketChannel.open();
+
+            serverChannel.bind(new InetSocketAddress(port));
+
+            socket = serverChannel.socket();
+
+            loops = new GinetEventLoopTCP[eventLoops > 0 ? eventLoops : DEFAULT_EVENT_LOOPS];
+
+            for(int i = 0; i < loops.length; i++) loops[i] = new GinetEventLoopTCP(this, "GinetEventLoopTCP-" + i);
+        } else {
+            serverChannel = null;
+
+            socket = new ServerSocket(port);
+
+            loops = null;
+        }
 
         clients = new CopyOnWriteArrayList<>();
 
@@ -91,11 +190,33 @@ public class GinetServerTCP {
         active = true;
 
         serve();
+
+        if(flushInterval > 0) {
+            Thread flusher = new Thread(() -> {
+                while(active) {
+                    try {
+                        Thread.sleep(flushInterval);
+                    } catch(InterruptedException interruptedExc) {
+                        return;
+                    }
+
+                    flush();
+                }
+            }, "GinetServerFlusherTCP");
+
+            flusher.setDaemon(true);
+
+            flusher.start();
+        }
     }
 
     private void serve() {
         events.start(this);
 
+        if(mode == GinetServerModeTCP.SELECTOR) {
+            serveSelector(); return;
+        }
+
         new Thread(() -> {
             while(active) {
                 try {
@@ -103,11 +224,21 @@ public class GinetServerTCP {
 
                     GinetServerClient vinetClient = new GinetServerClient(client, getVisitorIdentifier(socket.getInetAddress().getHostAddress()));
 
-                    clients.add(vinetClient);
+                    accepted(vinetClient);
+
+                    vinetClient.setOutbound(flushInterval != 0, outboundLimit, overflowPolicy);
+
+                    if(protocol == GinetProtocolTCP.BINARY) vinetClient.useBinary(new GinetFrameCodec(registeredEvents));
+
+                    addClient(vinetClient);
 
                     events.connection(vinetClient, this);
 
-                    handleClient(vinetClient);
+                    if(mode == GinetServerModeTCP.VIRTUAL_THREAD) {
+                        GinetVirtualThreads.start(() -> handleClient(vinetClient), "GinetServerClient-" + vinetClient.getClientIdentifier());
+                    } else {
+                        handleClient(vinetClient);
+                    }
                 } catch(IOException ioExc) {
                     events.exception(ioExc, this);
                 }
@@ -117,35 +248,155 @@ public class GinetServerTCP {
         }).start();
     }
 
-    private void handleClient(GinetServerClient client) {
-        try(BufferedReader in = new BufferedReader(new InputStreamReader(client.getClient().getInputStream()))) {
-            String data;
+    private void serveSelector() {
+        for(GinetEventLoopTCP loop : loops) loop.start();
 
-            try {
-                while(active && !socket.isClosed() && (data = in.readLine()) != null) {
-                    if(data.startsWith("EV-BGN ")) {
-                        String[] parts = data.substring(7, data.indexOf(" EV-END")).split("&&&");
+        new Thread(() -> {
+            int next = 0;
 
-                        events.event(parts[0].replace("EVENT-NAME", "").trim(), parts[1].replace("EVENT-DATA", "").trim(), client, this);
-                    } else {
-                        events.receive(data, client, this);
-                    }
-                }
-            } catch(IOException ioExc) {
-                if(ioExc.getMessage().equals("Connection reset")) {
-                    events.lost(client, this);
-                } else {
-                    if(!ioExc.getMessage().equals("Socket closed") && active) {
-                        events.exception(ioExc, this);
-                    }
+            while(active) {
+                try {
+                    SocketChannel channel = serverChannel.accept();
+
+                    channel.configureBlocking(false);
+
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+                    GinetEventLoopTCP loop = loops[next++ % loops.length];
+
+                    GinetServerClient vinetClient = new GinetServerClient(channel, loop, getVisitorIdentifier(socket.getInetAddress().getHostAddress()));
+
+                    accepted(vinetClient);
+
+                    vinetClient.setOutbound(flushInterval != 0, outboundLimit, overflowPolicy);
+
+                    if(protocol == GinetProtocolTCP.BINARY) vinetClient.useBinary(new GinetFrameCodec(registeredEvents));
+
+                    addClient(vinetClient);
+
+                    events.connection(vinetClient, this);
+
+                    loop.register(vinetClient);
+                } catch(IOException ioExc) {
+                    if(active) events.exception(ioExc, this);
                 }
             }
+
+            for(GinetEventLoopTCP loop : loops) loop.stop();
+
+            events.end(this);
+        }).start();
+    }
+
+    // Process received line (event or data).
+    void process(String data, GinetServerClient client) {
+        client.getMetrics().receivedMessage();
+
+        long start = System.nanoTime();
+
+        if(data.startsWith("EV-BGN ")) {
+            String[] parts = data.substring(7, data.indexOf(" EV-END")).split("&&&");
+
+            String name = parts[0].replace("EVENT-NAME", "").trim();
+
+            events.event(name, parts[1].replace("EVENT-DATA", "").trim(), client, this);
+
+            metrics.handled(name, System.nanoTime() - start);
+        } else {
+            events.receive(data, client, this);
+
+            metrics.handled(GinetMetricsTCP.DATA, System.nanoTime() - start);
+        }
+    }
+
+    // Process decoded frame (event or data) of binary protocol.
+    void processFrame(GinetFrameCodec codec, GinetServerClient client) {
+        client.getMetrics().receivedMessage();
+
+        long start = System.nanoTime();
+
+        String name = codec.getFrameName();
+
+        if(name == null) {
+            events.receive(codec.getPayload(), client, this);
+        } else {
+            events.event(name, codec.getPayload(), client, this);
+        }
+
+        metrics.handled(name != null ? name : GinetMetricsTCP.DATA, System.nanoTime() - start);
+    }
+
+    // Client channel closed by event loop.
+    void closed(GinetServerClient client) {
+        metrics.disconnected(client.getMetrics().getDisconnectReason());
+
+        if(client.getMetrics().getDisconnectReason() == GinetDisconnectReasonTCP.LOST) events.lost(client, this);
+
+        events.disconnection(client, this);
+
+        removeClient(client);
+    }
+
+    private void accepted(GinetServerClient client) {
+        metrics.accepted();
+
+        client.getMetrics().attach(metrics);
+    }
+
+    // Reason of blocking read loop end (first reason set wins: KICKED, OVERFLOW and SHUTDOWN are set before socket is closed).
+    private void readEnded(GinetServerClient client, IOException ioExc) {
+        GinetDisconnectReasonTCP reason;
+
+        if(ioExc == null) {
+            reason = active ? GinetDisconnectReasonTCP.CLOSED : GinetDisconnectReasonTCP.SHUTDOWN;
+        } else if("Connection reset".equals(ioExc.getMessage())) {
+            reason = GinetDisconnectReasonTCP.LOST;
+        } else {
+            reason = active ? GinetDisconnectReasonTCP.ERROR : GinetDisconnectReasonTCP.SHUTDOWN;
+        }
+
+        client.getMetrics().disconnected(reason);
+    }
+
+    private void addClient(GinetServerClient client) {
+        clientSet.add(client);
+
+        clients.add(client);
+    }
+
+    private void removeClient(GinetServerClient client) {
+        clientSet.remove(client);
+
+        clients.remove(client);
+
+        for(String group : client.groups()) leave(group, client);
+    }
+
+    // Exception raised on event loop thread.
+    void loopException(IOException ioExc) {
+        events.exception(ioExc, this);
+    }
+
+    private void handleClient(GinetServerClient client) {
+        try {
+            if(client.isBinary()) {
+                readFrames(client);
+            } else {
+                readLines(client);
+            }
         } catch(IOException ioExc) {
             events.exception(ioExc, this);
         } finally {
+            client.markClosed();
+
+            // Unexpected end (exception from events handler).
+            client.getMetrics().disconnected(GinetDisconnectReasonTCP.ERROR);
+
+            metrics.disconnected(client.getMetrics().getDisconnectReason());
+
             events.disconnection(client, this);
 
-            clients.remove(client);
+            removeClient(client);
 
             try {
                 client.getClient().close();
@@ -155,6 +406,46 @@ public class GinetServerTCP {
         }
     }
 
+    private void readLines(GinetServerClient client) throws IOException {
+        try(BufferedReader in = new BufferedReader(new InputStreamReader(client.input()))) {
+            String data;
+
+            try {
+                while(active && !socket.isClosed() && (data = in.readLine()) != null) process(data, client);
+
+                readEnded(client, null);
+            } catch(IOException ioExc) {
+                readException(client, ioExc);
+            }
+        }
+    }
+
+    private void readFrames(GinetServerClient client) throws IOException {
+        GinetFrameCodec codec = client.getCodec();
+
+        try(BufferedInputStream in = new BufferedInputStream(client.input())) {
+            try {
+                while(active && !socket.isClosed() && codec.read(in)) processFrame(codec, client);
+
+                readEnded(client, null);
+            } catch(IOException ioExc) {
+                readException(client, ioExc);
+            }
+        }
+    }
+
+    private void readException(GinetServerClient client, IOException ioExc) {
+        readEnded(client, ioExc);
+
+        if("Connection reset".equals(ioExc.getMessage())) {
+            events.lost(client, this);
+        } else {
+            if(!"Socket closed".equals(ioExc.getMessage()) && active) {
+                events.exception(ioExc, this);
+            }
+        }
+    }
+
     /**
      * Send data to specific client.
      *
@@ -167,6 +458,18 @@ public class GinetServerTCP {
         client.send(data);
     }
 
+    /**
+     * Send binary data to specific client (binary protocol).
+     *
+     * @param data Data to send (position is not changed).
+     * @param client Client.
+     */
+    public void send(ByteBuffer data, GinetServerClient client) {
+        if(!hasClient(client)) return;
+
+        client.send(data);
+    }
+
     /**
      * Emit client event.
      *
@@ -175,26 +478,219 @@ public class GinetServerTCP {
      * @param client Client.
      */
     public void emit(String eventName, String data, GinetServerClient client) {
-        send("EV-BGN EVENT-NAME%s&&&EVENT-DATA%s EV-END".formatted(eventName, data), client);
+        if(!hasClient(client)) return;
+
+        client.emit(eventName, data);
     }
 
     /**
-     * Broadcast data to all clients.
+     * Emit client event with binary data (binary protocol).
+     *
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     * @param client Client.
+     */
+    public void emit(String eventName, ByteBuffer data, GinetServerClient client) {
+        if(!hasClient(client)) return;
+
+        client.emit(eventName, data);
+    }
+
+    /**
+     * Flush batched writes of all clients (each client gets one coalesced write).
+     */
+    public void flush() {
+        for(GinetServerClient client : clients) client.flush();
+    }
+
+    /**
+     * Broadcast data to all clients (encoded once).
      *
      * @param data Data to broadcast.
      */
     public void broadcast(String data) {
-        for(GinetServerClient client : clients) send(data, client);
+        broadcast(clients, new GinetBroadcastTCP(null, data, null));
     }
 
     /**
-     * Emit event for all clients.
+     * Emit event for all clients (encoded once).
      *
      * @param eventName Event name.
      * @param data Event data.
      */
     public void broadcastEvent(String eventName, String data) {
-        for(GinetServerClient client : clients) emit(eventName, data, client);
+        broadcast(clients, new GinetBroadcastTCP(eventName, data, null));
+    }
+
+    /**
+     * Broadcast binary data to all clients (binary protocol, encoded once).
+     *
+     * @param data Data to broadcast (position is not changed).
+     */
+    public void broadcast(ByteBuffer data) {
+        broadcast(clients, binaryBroadcast(null, data));
+    }
+
+    /**
+     * Emit event with binary data for all clients (binary protocol, encoded once).
+     *
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     */
+    public void broadcastEvent(String eventName, ByteBuffer data) {
+        broadcast(clients, binaryBroadcast(eventName, data));
+    }
+
+    /**
+     * Broadcast data to clients of interest group.
+     *
+     * @param group Group name.
+     * @param data Data to broadcast.
+     */
+    public void broadcastGroup(String group, String data) {
+        broadcast(getGroup(group), new GinetBroadcastTCP(null, data, null));
+    }
+
+    /**
+     * Emit event for clients of interest group.
+     *
+     * @param group Group name.
+     * @param eventName Event name.
+     * @param data Event data.
+     */
+    public void broadcastGroupEvent(String group, String eventName, String data) {
+        broadcast(getGroup(group), new GinetBroadcastTCP(eventName, data, null));
+    }
+
+    /**
+     * Broadcast binary data to clients of interest group (binary protocol).
+     *
+     * @param group Group name.
+     * @param data Data to broadcast (position is not changed).
+     */
+    public void broadcastGroup(String group, ByteBuffer data) {
+        broadcast(getGroup(group), binaryBroadcast(null, data));
+    }
+
+    /**
+     * Emit event with binary data for clients of interest group (binary protocol).
+     *
+     * @param group Group name.
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     */
+    public void broadcastGroupEvent(String group, String eventName, ByteBuffer data) {
+        broadcast(getGroup(group), binaryBroadcast(eventName, data));
+    }
+
+    /**
+     * Broadcast data to clients which see entity (area of interest).
+     *
+     * @param interest Interest grid of clients.
+     * @param entity Entity id.
+     * @param data Data to broadcast.
+     */
+    public void broadcastInterest(GinetInterestGrid<GinetServerClient> interest, int entity, String data) {
+        broadcastInterest(interest.getObservers(entity), new GinetBroadcastTCP(null, data, null));
+    }
+
+    /**
+     * Emit event for clients which see entity (area of interest).
+     *
+     * @param interest Interest grid of clients.
+     * @param entity Entity id.
+     * @param eventName Event name.
+     * @param data Event data.
+     */
+    public void broadcastInterestEvent(GinetInterestGrid<GinetServerClient> interest, int entity, String eventName, String data) {
+        broadcastInterest(interest.getObservers(entity), new GinetBroadcastTCP(eventName, data, null));
+    }
+
+    /**
+     * Broadcast binary data to clients which see entity (area of interest, binary protocol).
+     *
+     * @param interest Interest grid of clients.
+     * @param entity Entity id.
+     * @param data Data to broadcast (position is not changed).
+     */
+    public void broadcastInterest(GinetInterestGrid<GinetServerClient> interest, int entity, ByteBuffer data) {
+        broadcastInterest(interest.getObservers(entity), binaryBroadcast(null, data));
+    }
+
+    /**
+     * Emit event with binary data for clients which see entity (area of interest, binary protocol).
+     *
+     * @param interest Interest grid of clients.
+     * @param entity Entity id.
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     */
+    public void broadcastInterestEvent(GinetInterestGrid<GinetServerClient> interest, int entity, String eventName, ByteBuffer data) {
+        broadcastInterest(interest.getObservers(entity), binaryBroadcast(eventName, data));
+    }
+
+    // Observers may outlive connections until removed from grid.
+    private void broadcastInterest(List<GinetServerClient> recipients, GinetBroadcastTCP message) {
+        for(GinetServerClient client : recipients) {
+            if(hasClient(client)) message.send(client);
+        }
+    }
+
+    private void broadcast(Iterable<GinetServerClient> recipients, GinetBroadcastTCP message) {
+        for(GinetServerClient client : recipients) message.send(client);
+    }
+
+    private GinetBroadcastTCP binaryBroadcast(String eventName, ByteBuffer data) {
+        if(protocol != GinetProtocolTCP.BINARY) throw new IllegalStateException("Binary data requires GinetProtocolTCP.BINARY");
+
+        return new GinetBroadcastTCP(eventName, null, data);
+    }
+
+    /**
+     * Add client to interest group (room, channel). Groups are created on first join and removed when empty.
+     *
+     * @param group Group name.
+     * @param client Client.
+     */
+    public void join(String group, GinetServerClient client) {
+        if(!hasClient(client)) return;
+
+        groups.compute(group, (name, members) -> {
+            if(members == null) members = ConcurrentHashMap.newKeySet();
+
+            members.add(client);
+
+            return members;
+        });
+
+        client.groups().add(group);
+    }
+
+    /**
+     * Remove client from interest group.
+     *
+     * @param group Group name.
+     * @param client Client.
+     */
+    public void leave(String group, GinetServerClient client) {
+        client.groups().remove(group);
+
+        groups.computeIfPresent(group, (name, members) -> {
+            members.remove(client);
+
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    /**
+     * Get clients of interest group (empty if group doesn't exist).
+     *
+     * @param group Group name.
+     */
+    public Set<GinetServerClient> getGroup(String group) {
+        Set<GinetServerClient> members = groups.get(group);
+
+        return members != null ? Collections.unmodifiableSet(members) : Set.of();
     }
 
     /**
@@ -206,7 +702,7 @@ public class GinetServerTCP {
         if(!hasClient(client)) return;
 
         try {
-            client.getClient().close();
+            client.disconnect();
         } catch(IOException ioExc) {
             events.exception(ioExc, this);
         }
@@ -227,7 +723,7 @@ public class GinetServerTCP {
      * @param client Client.
      */
     public boolean hasClient(GinetServerClient client) {
-        return clients.contains(client);
+        return client != null && clientSet.contains(client);
     }
 
     /**
@@ -240,10 +736,17 @@ public class GinetServerTCP {
             socket.close();
 
             for(GinetServerClient client : clients) {
+                if(client.isNonBlocking()) continue;
+
+                client.getMetrics().disconnected(GinetDisconnectReasonTCP.SHUTDOWN);
+
                 client.getClient().close();
 
                 client.getClientOut().close();
             }
+
+            // Event loops close their clients (with disconnection events) when stopped.
+            if(loops != null) for(GinetEventLoopTCP loop : loops) loop.stop();
         } catch(IOException ioExc) {
             events.exception(ioExc, this);
         }
@@ -298,6 +801,102 @@ public class GinetServerTCP {
         return socket;
     }
 
+    /**
+     * Set wire protocol for new connections (clients must use same protocol).
+     *
+     * @param protocol_ Protocol.
+     */
+    public void setProtocol(GinetProtocolTCP protocol_) {
+        protocol = protocol_;
+    }
+
+    /**
+     * Get wire protocol.
+     */
+    public GinetProtocolTCP getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * Pre-register event names (binary protocol): their ids are sent in connection handshake, so events carry only id from first message.
+     *
+     * @param eventNames Event names.
+     */
+    public void registerEvent(String... eventNames) {
+        registeredEvents.addAll(List.of(eventNames));
+    }
+
+    /**
+     * Set flush interval for new connections: 0 writes every message immediately (default), &gt; 0 batches writes and flushes them every interval,
+     * <code>MANUAL_FLUSH</code> batches writes until <code>flush</code> (e.g. once per game tick).
+     *
+     * @param flushInterval_ Flush interval (MS).
+     */
+    public void setFlushInterval(int flushInterval_) {
+        flushInterval = flushInterval_;
+    }
+
+    /**
+     * Get flush interval (MS).
+     */
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Set client outbound queue limit for new connections; messages over limit are handled by overflow policy.
+     *
+     * @param outboundLimit_ Limit (bytes).
+     * @param overflowPolicy_ Overflow policy.
+     */
+    public void setOutboundLimit(int outboundLimit_, GinetOverflowPolicyTCP overflowPolicy_) {
+        outboundLimit = outboundLimit_;
+
+        overflowPolicy = overflowPolicy_;
+    }
+
+    /**
+     * Get client outbound queue limit (bytes).
+     */
+    public int getOutboundLimit() {
+        return outboundLimit;
+    }
+
+    /**
+     * Get overflow policy.
+     */
+    public GinetOverflowPolicyTCP getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Get server metrics (counters, latency histograms, snapshots).
+     */
+    public GinetMetricsTCP getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Append metrics snapshot to file.
+     *
+     * @param file File.
+     * @param connections Also write per connection counters.
+     */
+    public void dumpMetrics(Path file, boolean connections) {
+        try {
+            metrics.dump(file, connections);
+        } catch(IOException ioExc) {
+            events.exception(ioExc, this);
+        }
+    }
+
+    /**
+     * Get server I/O mode.
+     */
+    public GinetServerModeTCP getMode() {
+        return mode;
+    }
+
     /**
      * Get clients list.
      */
@@ -0,0 +1,21 @@
+package gsdk.glib.ginet.udp;
+
+/**
+ * UDP delivery channels.
+ */
+public enum GinetChannelUDP {
+    /**
+     * Fire and forget: packets may be lost, duplicated or reordered (e.g. effects, voice).
+     */
+    UNRELIABLE,
+
+    /**
+     * Packets may be lost, but older packets are dropped after newer one arrived (e.g. positions, state snapshots).
+     */
+    UNRELIABLE_SEQUENCED,
+
+    /**
+     * Packets are acknowledged, resent until acknowledged and delivered in order (e.g. chat, game events).
+     */
+    RELIABLE_ORDERED
+}
@@ -0,0 +1,90 @@
+package gsdk.glib.ginet.udp;
+
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Networking client events (UDP).
+ */
+public interface GinetClientEventsUDP {
+    /**
+     * Triggered when client connected to the server.
+     *
+     * @param server Server.
+     * @param client Client reference.
+     */
+    void connection(GinetConnectionUDP server, GinetClientUDP client);
+
+    /**
+     * Triggered when client disconnected from the server.
+     *
+     * @param server Server.
+     * @param client Client reference.
+     */
+    void disconnection(GinetConnectionUDP server, GinetClientUDP client);
+
+    /**
+     * Triggered when server send data.
+     *
+     * @param data Received data.
+     * @param server Server.
+     * @param client Client reference.
+     */
+    void receive(String data, GinetConnectionUDP server, GinetClientUDP client);
+
+    /**
+     * Triggered when event is toggled by server.
+     *
+     * @param name Event name.
+     * @param data Event data.
+     * @param server Server.
+     * @param client Client reference.
+     */
+    void event(String name, String data, GinetConnectionUDP server, GinetClientUDP client);
+
+    /**
+     * Triggered when server send data. Calls <code>receive(String, ...)</code> with UTF-8 data by default.
+     *
+     * @param data Received data (view of receive buffer, valid only inside callback).
+     * @param server Server.
+     * @param client Client reference.
+     */
+    default void receive(ByteBuffer data, GinetConnectionUDP server, GinetClientUDP client) {
+        receive(StandardCharsets.UTF_8.decode(data).toString(), server, client);
+    }
+
+    /**
+     * Triggered when event is toggled by server. Calls <code>event(String, String, ...)</code> with UTF-8 data by default.
+     *
+     * @param name Event name.
+     * @param data Event data (view of receive buffer, valid only inside callback).
+     * @param server Server.
+     * @param client Client reference.
+     */
+    default void event(String name, ByteBuffer data, GinetConnectionUDP server, GinetClientUDP client) {
+        event(name, StandardCharsets.UTF_8.decode(data).toString(), server, client);
+    }
+
+    /**
+     * Triggered when exception raised on client side.
+     *
+     * @param exception Raised exception.
+     * @param client Client reference.
+     */
+    void exception(Exception exception, GinetClientUDP client);
+
+    /**
+     * Triggered when server timed out.
+     *
+     * @param client Client reference.
+     */
+    void lost(GinetClientUDP client);
+
+    /**
+     * Triggered when client failed to connect in time.
+     *
+     * @param client Client reference.
+     */
+    void timeout(GinetClientUDP client);
+}
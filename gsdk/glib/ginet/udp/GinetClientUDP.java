@@ -0,0 +1,302 @@
+package gsdk.glib.ginet.udp;
+
+import java.io.IOException;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.DatagramChannel;
+
+/**
+ * GinetClientUDP -
+ *
+ * Event-driven UDP client for Game Immediate mode Networking (Ginet) with same callbacks as GinetClientTCP.
+ * Client repeats CONNECT packet until server accepts it or connection time passes (<code>timeout</code> event);
+ * connection is lost after <code>GinetConnectionUDP.TIMEOUT</code> without packets from server.
+ * Data is sent on delivery channels (<code>GinetChannelUDP</code>): unreliable, unreliable sequenced and reliable ordered.
+ */
+public class GinetClientUDP {
+    /**
+     * CONNECT packet repeat interval (MS).
+     */
+    public static final int CONNECT_INTERVAL = 250;
+
+    private static final int IDLE = 0, CONNECTING = 1, CONNECTED = 2;
+
+    private final String host;
+
+    private final int port;
+
+    private final int timeout;
+
+    private final InetSocketAddress inetAddress;
+
+    private final GinetClientEventsUDP events;
+
+    private GinetSocketUDP socket;
+
+    private GinetConnectionUDP server;
+
+    private GinetLinkSimulatorUDP simulator = null;
+
+    private volatile int state = IDLE;
+
+    private long connectStart, lastConnect;
+
+    /**
+     * Initialize Game Immediate mode Networking client (UDP).
+     *
+     * @param events_ Events handler.
+     * @param host_ Server host.
+     * @param port_ Server port.
+     * @param connectionTime Time client has to connect to the server (MS).
+     */
+    public GinetClientUDP(GinetClientEventsUDP events_, String host_, int port_, int connectionTime) {
+        host = host_;
+        port = port_;
+
+        timeout = connectionTime;
+
+        inetAddress = new InetSocketAddress(host, port);
+
+        events = events_;
+    }
+
+    /**
+     * Try to connect to a server (result is reported by <code>connection</code> or <code>timeout</code> event).
+     */
+    public void connect() {
+        if(state != IDLE) return;
+
+        try {
+            DatagramChannel channel = DatagramChannel.open();
+
+            // Connected channel receives packets only from server.
+            channel.connect(inetAddress);
+
+            socket = new GinetSocketUDP(channel, new GinetSocketUDP.Handler() {
+                @Override
+                public void packet(SocketAddress from, byte type, ByteBuffer packet) {
+                    handle(type, packet);
+                }
+
+                @Override
+                public void tick(long now) {
+                    maintain(now);
+                }
+
+                @Override
+                public void exception(IOException ioExc) {
+                    events.exception(ioExc, GinetClientUDP.this);
+                }
+            }, "GinetClientUDP-" + host + ":" + port);
+
+            socket.setSimulator(simulator);
+
+            server = new GinetConnectionUDP(socket, inetAddress);
+
+            connectStart = lastConnect = GinetSocketUDP.now();
+
+            state = CONNECTING;
+
+            socket.sendControl(inetAddress, GinetSocketUDP.CONNECT);
+
+            socket.start();
+        } catch(IOException ioExc) {
+            events.exception(ioExc, this);
+        }
+    }
+
+    private void handle(byte type, ByteBuffer packet) {
+        if(state == IDLE) return;
+
+        // Any packet from server accepts connection (ACCEPT may be lost or overtaken by data).
+        if(state == CONNECTING) {
+            if(type == GinetSocketUDP.DISCONNECT) return;
+
+            state = CONNECTED;
+
+            server.touch();
+
+            events.connection(server, this);
+        }
+
+        switch(type) {
+            case GinetSocketUDP.DATA -> server.receive(packet, (name, data) -> {
+                if(name == null) {
+                    events.receive(data, server, this);
+                } else {
+                    events.event(name, data, server, this);
+                }
+            });
+
+            case GinetSocketUDP.ACK -> server.acknowledged(packet);
+
+            case GinetSocketUDP.DISCONNECT -> close(false);
+
+            default -> server.touch();
+        }
+    }
+
+    private void maintain(long now) {
+        if(state == CONNECTING) {
+            if(now - connectStart > timeout) {
+                state = IDLE;
+
+                socket.stop();
+
+                events.timeout(this);
+            } else if(now - lastConnect >= CONNECT_INTERVAL) {
+                lastConnect = now;
+
+                socket.sendControl(inetAddress, GinetSocketUDP.CONNECT);
+            }
+        } else if(state == CONNECTED && !server.tick(now)) {
+            close(true);
+        }
+    }
+
+    private synchronized void close(boolean lost) {
+        if(state != CONNECTED) return;
+
+        state = IDLE;
+
+        socket.stop();
+
+        if(lost) events.lost(this);
+
+        events.disconnection(server, this);
+    }
+
+    /**
+     * Send data to server (reliable ordered channel).
+     *
+     * @param data Data.
+     */
+    public void send(String data) {
+        if(isConnected()) server.send(data);
+    }
+
+    /**
+     * Send data to server.
+     *
+     * @param data Data.
+     * @param channel Delivery channel.
+     */
+    public void send(String data, GinetChannelUDP channel) {
+        if(isConnected()) server.send(data, channel);
+    }
+
+    /**
+     * Send binary data to server.
+     *
+     * @param data Data (position is not changed).
+     * @param channel Delivery channel.
+     */
+    public void send(ByteBuffer data, GinetChannelUDP channel) {
+        if(isConnected()) server.send(data, channel);
+    }
+
+    /**
+     * Emit server event (reliable ordered channel).
+     *
+     * @param eventName Event name.
+     * @param data Event data.
+     */
+    public void emit(String eventName, String data) {
+        if(isConnected()) server.emit(eventName, data);
+    }
+
+    /**
+     * Emit server event.
+     *
+     * @param eventName Event name.
+     * @param data Event data.
+     * @param channel Delivery channel.
+     */
+    public void emit(String eventName, String data, GinetChannelUDP channel) {
+        if(isConnected()) server.emit(eventName, data, channel);
+    }
+
+    /**
+     * Emit server event with binary data.
+     *
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     * @param channel Delivery channel.
+     */
+    public void emit(String eventName, ByteBuffer data, GinetChannelUDP channel) {
+        if(isConnected()) server.emit(eventName, data, channel);
+    }
+
+    /**
+     * Disconnect from the server (server is notified).
+     */
+    public void disconnect() {
+        if(state == CONNECTED) socket.sendControl(inetAddress, GinetSocketUDP.DISCONNECT);
+
+        close(false);
+    }
+
+    /**
+     * Set network conditions simulator for outgoing packets (null to disable).
+     *
+     * @param simulator_ Link simulator.
+     */
+    public void setSimulator(GinetLinkSimulatorUDP simulator_) {
+        simulator = simulator_;
+
+        if(socket != null) socket.setSimulator(simulator);
+    }
+
+    /**
+     * Get network conditions simulator.
+     */
+    public GinetLinkSimulatorUDP getSimulator() {
+        return simulator;
+    }
+
+    /**
+     * Is connected to the server.
+     */
+    public boolean isConnected() {
+        return state == CONNECTED;
+    }
+
+    /**
+     * Get server connection (null before connect).
+     */
+    public GinetConnectionUDP getServer() {
+        return server;
+    }
+
+    /**
+     * Get connection host.
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Get connection port.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Get time client has to connect.
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Get inet socket address.
+     */
+    public InetSocketAddress getSocketAddress() {
+        return inetAddress;
+    }
+}
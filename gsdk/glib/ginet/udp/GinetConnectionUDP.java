@@ -0,0 +1,397 @@
+package gsdk.glib.ginet.udp;
+
+import java.net.SocketAddress;
+
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.HashMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import gsdk.glib.ginet.GinetFrameCodec;
+
+import static java.util.UUID.randomUUID;
+
+/**
+ * UDP connection with remote peer (client on server side, server on client side).
+ * Every data packet is sent on delivery channel: unreliable packets are sent once, sequenced packets carry sequence number (older ones are dropped by receiver),
+ * reliable packets are acknowledged by receiver, resent after retransmission timeout (smoothed round-trip time based) and delivered in order.
+ *
+ * <pre>
+ * Data packet (big-endian):
+ *     int     protocol id
+ *     byte    DATA
+ *     byte    channel
+ *     int     sequence (sequenced and reliable channels)
+ *     varint  event name length + 1 (0 for plain data), UTF-8 name
+ *     byte[]  payload
+ * </pre>
+ */
+public class GinetConnectionUDP {
+    /**
+     * Maximal payload size (bytes, with event name): packets must fit into typical MTU without fragmentation.
+     */
+    public static final int MAX_PAYLOAD_SIZE = 1200;
+
+    /**
+     * Connection timeout (MS without received packets).
+     */
+    public static final int TIMEOUT = 5000;
+
+    /**
+     * Keep-alive interval (MS without sent packets).
+     */
+    public static final int KEEPALIVE_INTERVAL = 1000;
+
+    /**
+     * Reliable channel window: packets further ahead of next expected are not acknowledged (resent later).
+     */
+    public static final int RELIABLE_WINDOW = 1024;
+
+    private static final int MIN_RESEND_TIMEOUT = 30, MAX_RESEND_TIMEOUT = 1000, INITIAL_RESEND_TIMEOUT = 200;
+
+    // Delivery of received data to server/client events.
+    interface Delivery {
+        void deliver(String name, ByteBuffer payload);
+    }
+
+    private final GinetSocketUDP socket;
+
+    private final SocketAddress address;
+
+    private final String identifier;
+
+    // Outgoing sequences (per channel) and unacknowledged reliable packets.
+    private final int[] sequences = new int[GinetChannelUDP.values().length];
+
+    private final ConcurrentHashMap<Integer, Pending> pending = new ConcurrentHashMap<>();
+
+    // Incoming state (socket thread only): last sequenced packet, next reliable packet and reliable packets received ahead of it.
+    private int lastSequenced = -1, nextReliable = 0;
+
+    private final HashMap<Integer, Received> reordered = new HashMap<>();
+
+    private volatile long lastReceived, lastSent;
+
+    // Smoothed round-trip time (-1 until first sample).
+    private volatile long roundTripTime = -1;
+
+    private final AtomicLong resentPackets = new AtomicLong();
+
+    GinetConnectionUDP(GinetSocketUDP socket_, SocketAddress address_) {
+        socket = socket_;
+
+        address = address_;
+
+        identifier = randomUUID().toString();
+
+        lastReceived = lastSent = GinetSocketUDP.now();
+    }
+
+    /**
+     * Send data (reliable ordered channel).
+     *
+     * @param data Data.
+     */
+    public void send(String data) {
+        send(data, GinetChannelUDP.RELIABLE_ORDERED);
+    }
+
+    /**
+     * Send data.
+     *
+     * @param data Data.
+     * @param channel Delivery channel.
+     */
+    public void send(String data, GinetChannelUDP channel) {
+        sendPacket(null, ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)), channel);
+    }
+
+    /**
+     * Send binary data.
+     *
+     * @param data Data (position is not changed).
+     * @param channel Delivery channel.
+     */
+    public void send(ByteBuffer data, GinetChannelUDP channel) {
+        sendPacket(null, data, channel);
+    }
+
+    /**
+     * Emit event (reliable ordered channel).
+     *
+     * @param eventName Event name.
+     * @param data Event data.
+     */
+    public void emit(String eventName, String data) {
+        emit(eventName, data, GinetChannelUDP.RELIABLE_ORDERED);
+    }
+
+    /**
+     * Emit event.
+     *
+     * @param eventName Event name.
+     * @param data Event data.
+     * @param channel Delivery channel.
+     */
+    public void emit(String eventName, String data, GinetChannelUDP channel) {
+        sendPacket(eventName, ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)), channel);
+    }
+
+    /**
+     * Emit event with binary data.
+     *
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     * @param channel Delivery channel.
+     */
+    public void emit(String eventName, ByteBuffer data, GinetChannelUDP channel) {
+        sendPacket(eventName, data, channel);
+    }
+
+    private void sendPacket(String name, ByteBuffer payload, GinetChannelUDP channel) {
+        byte[] nameBytes = name != null ? name.getBytes(StandardCharsets.UTF_8) : null;
+
+        int nameSize = nameBytes != null ? nameBytes.length : 0;
+
+        if(nameSize + payload.remaining() > MAX_PAYLOAD_SIZE) throw new IllegalArgumentException("UDP payload is too big: " + (nameSize + payload.remaining()) + " > " + MAX_PAYLOAD_SIZE);
+
+        ByteBuffer packet = ByteBuffer.allocate(GinetSocketUDP.HEADER_SIZE + 1 + 4 + 5 + nameSize + payload.remaining());
+
+        packet.putInt(GinetSocketUDP.PROTOCOL_ID).put(GinetSocketUDP.DATA).put((byte) channel.ordinal());
+
+        int sequence = 0;
+
+        if(channel != GinetChannelUDP.UNRELIABLE) {
+            synchronized(sequences) {
+                sequence = sequences[channel.ordinal()]++;
+            }
+
+            packet.putInt(sequence);
+        }
+
+        GinetFrameCodec.writeVarint(packet, nameBytes != null ? nameSize + 1 : 0);
+
+        if(nameBytes != null) packet.put(nameBytes);
+
+        packet.put(payload.duplicate()).flip();
+
+        long now = GinetSocketUDP.now();
+
+        if(channel == GinetChannelUDP.RELIABLE_ORDERED) pending.put(sequence, new Pending(packet, now));
+
+        lastSent = now;
+
+        socket.send(address, packet);
+    }
+
+    // Handle data packet (socket thread, position after packet type).
+    void receive(ByteBuffer packet, Delivery delivery) {
+        lastReceived = GinetSocketUDP.now();
+
+        int channelIndex = packet.get();
+
+        if(channelIndex < 0 || channelIndex >= sequences.length) return;
+
+        GinetChannelUDP channel = GinetChannelUDP.values()[channelIndex];
+
+        int sequence = channel != GinetChannelUDP.UNRELIABLE ? packet.getInt() : 0;
+
+        int nameSize = GinetFrameCodec.readVarint(packet);
+
+        // Damaged or hostile name length: packet is dropped before allocation.
+        if(nameSize < 0 || nameSize - 1 > packet.remaining()) return;
+
+        String name = null;
+
+        if(nameSize > 0) {
+            byte[] nameBytes = new byte[nameSize - 1];
+
+            packet.get(nameBytes);
+
+            name = new String(nameBytes, StandardCharsets.UTF_8);
+        }
+
+        switch(channel) {
+            case UNRELIABLE -> delivery.deliver(name, packet);
+
+            case UNRELIABLE_SEQUENCED -> {
+                if(lastSequenced < 0 || sequence - lastSequenced > 0) {
+                    lastSequenced = sequence;
+
+                    delivery.deliver(name, packet);
+                }
+            }
+
+            case RELIABLE_ORDERED -> {
+                int ahead = sequence - nextReliable;
+
+                if(ahead >= RELIABLE_WINDOW) return;
+
+                // Duplicates are acknowledged again: previous acknowledgement may have been lost.
+                sendAck(sequence);
+
+                if(ahead < 0) return;
+
+                if(ahead > 0) {
+                    byte[] payload = new byte[packet.remaining()];
+
+                    packet.get(payload);
+
+                    reordered.putIfAbsent(sequence, new Received(name, payload));
+
+                    return;
+                }
+
+                delivery.deliver(name, packet);
+
+                nextReliable++;
+
+                Received received;
+
+                while((received = reordered.remove(nextReliable)) != null) {
+                    delivery.deliver(received.name, ByteBuffer.wrap(received.payload));
+
+                    nextReliable++;
+                }
+            }
+        }
+    }
+
+    // Handle acknowledgement (socket thread, position after packet type).
+    void acknowledged(ByteBuffer packet) {
+        lastReceived = GinetSocketUDP.now();
+
+        Pending acked = pending.remove(packet.getInt());
+
+        // Round-trip time is sampled only from packets sent once (Karn's algorithm).
+        if(acked != null && acked.sends == 1) {
+            long sample = lastReceived - acked.firstSent;
+
+            roundTripTime = roundTripTime < 0 ? sample : (roundTripTime * 7 + sample) / 8;
+        }
+    }
+
+    // Any packet received from peer.
+    void touch() {
+        lastReceived = GinetSocketUDP.now();
+    }
+
+    // Resend unacknowledged packets and keep connection alive (socket thread). Returns false if peer timed out.
+    boolean tick(long now) {
+        if(now - lastReceived > TIMEOUT) return false;
+
+        long resendTimeout = getResendTimeout();
+
+        for(Pending packet : pending.values()) {
+            if(now - packet.lastSent >= resendTimeout) {
+                packet.lastSent = now;
+
+                packet.sends++;
+
+                resentPackets.incrementAndGet();
+
+                lastSent = now;
+
+                socket.send(address, packet.packet);
+            }
+        }
+
+        if(now - lastSent >= KEEPALIVE_INTERVAL) {
+            lastSent = now;
+
+            socket.sendControl(address, GinetSocketUDP.PING);
+        }
+
+        return true;
+    }
+
+    private void sendAck(int sequence) {
+        socket.send(address, ByteBuffer.allocate(GinetSocketUDP.HEADER_SIZE + 4).putInt(GinetSocketUDP.PROTOCOL_ID).put(GinetSocketUDP.ACK).putInt(sequence).flip());
+    }
+
+    /**
+     * Get peer address.
+     */
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Get connection identifier.
+     */
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Get smoothed round-trip time (MS, 0 if not measured yet).
+     */
+    public long getRoundTripTime() {
+        return Math.max(0, roundTripTime);
+    }
+
+    /**
+     * Get reliable packets retransmission timeout (MS).
+     */
+    public long getResendTimeout() {
+        long rtt = roundTripTime;
+
+        return rtt < 0 ? INITIAL_RESEND_TIMEOUT : Math.max(MIN_RESEND_TIMEOUT, Math.min(MAX_RESEND_TIMEOUT, rtt * 2));
+    }
+
+    /**
+     * Get unacknowledged reliable packets count.
+     */
+    public int getPendingPackets() {
+        return pending.size();
+    }
+
+    /**
+     * Get resent reliable packets count.
+     */
+    public long getResentPackets() {
+        return resentPackets.get();
+    }
+
+    /**
+     * Get time of last received packet (monotonic MS).
+     */
+    public long getLastReceived() {
+        return lastReceived;
+    }
+
+    // Unacknowledged reliable packet.
+    private static class Pending {
+        final ByteBuffer packet;
+
+        final long firstSent;
+
+        volatile long lastSent;
+
+        volatile int sends = 1;
+
+        Pending(ByteBuffer packet_, long sent) {
+            packet = packet_;
+
+            firstSent = lastSent = sent;
+        }
+    }
+
+    // Reliable packet received ahead of order.
+    private static class Received {
+        final String name;
+
+        final byte[] payload;
+
+        Received(String name_, byte[] payload_) {
+            name = name_;
+
+            payload = payload_;
+        }
+    }
+}
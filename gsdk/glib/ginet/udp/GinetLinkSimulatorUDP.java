@@ -0,0 +1,115 @@
+package gsdk.glib.ginet.udp;
+
+import java.util.Random;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network conditions simulator for UDP server/client (testing): drops outgoing packets with given probability
+ * and delays the rest by latency plus random jitter (jitter reorders packets).
+ */
+public class GinetLinkSimulatorUDP {
+    private final double loss;
+
+    private final int latency, jitter;
+
+    private final Random random;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong sentPackets = new AtomicLong(), droppedPackets = new AtomicLong();
+
+    /**
+     * Initialize link simulator.
+     *
+     * @param loss_ Packet loss probability [0; 1].
+     * @param latency_ One-way latency (MS).
+     * @param jitter_ Maximal random latency addition (MS).
+     * @param seed Random seed.
+     */
+    public GinetLinkSimulatorUDP(double loss_, int latency_, int jitter_, long seed) {
+        if(loss_ < 0 || loss_ > 1 || latency_ < 0 || jitter_ < 0) throw new IllegalArgumentException("loss not in [0; 1] || latency < 0 || jitter < 0");
+
+        loss = loss_;
+
+        latency = latency_;
+        jitter = jitter_;
+
+        random = new Random(seed);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "GinetLinkSimulatorUDP");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    // Drop packet or schedule its sending.
+    void transmit(Runnable send) {
+        long delay;
+
+        synchronized(random) {
+            if(random.nextDouble() < loss) {
+                droppedPackets.incrementAndGet(); return;
+            }
+
+            delay = latency + (jitter > 0 ? random.nextInt(jitter + 1) : 0);
+        }
+
+        sentPackets.incrementAndGet();
+
+        if(delay == 0) {
+            send.run();
+        } else {
+            scheduler.schedule(send, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop delivering delayed packets.
+     */
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Get packets passed through simulator.
+     */
+    public long getSentPackets() {
+        return sentPackets.get();
+    }
+
+    /**
+     * Get packets dropped by simulator.
+     */
+    public long getDroppedPackets() {
+        return droppedPackets.get();
+    }
+
+    /**
+     * Get packet loss probability.
+     */
+    public double getLoss() {
+        return loss;
+    }
+
+    /**
+     * Get one-way latency (MS).
+     */
+    public int getLatency() {
+        return latency;
+    }
+
+    /**
+     * Get jitter (MS).
+     */
+    public int getJitter() {
+        return jitter;
+    }
+}
@@ -0,0 +1,98 @@
+package gsdk.glib.ginet.udp;
+
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Networking server events (UDP).
+ */
+public interface GinetServerEventsUDP {
+    /**
+     * Triggered when server is booted.
+     *
+     * @param server Server reference.
+     */
+    void start(GinetServerUDP server);
+
+    /**
+     * Triggered when server is stopped.
+     *
+     * @param server Server reference.
+     */
+    void end(GinetServerUDP server);
+
+    /**
+     * Triggered when new client connected.
+     *
+     * @param client Client.
+     * @param server Server reference.
+     */
+    void connection(GinetConnectionUDP client, GinetServerUDP server);
+
+    /**
+     * Triggered when client disconnected.
+     *
+     * @param client Client.
+     * @param server Server reference.
+     */
+    void disconnection(GinetConnectionUDP client, GinetServerUDP server);
+
+    /**
+     * Triggered when client send data.
+     *
+     * @param data Received data.
+     * @param client Client that sent data.
+     * @param server Server reference.
+     */
+    void receive(String data, GinetConnectionUDP client, GinetServerUDP server);
+
+    /**
+     * Triggered when event is toggled by client.
+     *
+     * @param name Event name.
+     * @param data Event data.
+     * @param client Client that toggled event.
+     * @param server Server reference.
+     */
+    void event(String name, String data, GinetConnectionUDP client, GinetServerUDP server);
+
+    /**
+     * Triggered when client send data. Calls <code>receive(String, ...)</code> with UTF-8 data by default.
+     *
+     * @param data Received data (view of receive buffer, valid only inside callback).
+     * @param client Client that sent data.
+     * @param server Server reference.
+     */
+    default void receive(ByteBuffer data, GinetConnectionUDP client, GinetServerUDP server) {
+        receive(StandardCharsets.UTF_8.decode(data).toString(), client, server);
+    }
+
+    /**
+     * Triggered when event is toggled by client. Calls <code>event(String, String, ...)</code> with UTF-8 data by default.
+     *
+     * @param name Event name.
+     * @param data Event data (view of receive buffer, valid only inside callback).
+     * @param client Client that toggled event.
+     * @param server Server reference.
+     */
+    default void event(String name, ByteBuffer data, GinetConnectionUDP client, GinetServerUDP server) {
+        event(name, StandardCharsets.UTF_8.decode(data).toString(), client, server);
+    }
+
+    /**
+     * Triggered when exception raised on server side.
+     *
+     * @param exception Raised exception.
+     * @param server Server reference.
+     */
+    void exception(Exception exception, GinetServerUDP server);
+
+    /**
+     * Triggered when client timed out without disconnecting.
+     *
+     * @param client Client that left.
+     * @param server Server reference.
+     */
+    void lost(GinetConnectionUDP client, GinetServerUDP server);
+}
@@ -0,0 +1,331 @@
+package gsdk.glib.ginet.udp;
+
+import java.io.IOException;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.DatagramChannel;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import gsdk.glib.ginet.GinetInterestGrid;
+
+/**
+ * GinetServerUDP -
+ *
+ * Event-driven UDP server for Game Immediate mode Networking (Ginet) with same callbacks as GinetServerTCP.
+ * Clients connect with handshake (CONNECT/ACCEPT packets) and are identified by address; connection is lost after <code>GinetConnectionUDP.TIMEOUT</code> without packets.
+ * Data is sent on delivery channels (<code>GinetChannelUDP</code>): unreliable, unreliable sequenced and reliable ordered, so lost position updates
+ * never delay newer ones (no head-of-line blocking) while important events are still delivered in order.<br>
+ *
+ * Single thread receives packets, runs callbacks and maintains connections (resends, keep-alive, timeouts); sending is allowed from any thread.
+ * Packets (with event name) should fit into <code>GinetConnectionUDP.MAX_PAYLOAD_SIZE</code>: there is no fragmentation.
+ */
+public class GinetServerUDP {
+    private final GinetServerEventsUDP events;
+
+    private final GinetSocketUDP socket;
+
+    private final ConcurrentHashMap<SocketAddress, GinetConnectionUDP> clients = new ConcurrentHashMap<>();
+
+    private volatile boolean active = false;
+
+    /**
+     * Initialize Game Immediate mode Networking server (UDP).
+     *
+     * @param events_ Events handler.
+     * @param port Server port.
+     */
+    public GinetServerUDP(GinetServerEventsUDP events_, int port) throws IOException {
+        events = events_;
+
+        DatagramChannel channel = DatagramChannel.open();
+
+        channel.bind(new InetSocketAddress(port));
+
+        socket = new GinetSocketUDP(channel, new GinetSocketUDP.Handler() {
+            @Override
+            public void packet(SocketAddress from, byte type, ByteBuffer packet) {
+                handle(from, type, packet);
+            }
+
+            @Override
+            public void tick(long now) {
+                maintain(now);
+            }
+
+            @Override
+            public void exception(IOException ioExc) {
+                events.exception(ioExc, GinetServerUDP.this);
+            }
+        }, "GinetServerUDP-" + port);
+    }
+
+    /**
+     * Start server.
+     */
+    public void start() {
+        active = true;
+
+        events.start(this);
+
+        socket.start();
+    }
+
+    /**
+     * Stop server (clients are notified and disconnected).
+     */
+    public void stop() {
+        active = false;
+
+        for(GinetConnectionUDP client : clients.values()) disconnect(client);
+
+        socket.stop();
+
+        events.end(this);
+    }
+
+    private void handle(SocketAddress from, byte type, ByteBuffer packet) {
+        GinetConnectionUDP client = clients.get(from);
+
+        if(type == GinetSocketUDP.CONNECT) {
+            if(!active) return;
+
+            if(client == null) {
+                client = new GinetConnectionUDP(socket, from);
+
+                clients.put(from, client);
+
+                events.connection(client, this);
+            }
+
+            // Accept is repeated for every CONNECT: previous one may have been lost.
+            client.touch();
+
+            socket.sendControl(from, GinetSocketUDP.ACCEPT);
+
+            return;
+        }
+
+        if(client == null) return;
+
+        GinetConnectionUDP sender = client;
+
+        switch(type) {
+            case GinetSocketUDP.DATA -> client.receive(packet, (name, data) -> {
+                if(name == null) {
+                    events.receive(data, sender, this);
+                } else {
+                    events.event(name, data, sender, this);
+                }
+            });
+
+            case GinetSocketUDP.ACK -> client.acknowledged(packet);
+
+            case GinetSocketUDP.DISCONNECT -> remove(client, false);
+
+            default -> client.touch();
+        }
+    }
+
+    private void maintain(long now) {
+        for(GinetConnectionUDP client : clients.values()) {
+            if(!client.tick(now)) remove(client, true);
+        }
+    }
+
+    private void remove(GinetConnectionUDP client, boolean lost) {
+        if(!clients.remove(client.getAddress(), client)) return;
+
+        if(lost) events.lost(client, this);
+
+        events.disconnection(client, this);
+    }
+
+    /**
+     * Send data to specific client.
+     *
+     * @param data Data to send.
+     * @param channel Delivery channel.
+     * @param client Client.
+     */
+    public void send(String data, GinetChannelUDP channel, GinetConnectionUDP client) {
+        if(hasClient(client)) client.send(data, channel);
+    }
+
+    /**
+     * Send binary data to specific client.
+     *
+     * @param data Data to send (position is not changed).
+     * @param channel Delivery channel.
+     * @param client Client.
+     */
+    public void send(ByteBuffer data, GinetChannelUDP channel, GinetConnectionUDP client) {
+        if(hasClient(client)) client.send(data, channel);
+    }
+
+    /**
+     * Emit client event.
+     *
+     * @param eventName Event name.
+     * @param data Event data.
+     * @param channel Delivery channel.
+     * @param client Client.
+     */
+    public void emit(String eventName, String data, GinetChannelUDP channel, GinetConnectionUDP client) {
+        if(hasClient(client)) client.emit(eventName, data, channel);
+    }
+
+    /**
+     * Emit client event with binary data.
+     *
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     * @param channel Delivery channel.
+     * @param client Client.
+     */
+    public void emit(String eventName, ByteBuffer data, GinetChannelUDP channel, GinetConnectionUDP client) {
+        if(hasClient(client)) client.emit(eventName, data, channel);
+    }
+
+    /**
+     * Broadcast data to all clients.
+     *
+     * @param data Data to broadcast.
+     * @param channel Delivery channel.
+     */
+    public void broadcast(String data, GinetChannelUDP channel) {
+        for(GinetConnectionUDP client : clients.values()) client.send(data, channel);
+    }
+
+    /**
+     * Emit event for all clients.
+     *
+     * @param eventName Event name.
+     * @param data Event data.
+     * @param channel Delivery channel.
+     */
+    public void broadcastEvent(String eventName, String data, GinetChannelUDP channel) {
+        for(GinetConnectionUDP client : clients.values()) client.emit(eventName, data, channel);
+    }
+
+    /**
+     * Emit event with binary data for all clients.
+     *
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     * @param channel Delivery channel.
+     */
+    public void broadcastEvent(String eventName, ByteBuffer data, GinetChannelUDP channel) {
+        for(GinetConnectionUDP client : clients.values()) client.emit(eventName, data, channel);
+    }
+
+    /**
+     * Broadcast data to clients which see entity (area of interest).
+     *
+     * @param interest Interest grid of clients.
+     * @param entity Entity id.
+     * @param data Data to broadcast.
+     * @param channel Delivery channel.
+     */
+    public void broadcastInterest(GinetInterestGrid<GinetConnectionUDP> interest, int entity, String data, GinetChannelUDP channel) {
+        for(GinetConnectionUDP client : interest.getObservers(entity)) {
+            if(hasClient(client)) client.send(data, channel);
+        }
+    }
+
+    /**
+     * Emit event for clients which see entity (area of interest).
+     *
+     * @param interest Interest grid of clients.
+     * @param entity Entity id.
+     * @param eventName Event name.
+     * @param data Event data.
+     * @param channel Delivery channel.
+     */
+    public void broadcastInterestEvent(GinetInterestGrid<GinetConnectionUDP> interest, int entity, String eventName, String data, GinetChannelUDP channel) {
+        for(GinetConnectionUDP client : interest.getObservers(entity)) {
+            if(hasClient(client)) client.emit(eventName, data, channel);
+        }
+    }
+
+    /**
+     * Emit event with binary data for clients which see entity (area of interest).
+     *
+     * @param interest Interest grid of clients.
+     * @param entity Entity id.
+     * @param eventName Event name.
+     * @param data Event data (position is not changed).
+     * @param channel Delivery channel.
+     */
+    public void broadcastInterestEvent(GinetInterestGrid<GinetConnectionUDP> interest, int entity, String eventName, ByteBuffer data, GinetChannelUDP channel) {
+        for(GinetConnectionUDP client : interest.getObservers(entity)) {
+            if(hasClient(client)) client.emit(eventName, data, channel);
+        }
+    }
+
+    /**
+     * Disconnect client (client is notified, unacknowledged packets are discarded).
+     *
+     * @param client Client to disconnect.
+     */
+    public void disconnect(GinetConnectionUDP client) {
+        if(!hasClient(client)) return;
+
+        socket.sendControl(client.getAddress(), GinetSocketUDP.DISCONNECT);
+
+        remove(client, false);
+    }
+
+    /**
+     * Is client connected.
+     *
+     * @param client Client.
+     */
+    public boolean hasClient(GinetConnectionUDP client) {
+        return client != null && clients.get(client.getAddress()) == client;
+    }
+
+    /**
+     * Get connected clients.
+     */
+    public Collection<GinetConnectionUDP> getClients() {
+        return Collections.unmodifiableCollection(clients.values());
+    }
+
+    /**
+     * Set network conditions simulator for outgoing packets (null to disable).
+     *
+     * @param simulator Link simulator.
+     */
+    public void setSimulator(GinetLinkSimulatorUDP simulator) {
+        socket.setSimulator(simulator);
+    }
+
+    /**
+     * Get network conditions simulator.
+     */
+    public GinetLinkSimulatorUDP getSimulator() {
+        return socket.getSimulator();
+    }
+
+    /**
+     * Get server channel.
+     */
+    public DatagramChannel getChannel() {
+        return socket.getChannel();
+    }
+
+    /**
+     * Is server active?
+     */
+    public boolean isActive() {
+        return active;
+    }
+}
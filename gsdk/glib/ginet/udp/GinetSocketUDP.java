@@ -0,0 +1,174 @@
+package gsdk.glib.ginet.udp;
+
+import java.io.IOException;
+
+import java.net.SocketAddress;
+
+import java.net.PortUnreachableException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+/**
+ * Datagram channel with receive/maintenance thread shared by UDP server and client.
+ * Thread receives packets (validated protocol id) and runs connections maintenance (resends, keep-alive, timeouts) every tick.
+ * Outgoing packets go through link simulator if set.
+ */
+class GinetSocketUDP implements Runnable {
+    // Packet header: protocol id and packet type.
+    static final int PROTOCOL_ID = 0x474E5531;
+
+    static final byte CONNECT = 1, ACCEPT = 2, DISCONNECT = 3, DATA = 4, ACK = 5, PING = 6;
+
+    static final int HEADER_SIZE = 5;
+
+    static final int TICK = 10;
+
+    private static final int RECEIVE_BUFFER_SIZE = 64 * 1024;
+
+    // Packets and ticks handler (server or client).
+    interface Handler {
+        void packet(SocketAddress from, byte type, ByteBuffer packet);
+
+        void tick(long now);
+
+        void exception(IOException ioExc);
+    }
+
+    private final DatagramChannel channel;
+
+    private final Selector selector;
+
+    private final Handler handler;
+
+    private final Thread thread;
+
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(RECEIVE_BUFFER_SIZE);
+
+    private volatile GinetLinkSimulatorUDP simulator = null;
+
+    private volatile boolean running = true;
+
+    GinetSocketUDP(DatagramChannel channel_, Handler handler_, String name) throws IOException {
+        channel = channel_;
+
+        handler = handler_;
+
+        channel.configureBlocking(false);
+
+        selector = Selector.open();
+
+        channel.register(selector, SelectionKey.OP_READ);
+
+        thread = new Thread(this, name);
+
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+
+        selector.wakeup();
+    }
+
+    void setSimulator(GinetLinkSimulatorUDP simulator_) {
+        simulator = simulator_;
+    }
+
+    GinetLinkSimulatorUDP getSimulator() {
+        return simulator;
+    }
+
+    DatagramChannel getChannel() {
+        return channel;
+    }
+
+    // Send packet (any thread). Packet position is not changed.
+    void send(SocketAddress to, ByteBuffer packet) {
+        GinetLinkSimulatorUDP linkSimulator = simulator;
+
+        if(linkSimulator == null) {
+            write(to, packet.duplicate()); return;
+        }
+
+        ByteBuffer copy = ByteBuffer.allocate(packet.remaining()).put(packet.duplicate()).flip();
+
+        linkSimulator.transmit(() -> write(to, copy));
+    }
+
+    // Send packet with header only.
+    void sendControl(SocketAddress to, byte type) {
+        send(to, ByteBuffer.allocate(HEADER_SIZE).putInt(PROTOCOL_ID).put(type).flip());
+    }
+
+    private void write(SocketAddress to, ByteBuffer packet) {
+        try {
+            // Full socket buffer drops datagram (same as network loss).
+            channel.send(packet, to);
+        } catch(ClosedChannelException | PortUnreachableException closedExc) {
+            // Socket stopped or peer is gone (peer timeout handles it).
+        } catch(IOException ioExc) {
+            handler.exception(ioExc);
+        }
+    }
+
+    @Override
+    public void run() {
+        long nextTick = now();
+
+        while(running) {
+            try {
+                selector.select(Math.max(1, nextTick - now()));
+
+                selector.selectedKeys().clear();
+
+                SocketAddress from;
+
+                while(running && (from = channel.receive(receiveBuffer.clear())) != null) {
+                    receiveBuffer.flip();
+
+                    if(receiveBuffer.remaining() < HEADER_SIZE || receiveBuffer.getInt() != PROTOCOL_ID) continue;
+
+                    try {
+                        handler.packet(from, receiveBuffer.get(), receiveBuffer);
+                    } catch(BufferUnderflowException | NegativeArraySizeException damagedExc) {
+                        // Damaged or foreign packet: ignored.
+                    }
+                }
+            } catch(IOException ioExc) {
+                // ICMP port unreachable is reported by connected channels; peer timeout handles it.
+                if(running && !(ioExc instanceof PortUnreachableException)) handler.exception(ioExc);
+            }
+
+            long now = now();
+
+            if(now >= nextTick) {
+                handler.tick(now);
+
+                nextTick = now + TICK;
+            }
+        }
+
+        try {
+            selector.close();
+
+            channel.close();
+        } catch(IOException ioExc) {
+            handler.exception(ioExc);
+        }
+    }
+
+    // Monotonic time (MS).
+    static long now() {
+        return System.nanoTime() / 1_000_000;
+    }
+}
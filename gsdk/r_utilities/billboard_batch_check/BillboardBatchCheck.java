@@ -0,0 +1,195 @@
+package gsdk.r_utilities.billboard_batch_check;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import java.util.Random;
+
+import gsdk.source.particles.ParticleBillboardBatch;
+import gsdk.source.particles.ParticleStore;
+
+public class BillboardBatchCheck {
+    public static final int PARTICLES = 10_000;
+
+    // Relative position tolerance (float operations order differs from raymath).
+    public static final float EPSILON = 1e-5f;
+
+    // Cameras: position, target, up.
+    public static final float[][] CAMERAS = new float[][] {
+        {0, 0, 10, 0, 0, 0, 0, 1, 0},
+        {10, 10, 10, 0, 0, 0, 0, 1, 0},
+        {-25, 4, 3, 2, 1, -7, 0, 1, 0},
+        {5, 5, -20, 1, 0, 3, 0.3f, 1, 0.1f},
+        {0.5f, 30, 0.5f, 0, 0, 0, 0, 0, -1}
+    };
+
+    public static final float[] EMITTER = new float[] {3.5f, -1.25f, 7.0f};
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 1337;
+
+        Random random = new Random(seed);
+
+        ParticleStore ps = new ParticleStore(PARTICLES);
+
+        for(int i = 0; i < PARTICLES; i++) {
+            // Dead gaps (never initialized slots): batch must skip them the same way per particle loop does.
+            if(i % 7 == 3) continue;
+
+            float[] pos = new float[] {random.nextFloat() * 40 - 20, random.nextFloat() * 40 - 20, random.nextFloat() * 40 - 20};
+
+            int[] color = new int[] {random.nextInt(256), random.nextInt(256), random.nextInt(256)};
+
+            // Every 4th particle is not rotated (DrawBillboardPro skips rotation then).
+            float rotation = i % 4 == 0 ? 0.0f : random.nextFloat() * 720 - 360;
+
+            ps.set(i, pos, color, random.nextFloat(), 0.05f + random.nextFloat() * 8, rotation, new float[3]);
+        }
+
+        ParticleBillboardBatch batch = new ParticleBillboardBatch(PARTICLES);
+
+        System.out.printf("%-8s %-10s %-10s %-12s %-10s %-10s%n", "camera", "particles", "vertices", "max error", "position", "attribute");
+
+        boolean passed = true;
+
+        for(int c = 0; c < CAMERAS.length; c++) {
+            float[] cam = CAMERAS[c];
+
+            float[] right = lookAtRight(cam);
+
+            int vertexCount = batch.build(ps, right[0], right[1], right[2], EMITTER[0], EMITTER[1], EMITTER[2], 0.0f, 0.0f, 1.0f, 1.0f);
+
+            int[] mismatches = new int[2];
+
+            float maxError = compare(ps, right, batch, vertexCount, mismatches);
+
+            System.out.printf("%-8d %-10d %-10d %-12.3e %-10d %-10d%n", c, ps.countAlive(), vertexCount, maxError, mismatches[0], mismatches[1]);
+
+            passed &= vertexCount == ps.countAlive() * ParticleBillboardBatch.VERTICES_PER_PARTICLE && mismatches[0] == 0 && mismatches[1] == 0;
+        }
+
+        System.out.println(passed ? "PASSED" : "FAILED");
+
+        if(!passed) System.exit(1);
+    }
+
+    // Compare batch stream with DrawBillboardPro quads (RL_QUADS are drawn as triangles 0-1-2, 0-2-3).
+    private static float compare(ParticleStore ps, float[] right, ParticleBillboardBatch batch, int vertexCount, int[] mismatches) {
+        FloatBuffer vertices = batch.getVertices(), texcoords = batch.getTexcoords();
+
+        ByteBuffer colors = batch.getColors();
+
+        int[] triangles = new int[] {0, 1, 2, 0, 2, 3};
+
+        float maxError = 0.0f;
+
+        int vertex = 0;
+
+        for(int i = 0; i < ps.getCapacity() && vertex < vertexCount; i++) {
+            if(!ps.isAlive(i)) continue;
+
+            float size = ps.getSize(i);
+
+            float[][] points = new float[4][3], uvs = new float[4][2];
+
+            drawBillboardPro(right, new float[] {EMITTER[0] + ps.getX(i), EMITTER[1] + ps.getY(i), EMITTER[2] + ps.getZ(i)}, size, size / 4, ps.getRotation(i), points, uvs);
+
+            int color = ps.getColor(i);
+
+            byte[] tint = new byte[] {(byte) (color >> 16), (byte) (color >> 8), (byte) color, (byte) (ps.getAlpha(i) * 255.0f)};
+
+            for(int corner : triangles) {
+                for(int axis = 0; axis < 3; axis++) {
+                    float expected = points[corner][axis], error = Math.abs(vertices.get(vertex * 3 + axis) - expected);
+
+                    maxError = Math.max(maxError, error);
+
+                    if(error > EPSILON * Math.max(1.0f, Math.abs(expected))) mismatches[0]++;
+                }
+
+                if(texcoords.get(vertex * 2) != uvs[corner][0] || texcoords.get(vertex * 2 + 1) != uvs[corner][1]) mismatches[1]++;
+
+                for(int channel = 0; channel < 4; channel++) {
+                    if(colors.get(vertex * 4 + channel) != tint[channel]) mismatches[1]++;
+                }
+
+                vertex++;
+            }
+        }
+
+        return maxError;
+    }
+
+    // rmodels.c DrawBillboardPro (full texture source, up (0, 1, 0), square size, positive sizes) ported to Java floats.
+    private static void drawBillboardPro(float[] right, float[] position, float size, float origin, float rotation, float[][] points, float[][] uvs) {
+        float[] r = scale(right, size), up = scale(new float[] {0, 1, 0}, size);
+
+        float[] forward = rotation != 0.0f ? cross(r, up) : null;
+
+        float[] origin3D = add(scale(normalize(r), origin), scale(normalize(up), origin));
+
+        float[][] corners = new float[][] {{0, 0, 0}, r, add(up, r), up};
+
+        for(int i = 0; i < 4; i++) {
+            float[] point = subtract(corners[i], origin3D);
+
+            if(rotation != 0.0f) point = rotateByAxisAngle(point, forward, rotation * (float) (Math.PI / 180.0));
+
+            points[i] = add(point, position);
+        }
+
+        // Source (0, 0, width, height) divided by texture size.
+        uvs[0] = new float[] {0, 1};
+        uvs[1] = new float[] {1, 1};
+        uvs[2] = new float[] {1, 0};
+        uvs[3] = new float[] {0, 0};
+    }
+
+    // raymath MatrixLookAt: right vector is first row of view matrix (m0, m4, m8).
+    private static float[] lookAtRight(float[] cam) {
+        float[] eye = new float[] {cam[0], cam[1], cam[2]}, target = new float[] {cam[3], cam[4], cam[5]}, up = new float[] {cam[6], cam[7], cam[8]};
+
+        float[] vz = normalize(subtract(eye, target));
+
+        return normalize(cross(up, vz));
+    }
+
+    // raymath Vector3RotateByAxisAngle (Euler-Rodrigues).
+    private static float[] rotateByAxisAngle(float[] v, float[] axis, float angle) {
+        float[] w = normalize(axis);
+
+        angle /= 2.0f;
+
+        float a = (float) Math.sin(angle);
+
+        w = scale(w, a);
+
+        a = (float) Math.cos(angle);
+
+        float[] wv = cross(w, v), wwv = cross(w, wv);
+
+        return add(add(v, scale(wv, 2 * a)), scale(wwv, 2));
+    }
+
+    private static float[] normalize(float[] v) {
+        float length = (float) Math.sqrt(v[0] * v[0] + v[1] * v[1] + v[2] * v[2]);
+
+        return length != 0.0f ? scale(v, 1.0f / length) : v;
+    }
+
+    private static float[] cross(float[] a, float[] b) {
+        return new float[] {a[1] * b[2] - a[2] * b[1], a[2] * b[0] - a[0] * b[2], a[0] * b[1] - a[1] * b[0]};
+    }
+
+    private static float[] scale(float[] v, float s) {
+        return new float[] {v[0] * s, v[1] * s, v[2] * s};
+    }
+
+    private static float[] add(float[] a, float[] b) {
+        return new float[] {a[0] + b[0], a[1] + b[1], a[2] + b[2]};
+    }
+
+    private static float[] subtract(float[] a, float[] b) {
+        return new float[] {a[0] - b[0], a[1] - b[1], a[2] - b[2]};
+    }
+}
@@ -0,0 +1,115 @@
+package gsdk.r_utilities.ginet_frame_benchmark;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+
+import gsdk.glib.ginet.GinetFrameCodec;
+
+public class GinetFrameBenchmark {
+    public static final int WARMUP_ROUNDS = 5;
+
+    public static final String[] EVENTS = {"move", "shoot", "chat", "spawn"};
+
+    public static void main(String[] args) throws IOException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        System.out.printf("messages %d | rounds %d (+%d warmup)%n", messages, rounds, WARMUP_ROUNDS);
+
+        long sink = 0;
+
+        for(int i = 0; i < WARMUP_ROUNDS; i++) sink += text(messages, null) + binary(messages, null);
+
+        long[] textStats = new long[2], binaryStats = new long[2];
+
+        for(int i = 0; i < rounds; i++) {
+            sink += text(messages, textStats);
+            sink += binary(messages, binaryStats);
+        }
+
+        long total = (long) messages * rounds;
+
+        System.out.printf("text   | %8.1f ns/msg | %6.1f bytes/msg%n", textStats[0] / (double) total, textStats[1] / (double) total);
+        System.out.printf("binary | %8.1f ns/msg | %6.1f bytes/msg%n", binaryStats[0] / (double) total, binaryStats[1] / (double) total);
+        System.out.printf("speedup x%.2f | size x%.2f (checksum %d)%n", textStats[0] / (double) binaryStats[0], textStats[1] / (double) binaryStats[1], sink);
+    }
+
+    // Text protocol: format event line, encode, decode line and parse it like GinetServerTCP.
+    private static long text(int messages, long[] stats) {
+        long sink = 0, bytes = 0, start = System.nanoTime();
+
+        for(int i = 0; i < messages; i++) {
+            String line = "EV-BGN EVENT-NAME%s&&&EVENT-DATA%s EV-END".formatted(EVENTS[i & 3], payload(i));
+
+            byte[] wire = (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+
+            bytes += wire.length;
+
+            String data = new String(wire, 0, wire.length - System.lineSeparator().length(), StandardCharsets.UTF_8);
+
+            String[] parts = data.substring(7, data.indexOf(" EV-END")).split("&&&");
+
+            String name = parts[0].replace("EVENT-NAME", "").trim(), event = parts[1].replace("EVENT-DATA", "").trim();
+
+            sink += name.length() + event.length();
+        }
+
+        if(stats != null) {
+            stats[0] += System.nanoTime() - start;
+            stats[1] += bytes;
+        }
+
+        return sink;
+    }
+
+    // Binary protocol: encode frames into reusable buffer, feed decoder and read event name and payload.
+    private static long binary(int messages, long[] stats) throws IOException {
+        GinetFrameCodec encoder = new GinetFrameCodec(List.of(EVENTS)), decoder = new GinetFrameCodec();
+
+        ByteBuffer wire = ByteBuffer.allocate(64 * 1024), payload = ByteBuffer.allocate(64);
+
+        wire.limit(0);
+
+        ByteBuffer handshake = ByteBuffer.allocate(encoder.maxHandshakeSize());
+
+        encoder.encodeHandshake(handshake);
+
+        decoder.feed(handshake.flip());
+
+        long sink = 0, bytes = 0, start = System.nanoTime();
+
+        for(int i = 0; i < messages; i++) {
+            payload.clear().putFloat(i * 0.5f).putFloat(i * 0.25f).putFloat(i * 0.125f).flip();
+
+            wire.clear();
+
+            encoder.encode(EVENTS[i & 3], payload, wire);
+
+            bytes += wire.flip().remaining();
+
+            decoder.feed(wire);
+
+            while(decoder.next()) {
+                ByteBuffer event = decoder.getPayload();
+
+                sink += decoder.getFrameName().length() + event.remaining() + (int) event.getFloat(event.position());
+            }
+        }
+
+        if(stats != null) {
+            stats[0] += System.nanoTime() - start;
+            stats[1] += bytes;
+        }
+
+        return sink;
+    }
+
+    private static String payload(int i) {
+        return (i * 0.5f) + "," + (i * 0.25f) + "," + (i * 0.125f);
+    }
+}
@@ -0,0 +1,153 @@
+package gsdk.r_utilities.ginet_interest_benchmark;
+
+import java.nio.ByteBuffer;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import java.util.stream.IntStream;
+
+import gsdk.glib.ginet.GinetInterestGrid;
+
+import gsdk.glib.ginet.replication.GinetReplicatedWorld;
+import gsdk.glib.ginet.replication.GinetReplicationPeer;
+import gsdk.glib.ginet.replication.GinetReplicationReceiver;
+import gsdk.glib.ginet.replication.GinetReplicationSchema;
+
+import gsdk.source.vectors.Vector2Df;
+
+public class GinetInterestBenchmark {
+    public static final float WORLD_SIZE = 4000, VIEW_RADIUS = 150, CELL_SIZE = 100, SPEED = 8;
+
+    public static void main(String[] args) {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int entities = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        System.out.printf("clients %d | entities %d | ticks %d | world %.0f | view radius %.0f | cell %.0f%n", clients, entities, ticks, WORLD_SIZE, VIEW_RADIUS, CELL_SIZE);
+
+        GinetReplicationSchema schema = new GinetReplicationSchema();
+
+        int position = schema.addVector2("position", 0, WORLD_SIZE, 0.05f);
+
+        GinetReplicatedWorld world = new GinetReplicatedWorld(schema);
+
+        GinetInterestGrid<Integer> interest = new GinetInterestGrid<>(CELL_SIZE);
+
+        Random random = new Random(1);
+
+        float[] xs = new float[entities], ys = new float[entities];
+
+        Vector2Df vector = new Vector2Df(0, 0);
+
+        for(int id = 0; id < entities; id++) {
+            world.add(id);
+
+            move(world, interest, position, vector, id, xs[id] = random.nextFloat() * WORLD_SIZE, ys[id] = random.nextFloat() * WORLD_SIZE);
+        }
+
+        // Every client observes from position of its own entity (first entities are players).
+        GinetReplicationPeer[] peers = new GinetReplicationPeer[clients], fullPeers = new GinetReplicationPeer[clients];
+
+        GinetReplicationReceiver[] receivers = new GinetReplicationReceiver[clients];
+
+        for(int client = 0; client < clients; client++) {
+            peers[client] = new GinetReplicationPeer();
+            fullPeers[client] = new GinetReplicationPeer();
+
+            receivers[client] = new GinetReplicationReceiver(schema);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+
+        long interestBytes = 0, fullBytes = 0, gridNanos = 0, interestNanos = 0, fullNanos = 0;
+
+        int errors = 0;
+
+        for(int tick = 0; tick < ticks; tick++) {
+            long start = System.nanoTime();
+
+            for(int id = 0; id < entities; id++) {
+                xs[id] = clamp(xs[id] + (random.nextFloat() - 0.5f) * 2 * SPEED);
+                ys[id] = clamp(ys[id] + (random.nextFloat() - 0.5f) * 2 * SPEED);
+
+                move(world, interest, position, vector, id, xs[id], ys[id]);
+            }
+
+            for(int client = 0; client < clients; client++) interest.setObserver(client, xs[client], ys[client], VIEW_RADIUS);
+
+            gridNanos += System.nanoTime() - start;
+
+            world.snapshot();
+
+            start = System.nanoTime();
+
+            for(int client = 0; client < clients; client++) {
+                world.encode(peers[client], interest.getRelevant(client), buffer.clear());
+
+                interestBytes += buffer.flip().remaining();
+
+                // Acknowledged immediately (lossless link).
+                peers[client].acknowledge(receivers[client].decode(buffer));
+            }
+
+            interestNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+
+            for(int client = 0; client < clients; client++) {
+                world.encode(fullPeers[client], buffer.clear());
+
+                fullBytes += buffer.flip().remaining();
+
+                fullPeers[client].acknowledge(world.getSequence());
+            }
+
+            fullNanos += System.nanoTime() - start;
+        }
+
+        // Grid relevance must match brute force, client state must match relevant entities.
+        for(int client = 0; client < clients; client++) {
+            int[] expected = bruteForce(xs, ys, xs[client], ys[client]);
+
+            if(!Arrays.equals(expected, interest.getRelevant(client))) errors++;
+
+            if(!Arrays.equals(expected, receivers[client].getEntities())) errors++;
+
+            for(int id : receivers[client].getEntities()) {
+                receivers[client].getVector(id, position, vector);
+
+                if(Math.abs(vector.x() - xs[id]) > 0.05f || Math.abs(vector.y() - ys[id]) > 0.05f) errors++;
+            }
+        }
+
+        double clientTicks = (double) clients * ticks;
+
+        System.out.printf("full world | %9.1f bytes/client/tick | encode %7.1f us/tick%n", fullBytes / clientTicks, fullNanos / 1000.0 / ticks);
+        System.out.printf("interest   | %9.1f bytes/client/tick | encode %7.1f us/tick | grid update %7.1f us/tick%n", interestBytes / clientTicks, interestNanos / 1000.0 / ticks, gridNanos / 1000.0 / ticks);
+        System.out.printf("traffic x%.1f less | errors %d%n", fullBytes / (double) interestBytes, errors);
+
+        if(errors > 0) System.exit(1);
+    }
+
+    private static void move(GinetReplicatedWorld world, GinetInterestGrid<Integer> interest, int position, Vector2Df vector, int id, float x, float y) {
+        vector.x(x);
+        vector.y(y);
+
+        world.setVector(id, position, vector);
+
+        interest.setEntity(id, x, y);
+    }
+
+    // Entities in square of cells around observer cell.
+    private static int[] bruteForce(float[] xs, float[] ys, float x, float y) {
+        int range = (int) Math.ceil(VIEW_RADIUS / CELL_SIZE), cx = (int) Math.floor(x / CELL_SIZE), cy = (int) Math.floor(y / CELL_SIZE);
+
+        return IntStream.range(0, xs.length).filter(id ->
+            Math.abs((int) Math.floor(xs[id] / CELL_SIZE) - cx) <= range && Math.abs((int) Math.floor(ys[id] / CELL_SIZE) - cy) <= range).toArray();
+    }
+
+    private static float clamp(float value) {
+        return Math.max(0, Math.min(WORLD_SIZE - 1, value));
+    }
+}
@@ -0,0 +1,197 @@
+package gsdk.r_utilities.ginet_load_test;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import gsdk.glib.ginet.GinetVirtualThreads;
+
+import gsdk.glib.ginet.tcp.GinetClientEventsTCP;
+import gsdk.glib.ginet.tcp.GinetClientServer;
+import gsdk.glib.ginet.tcp.GinetClientTCP;
+import gsdk.glib.ginet.tcp.GinetServerClient;
+import gsdk.glib.ginet.tcp.GinetServerEventsTCP;
+import gsdk.glib.ginet.tcp.GinetServerModeTCP;
+import gsdk.glib.ginet.tcp.GinetServerTCP;
+
+public class GinetLoadTest {
+    public static final int PORT = 9500;
+
+    public static final int CONNECT_TIMEOUT = 5000;
+
+    public static void main(String[] args) throws Exception {
+        GinetServerModeTCP mode = args.length > 0 ? GinetServerModeTCP.valueOf(args[0]) : GinetServerModeTCP.VIRTUAL_THREAD;
+
+        int idleClients = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int chattyClients = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int intervalMs = args.length > 4 ? Integer.parseInt(args[4]) : 50;
+
+        System.out.printf("mode %s | idle %d | chatty %d (event every %d ms) | %d s | virtual threads %s%n",
+            mode, idleClients, chattyClients, intervalMs, seconds, GinetVirtualThreads.isAvailable() ? "yes" : "no (platform fallback)");
+
+        GinetServerTCP server = new GinetServerTCP(new EchoServerEvents(), PORT, mode, 0);
+
+        server.start();
+
+        List<GinetClientTCP> clients = new ArrayList<>();
+
+        // Idle clients: connect and stay silent.
+        long connectStart = System.nanoTime();
+
+        LoadClientEvents idle = new LoadClientEvents(idleClients, 0);
+
+        for(int i = 0; i < idleClients; i++) clients.add(connect(idle));
+
+        idle.connected.await(60, TimeUnit.SECONDS);
+
+        System.out.printf("idle connected: %d/%d (failed %d) in %.1f ms, server clients %d%n",
+            idle.connections.get(), idleClients, idle.failures.get(), (System.nanoTime() - connectStart) / 1e6, server.getClients().size());
+
+        // Chatty clients: emit timestamped event every interval, server echoes it back.
+        int samplesPerClient = seconds * 1000 / intervalMs + 16;
+
+        LoadClientEvents chatty = new LoadClientEvents(chattyClients, samplesPerClient);
+
+        for(int i = 0; i < chattyClients; i++) clients.add(connect(chatty));
+
+        chatty.connected.await(60, TimeUnit.SECONDS);
+
+        System.out.printf("chatty connected: %d/%d (failed %d), server clients %d%n", chatty.connections.get(), chattyClients, chatty.failures.get(), server.getClients().size());
+
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        for(GinetClientTCP client : clients.subList(idleClients, clients.size())) {
+            GinetVirtualThreads.start(() -> {
+                while(System.nanoTime() < end && client.isConnected()) {
+                    client.emit("ping", String.valueOf(System.nanoTime()));
+
+                    try {
+                        Thread.sleep(intervalMs);
+                    } catch(InterruptedException interruptedExc) {
+                        return;
+                    }
+                }
+            }, "GinetLoadTest-sender");
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds) + 500);
+
+        long[] latencies = chatty.collectLatencies();
+
+        System.out.printf("events echoed: %d (%.0f/s), server clients at end %d%n", latencies.length, latencies.length / (double) seconds, server.getClients().size());
+
+        if(latencies.length > 0) {
+            System.out.printf("latency us: p50 %.1f | p90 %.1f | p99 %.1f | p99.9 %.1f | max %.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99), percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e3);
+        }
+
+        System.out.print("server metrics: " + server.getMetrics().snapshot());
+
+        for(GinetClientTCP client : clients) client.disconnect();
+
+        server.stop();
+
+        System.exit(0);
+    }
+
+    private static GinetClientTCP connect(LoadClientEvents events) {
+        GinetClientTCP client = new GinetClientTCP(events, "127.0.0.1", PORT, CONNECT_TIMEOUT, true);
+
+        client.connect();
+
+        return client;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e3;
+    }
+
+    private static class EchoServerEvents implements GinetServerEventsTCP {
+        @Override public void start(GinetServerTCP server) {}
+
+        @Override public void end(GinetServerTCP server) {}
+
+        @Override public void connection(GinetServerClient client, GinetServerTCP server) {}
+
+        @Override public void disconnection(GinetServerClient client, GinetServerTCP server) {}
+
+        @Override public void receive(String data, GinetServerClient client, GinetServerTCP server) {}
+
+        @Override public void event(String name, String data, GinetServerClient client, GinetServerTCP server) {
+            server.emit(name, data, client);
+        }
+
+        @Override public void exception(Exception exception, GinetServerTCP server) {}
+
+        @Override public void lost(GinetServerClient client, GinetServerTCP server) {}
+    }
+
+    private static class LoadClientEvents implements GinetClientEventsTCP {
+        final CountDownLatch connected;
+
+        final AtomicInteger connections = new AtomicInteger(), failures = new AtomicInteger();
+
+        // Latencies (ns), lock-free append into preallocated array.
+        final long[] latencies;
+
+        final AtomicLong samples = new AtomicLong();
+
+        LoadClientEvents(int clients, int samplesPerClient) {
+            connected = new CountDownLatch(clients);
+
+            latencies = new long[clients * samplesPerClient];
+        }
+
+        long[] collectLatencies() {
+            long[] collected = Arrays.copyOf(latencies, (int) Math.min(samples.get(), latencies.length));
+
+            Arrays.sort(collected);
+
+            return collected;
+        }
+
+        @Override public void connection(GinetClientServer server, GinetClientTCP client) {
+            connections.incrementAndGet();
+
+            connected.countDown();
+        }
+
+        @Override public void disconnection(GinetClientServer server, GinetClientTCP client) {}
+
+        @Override public void receive(String data, GinetClientServer server, GinetClientTCP client) {}
+
+        @Override public void event(String name, String data, GinetClientServer server, GinetClientTCP client) {
+            long latency = System.nanoTime() - Long.parseLong(data);
+
+            long index = samples.getAndIncrement();
+
+            if(index < latencies.length) latencies[(int) index] = latency;
+        }
+
+        @Override public void exception(Exception exception, GinetClientTCP client) {
+            if(!client.isConnected()) {
+                failures.incrementAndGet();
+
+                connected.countDown();
+            }
+        }
+
+        @Override public void lost(GinetClientTCP client) {}
+
+        @Override public void timeout(GinetClientTCP client) {
+            failures.incrementAndGet();
+
+            connected.countDown();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package gsdk.r_utilities.ginet_replication_benchmark;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import gsdk.glib.ginet.replication.GinetReplicatedWorld;
+import gsdk.glib.ginet.replication.GinetReplicationPeer;
+import gsdk.glib.ginet.replication.GinetReplicationReceiver;
+import gsdk.glib.ginet.replication.GinetReplicationSchema;
+
+import gsdk.source.vectors.Vector3Df;
+
+public class GinetReplicationBenchmark {
+    public static final int[] WORLD_SIZES = {1000, 10000};
+
+    public static final double[] CHANGE_RATES = {0.0, 0.01, 0.1, 1.0};
+
+    // Full state per entity as plain emit: id, 3 floats, int, boolean.
+    public static final int FULL_ENTITY_BYTES = 4 + 12 + 4 + 1;
+
+    public static final float PRECISION = 0.01f;
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int ackDelay = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        double ackLoss = args.length > 2 ? Double.parseDouble(args[2]) : 0.1;
+
+        System.out.printf("ticks %d | ack delay %d ticks | ack loss %.0f%%%n", ticks, ackDelay, ackLoss * 100);
+
+        for(int size : WORLD_SIZES) {
+            for(double rate : CHANGE_RATES) run(size, rate, ticks, ackDelay, ackLoss);
+        }
+    }
+
+    private static void run(int size, double rate, int ticks, int ackDelay, double ackLoss) {
+        GinetReplicationSchema schema = new GinetReplicationSchema();
+
+        int position = schema.addVector3("position", -1024, 1024, PRECISION);
+        int health = schema.addInt("health", 8);
+        int alive = schema.addBoolean("alive");
+
+        GinetReplicatedWorld world = new GinetReplicatedWorld(schema);
+        GinetReplicationReceiver receiver = new GinetReplicationReceiver(schema);
+
+        GinetReplicationPeer peer = world.getPeer("client");
+
+        Random random = new Random(size * 31L + (long) (rate * 1000));
+
+        Vector3Df vector = new Vector3Df(0, 0, 0);
+
+        // Expected client state.
+        float[] xs = new float[size], ys = new float[size];
+
+        int[] healths = new int[size];
+
+        for(int id = 0; id < size; id++) {
+            world.add(id);
+
+            vector.x(xs[id] = random.nextFloat() * 2000 - 1000);
+            vector.y(ys[id] = random.nextFloat() * 2000 - 1000);
+
+            world.setVector(id, position, vector);
+            world.setInt(id, health, healths[id] = 100);
+            world.setBoolean(id, alive, true);
+        }
+
+        // Startup ticks (full state until first acknowledgement) are not measured.
+        int warmup = ackDelay * 2 + 10;
+
+        ArrayDeque<int[]> acks = new ArrayDeque<>();
+
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        long bytes = 0, nanos = 0;
+
+        int decoded = 0, errors = 0;
+
+        for(int tick = -warmup; tick < ticks; tick++) {
+            int changes = (int) Math.round(size * rate);
+
+            for(int i = 0; i < changes; i++) {
+                int id = rate >= 1.0 ? i : random.nextInt(size);
+
+                vector.x(xs[id] = random.nextFloat() * 2000 - 1000);
+                vector.y(ys[id] = random.nextFloat() * 2000 - 1000);
+
+                world.setVector(id, position, vector);
+
+                if(random.nextInt(4) == 0) world.setInt(id, health, healths[id] = random.nextInt(101));
+            }
+
+            long start = System.nanoTime();
+
+            world.snapshot();
+
+            int maxSize = world.maxEncodedSize(peer);
+
+            if(buffer.capacity() < maxSize) buffer = ByteBuffer.allocate(maxSize);
+
+            world.encode(peer, buffer.clear());
+
+            buffer.flip();
+
+            if(tick >= 0) {
+                nanos += System.nanoTime() - start;
+
+                bytes += buffer.remaining();
+            }
+
+            int sequence = receiver.decode(buffer);
+
+            if(sequence >= 0) {
+                if(tick >= 0) decoded++;
+
+                if(random.nextDouble() >= ackLoss) acks.add(new int[] {tick + ackDelay, sequence});
+            }
+
+            while(!acks.isEmpty() && acks.peek()[0] <= tick) peer.acknowledge(acks.poll()[1]);
+        }
+
+        // Client state must match server quantized state.
+        for(int id = 0; id < size; id++) {
+            receiver.getVector(id, position, vector);
+
+            boolean positionMatch = Math.abs(vector.x() - xs[id]) <= PRECISION && Math.abs(vector.y() - ys[id]) <= PRECISION && Math.abs(vector.z()) <= PRECISION;
+
+            if(!positionMatch || receiver.getInt(id, health) != healths[id] || !receiver.getBoolean(id, alive)) errors++;
+        }
+
+        if(receiver.size() != size) errors++;
+
+        System.out.printf("entities %6d | change %5.1f%% | %9.1f bytes/tick (full state %d) | %8.1f us/tick | decoded %d/%d | errors %d%n",
+            size, rate * 100, bytes / (double) ticks, size * FULL_ENTITY_BYTES, nanos / 1000.0 / ticks, decoded, ticks, errors);
+    }
+}
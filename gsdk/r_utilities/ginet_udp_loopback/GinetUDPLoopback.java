@@ -0,0 +1,165 @@
+package gsdk.r_utilities.ginet_udp_loopback;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import gsdk.glib.ginet.udp.GinetChannelUDP;
+import gsdk.glib.ginet.udp.GinetClientEventsUDP;
+import gsdk.glib.ginet.udp.GinetClientUDP;
+import gsdk.glib.ginet.udp.GinetConnectionUDP;
+import gsdk.glib.ginet.udp.GinetLinkSimulatorUDP;
+import gsdk.glib.ginet.udp.GinetServerEventsUDP;
+import gsdk.glib.ginet.udp.GinetServerUDP;
+
+public class GinetUDPLoopback {
+    public static final int PORT = 9600;
+
+    public static void main(String[] args) throws Exception {
+        double loss = args.length > 0 ? Double.parseDouble(args[0]) : 0.2;
+
+        int latency = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+        int jitter = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int messages = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+
+        System.out.printf("loss %.0f%% | latency %d ms + jitter %d ms (both directions) | %d messages per channel%n", loss * 100, latency, jitter, messages);
+
+        LoopbackServerEvents serverEvents = new LoopbackServerEvents(messages - 1);
+
+        GinetServerUDP server = new GinetServerUDP(serverEvents, PORT);
+
+        server.setSimulator(new GinetLinkSimulatorUDP(loss, latency, jitter, 1));
+
+        server.start();
+
+        CountDownLatch connected = new CountDownLatch(1);
+
+        GinetClientUDP client = new GinetClientUDP(new LoopbackClientEvents(connected), "127.0.0.1", PORT, 10000);
+
+        client.setSimulator(new GinetLinkSimulatorUDP(loss, latency, jitter, 2));
+
+        client.connect();
+
+        if(!connected.await(15, TimeUnit.SECONDS)) {
+            System.out.println("FAIL: client didn't connect"); System.exit(1);
+        }
+
+        // Client sends sequence numbers on every channel at ~1 ms intervals (interleaved).
+        ByteBuffer payload = ByteBuffer.allocate(4);
+
+        for(int i = 0; i < messages; i++) {
+            for(GinetChannelUDP channel : GinetChannelUDP.values()) client.emit(channel.name(), payload.clear().putInt(i).flip(), channel);
+
+            Thread.sleep(1);
+        }
+
+        // Reliable channel is complete when last message arrived; wait a bit more for late unreliable packets.
+        serverEvents.reliableDone.await(60, TimeUnit.SECONDS);
+
+        Thread.sleep(latency + jitter + 100);
+
+        boolean passed = true;
+
+        for(GinetChannelUDP channel : GinetChannelUDP.values()) {
+            List<Integer> received;
+
+            synchronized(serverEvents.received) {
+                received = new ArrayList<>(serverEvents.received.get(channel));
+            }
+
+            boolean ordered = true, unique = true;
+
+            for(int i = 1; i < received.size(); i++) {
+                if(received.get(i) <= received.get(i - 1)) ordered = false;
+                if(received.get(i).equals(received.get(i - 1))) unique = false;
+            }
+
+            boolean ok = switch(channel) {
+                // Any subset, any order.
+                case UNRELIABLE -> received.size() <= messages;
+
+                // Subset in increasing order.
+                case UNRELIABLE_SEQUENCED -> ordered;
+
+                // Everything exactly once, in order.
+                case RELIABLE_ORDERED -> ordered && received.size() == messages;
+            };
+
+            passed &= ok;
+
+            System.out.printf("%-20s %s | delivered %d/%d | in order %s | duplicates %s%n", channel, ok ? "PASS" : "FAIL", received.size(), messages, ordered, !unique);
+        }
+
+        GinetConnectionUDP connection = client.getServer();
+
+        System.out.printf("client: rtt %d ms | resend timeout %d ms | resent %d | simulator dropped %d of %d%n",
+            connection.getRoundTripTime(), connection.getResendTimeout(), connection.getResentPackets(),
+            client.getSimulator().getDroppedPackets(), client.getSimulator().getDroppedPackets() + client.getSimulator().getSentPackets());
+
+        client.disconnect();
+
+        server.stop();
+
+        System.out.println(passed ? "PASS" : "FAIL");
+
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static class LoopbackServerEvents implements GinetServerEventsUDP {
+        final EnumMap<GinetChannelUDP, List<Integer>> received = new EnumMap<>(GinetChannelUDP.class);
+
+        final CountDownLatch reliableDone = new CountDownLatch(1);
+
+        final int lastReliable;
+
+        LoopbackServerEvents(int lastReliable_) {
+            lastReliable = lastReliable_;
+
+            for(GinetChannelUDP channel : GinetChannelUDP.values()) received.put(channel, Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        @Override
+        public void event(String name, ByteBuffer data, GinetConnectionUDP client, GinetServerUDP server) {
+            GinetChannelUDP channel = GinetChannelUDP.valueOf(name);
+
+            int value = data.getInt(data.position());
+
+            synchronized(received) {
+                received.get(channel).add(value);
+            }
+
+            if(channel == GinetChannelUDP.RELIABLE_ORDERED && value == lastReliable) reliableDone.countDown();
+        }
+
+        @Override public void start(GinetServerUDP server) {}
+        @Override public void end(GinetServerUDP server) {}
+        @Override public void connection(GinetConnectionUDP client, GinetServerUDP server) {}
+        @Override public void disconnection(GinetConnectionUDP client, GinetServerUDP server) {}
+        @Override public void receive(String data, GinetConnectionUDP client, GinetServerUDP server) {}
+        @Override public void event(String name, String data, GinetConnectionUDP client, GinetServerUDP server) {}
+        @Override public void exception(Exception exception, GinetServerUDP server) { exception.printStackTrace(); }
+        @Override public void lost(GinetConnectionUDP client, GinetServerUDP server) { System.out.println("client lost"); }
+    }
+
+    private static class LoopbackClientEvents implements GinetClientEventsUDP {
+        private final CountDownLatch connected;
+
+        LoopbackClientEvents(CountDownLatch connected_) {
+            connected = connected_;
+        }
+
+        @Override public void connection(GinetConnectionUDP server, GinetClientUDP client) { connected.countDown(); }
+        @Override public void disconnection(GinetConnectionUDP server, GinetClientUDP client) {}
+        @Override public void receive(String data, GinetConnectionUDP server, GinetClientUDP client) {}
+        @Override public void event(String name, String data, GinetConnectionUDP server, GinetClientUDP client) {}
+        @Override public void exception(Exception exception, GinetClientUDP client) { exception.printStackTrace(); }
+        @Override public void lost(GinetClientUDP client) { System.out.println("server lost"); }
+        @Override public void timeout(GinetClientUDP client) { System.out.println("connection timeout"); }
+    }
+}
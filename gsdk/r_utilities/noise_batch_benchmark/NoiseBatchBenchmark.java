@@ -0,0 +1,104 @@
+package gsdk.r_utilities.noise_batch_benchmark;
+
+import gsdk.source.generic.FractalNoiseType;
+import gsdk.source.generic.PerlinNoise;
+import gsdk.source.generic.SimplexNoise;
+
+public class NoiseBatchBenchmark {
+    public static final int[] OCTAVES = {1, 4, 8};
+
+    public static final int WARMUP = 5, ROUNDS = 10;
+
+    public static final double PERSISTENCE = 0.5, FREQUENCY_MULT = 2;
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+
+        int count = side * side;
+
+        // Terrain-like grid of coordinates (same values in double and float arrays, so float error is kernel error).
+        double[] x = new double[count], y = new double[count], z = new double[count];
+
+        float[] xf = new float[count], yf = new float[count], zf = new float[count];
+
+        for(int i = 0; i < count; i++) {
+            x[i] = xf[i] = (i % side) * 0.013f + 100;
+            y[i] = yf[i] = (i / side) * 0.013f - 50;
+            z[i] = zf[i] = 0.5f;
+        }
+
+        PerlinNoise perlin = new PerlinNoise(1337);
+        SimplexNoise simplex = new SimplexNoise(1337);
+
+        double[] scalar = new double[count], batch = new double[count];
+
+        float[] batchFloat = new float[count];
+
+        System.out.printf("%d samples | ns per sample (best of %d)%n", count, ROUNDS);
+        System.out.printf("%-8s %-8s %10s %10s %10s %9s %12s%n", "noise", "octaves", "scalar", "batch", "batch f32", "mismatch", "f32 error");
+
+        for(int octaves : OCTAVES) {
+            double[] perlinTimes = new double[3], simplexTimes = new double[3];
+
+            for(int round = -WARMUP; round < ROUNDS; round++) {
+                long t0 = System.nanoTime();
+
+                for(int i = 0; i < count; i++) scalar[i] = perlin.fractalNoise(x[i], y[i], z[i], octaves, PERSISTENCE, FREQUENCY_MULT);
+
+                long t1 = System.nanoTime();
+
+                perlin.fractalNoise(FractalNoiseType.FRACTAL, x, y, z, batch, octaves, PERSISTENCE, FREQUENCY_MULT);
+
+                long t2 = System.nanoTime();
+
+                perlin.fractalNoise(FractalNoiseType.FRACTAL, xf, yf, zf, batchFloat, octaves, (float) PERSISTENCE, (float) FREQUENCY_MULT);
+
+                long t3 = System.nanoTime();
+
+                if(round >= 0) best(perlinTimes, t0, t1, t2, t3, count, round);
+            }
+
+            print("perlin", octaves, perlinTimes, scalar, batch, batchFloat);
+
+            for(int round = -WARMUP; round < ROUNDS; round++) {
+                long t0 = System.nanoTime();
+
+                for(int i = 0; i < count; i++) scalar[i] = simplex.fractalNoise(x[i], y[i], 0, octaves, PERSISTENCE, FREQUENCY_MULT);
+
+                long t1 = System.nanoTime();
+
+                simplex.fractalNoise(FractalNoiseType.FRACTAL, x, y, batch, octaves, PERSISTENCE, FREQUENCY_MULT);
+
+                long t2 = System.nanoTime();
+
+                simplex.fractalNoise(FractalNoiseType.FRACTAL, xf, yf, batchFloat, octaves, (float) PERSISTENCE, (float) FREQUENCY_MULT);
+
+                long t3 = System.nanoTime();
+
+                if(round >= 0) best(simplexTimes, t0, t1, t2, t3, count, round);
+            }
+
+            print("simplex", octaves, simplexTimes, scalar, batch, batchFloat);
+        }
+    }
+
+    private static void best(double[] times, long t0, long t1, long t2, long t3, int count, int round) {
+        double[] current = {(t1 - t0) / (double) count, (t2 - t1) / (double) count, (t3 - t2) / (double) count};
+
+        for(int i = 0; i < 3; i++) times[i] = round == 0 ? current[i] : Math.min(times[i], current[i]);
+    }
+
+    private static void print(String noise, int octaves, double[] times, double[] scalar, double[] batch, float[] batchFloat) {
+        int mismatch = 0;
+
+        double error = 0;
+
+        for(int i = 0; i < scalar.length; i++) {
+            if(Double.doubleToLongBits(scalar[i]) != Double.doubleToLongBits(batch[i])) mismatch++;
+
+            error = Math.max(error, Math.abs(scalar[i] - batchFloat[i]));
+        }
+
+        System.out.printf("%-8s %-8d %10.1f %10.1f %10.1f %9d %12.2e%n", noise, octaves, times[0], times[1], times[2], mismatch, error);
+    }
+}
@@ -0,0 +1,88 @@
+package gsdk.r_utilities.noise_chunk_streaming;
+
+import java.util.Arrays;
+
+import gsdk.source.generic.FractalNoiseType;
+import gsdk.source.generic.NoiseChunk;
+import gsdk.source.generic.NoiseChunkField;
+import gsdk.source.generic.PerlinNoise;
+
+public class NoiseChunkStreaming {
+    public static final int CHUNK_SIZE = 64, PREFETCH_RADIUS = 3, VIEW_RADIUS = 2;
+
+    public static final double SPACING = 1, FRAME_SECONDS = 1 / 60.0;
+
+    public static void main(String[] args) throws InterruptedException {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 1200;
+        double speed = args.length > 1 ? Double.parseDouble(args[1]) : 200;
+
+        // Budget fits prefetch square and one ring of slack.
+        int side = 2 * PREFETCH_RADIUS + 3;
+
+        long budget = (long) side * side * (CHUNK_SIZE + 1) * (CHUNK_SIZE + 1) * 4;
+
+        NoiseChunkField field = new NoiseChunkField(new PerlinNoise(42), FractalNoiseType.FRACTAL, 6, 0.5, 2, 0.01, CHUNK_SIZE, SPACING, budget);
+
+        long[] frameNanos = new long[frames];
+
+        long visible = 0, missing = 0, overBudget = 0;
+
+        double x = 0, y = 0;
+
+        for(int frame = 0; frame < frames; frame++) {
+            // Camera moves along slowly turning path.
+            double angle = frame * 0.002;
+
+            x += Math.cos(angle) * speed * FRAME_SECONDS;
+            y += Math.sin(angle) * speed * FRAME_SECONDS;
+
+            long start = System.nanoTime();
+
+            field.prefetch(x, y, PREFETCH_RADIUS);
+
+            int centerX = field.getChunkX(x), centerY = field.getChunkY(y);
+
+            for(int dx = -VIEW_RADIUS; dx <= VIEW_RADIUS; dx++) {
+                for(int dy = -VIEW_RADIUS; dy <= VIEW_RADIUS; dy++) {
+                    visible++;
+
+                    if(field.getChunk(centerX + dx, centerY + dy) == null) missing++;
+                }
+            }
+
+            frameNanos[frame] = System.nanoTime() - start;
+
+            if(field.getCachedBytes() > budget) overBudget++;
+
+            Thread.sleep(1);
+        }
+
+        int centerX = field.getChunkX(x), centerY = field.getChunkY(y);
+
+        int seamErrors = 0, sampleErrors = 0;
+
+        // Shared edges of neighbour chunks and direct samples must match exactly.
+        for(int dx = -VIEW_RADIUS; dx <= VIEW_RADIUS; dx++) {
+            for(int dy = -VIEW_RADIUS; dy <= VIEW_RADIUS; dy++) {
+                NoiseChunk chunk = field.getChunkNow(centerX + dx, centerY + dy), right = field.getChunkNow(centerX + dx + 1, centerY + dy), down = field.getChunkNow(centerX + dx, centerY + dy + 1);
+
+                for(int i = 0; i <= CHUNK_SIZE; i++) {
+                    if(chunk.getValue(CHUNK_SIZE, i) != right.getValue(0, i)) seamErrors++;
+                    if(chunk.getValue(i, CHUNK_SIZE) != down.getValue(i, 0)) seamErrors++;
+
+                    double worldX = ((long) chunk.getChunkX() * CHUNK_SIZE + i) * SPACING, worldY = ((long) chunk.getChunkY() * CHUNK_SIZE + i) * SPACING;
+
+                    if(chunk.getValue(i, i) != (float) field.sample(worldX, worldY)) sampleErrors++;
+                }
+            }
+        }
+
+        Arrays.sort(frameNanos);
+
+        System.out.printf("frames %d | speed %.0f units/s | chunk %d samples | prefetch radius %d | view radius %d%n", frames, speed, CHUNK_SIZE, PREFETCH_RADIUS, VIEW_RADIUS);
+        System.out.printf("main thread (us) | p50 %.1f | p99 %.1f | max %.1f%n", frameNanos[frames / 2] / 1000.0, frameNanos[(int) (frames * 0.99)] / 1000.0, frameNanos[frames - 1] / 1000.0);
+        System.out.printf("visible chunks not ready %d of %d (%.2f%%)%n", missing, visible, missing * 100.0 / visible);
+        System.out.printf("cache %d chunks, %d of %d bytes | frames over budget %d%n", field.getCachedChunks(), field.getCachedBytes(), budget, overBudget);
+        System.out.printf("seam errors %d | sample errors %d%n", seamErrors, sampleErrors);
+    }
+}
@@ -0,0 +1,118 @@
+package gsdk.r_utilities.pe3d_benchmark;
+
+import com.raylib.Raylib;
+
+import java.util.concurrent.ForkJoinPool;
+
+import gsdk.source.particles.EmissionVelocity;
+import gsdk.source.particles.ParticleBlending;
+import gsdk.source.particles.ParticleEmitter3D;
+import gsdk.source.particles.ParticleEmitterConfig;
+import gsdk.source.particles.ParticleType;
+
+import gsdk.source.vectors.Vector3Di;
+
+public class PE3DScalingBenchmark {
+    public static final int[] PARTICLES = new int[] {1_000, 10_000, 100_000, 1_000_000};
+
+    public static final int EMITTERS = 8;
+
+    public static final int WARMUP_FRAMES = 120;
+    public static final int MEASURE_FRAMES = 600;
+
+    public static final float DELTA = 1.0f / 60.0f;
+
+    public static void main(String[] args) {
+        // Emitters load pixel filter shader, so GL context is required.
+        Raylib.SetConfigFlags(Raylib.FLAG_WINDOW_HIDDEN);
+
+        Raylib.InitWindow(1, 1, "GSDK | PE3D Scaling Benchmark.");
+
+        int maxCores = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%-10s %-8s %-14s %-14s %-8s%n", "particles", "cores", "emitter ms/f", "scene ms/f", "speedup");
+
+        for(int particles : PARTICLES) {
+            double serial = benchEmitter(particles, null);
+
+            System.out.printf("%-10d %-8s %-14.4f %-14s %-8s%n", particles, "serial", serial, "-", "1.00");
+
+            for(int cores = 1; cores <= maxCores; cores = cores < maxCores && cores * 2 > maxCores ? maxCores : cores * 2) {
+                ForkJoinPool pool = new ForkJoinPool(cores);
+
+                double emitter = benchEmitter(particles, pool);
+                double scene = benchScene(particles / EMITTERS, pool);
+
+                System.out.printf("%-10d %-8d %-14.4f %-14.4f %-8.2f%n", particles, cores, emitter, scene, serial / emitter);
+
+                pool.shutdown();
+
+                if(cores == maxCores) break;
+            }
+        }
+
+        Raylib.CloseWindow();
+    }
+
+    private static double benchEmitter(int particles, ForkJoinPool pool) {
+        ParticleEmitter3D emitter = createEmitter(particles);
+
+        emitter.setSimulationPool(pool);
+
+        for(int frame = 0; frame < WARMUP_FRAMES; frame++) emitter.simulateParticles();
+
+        long start = System.nanoTime();
+
+        for(int frame = 0; frame < MEASURE_FRAMES; frame++) emitter.simulateParticles();
+
+        long elapsed = System.nanoTime() - start;
+
+        emitter.unloadResources();
+
+        return elapsed / 1e6 / MEASURE_FRAMES;
+    }
+
+    private static double benchScene(int particlesPerEmitter, ForkJoinPool pool) {
+        ParticleEmitter3D[] emitters = new ParticleEmitter3D[EMITTERS];
+
+        for(int i = 0; i < EMITTERS; i++) emitters[i] = createEmitter(particlesPerEmitter);
+
+        for(int frame = 0; frame < WARMUP_FRAMES; frame++) ParticleEmitter3D.simulateParticles(pool, emitters);
+
+        long start = System.nanoTime();
+
+        for(int frame = 0; frame < MEASURE_FRAMES; frame++) ParticleEmitter3D.simulateParticles(pool, emitters);
+
+        long elapsed = System.nanoTime() - start;
+
+        for(ParticleEmitter3D emitter : emitters) emitter.unloadResources();
+
+        return elapsed / 1e6 / MEASURE_FRAMES;
+    }
+
+    private static ParticleEmitter3D createEmitter(int particles) {
+        ParticleEmitterConfig config = new ParticleEmitterConfig(
+            particles,
+            0.01f,
+            240.0f,
+            new EmissionVelocity(0.1f, 0.1f, 0.1f, EmissionVelocity.X_ADD_EXPL, EmissionVelocity.Z_ADD_EXPL),
+            false,
+            ParticleBlending.ALPHA,
+            32.0f,
+            3.5f,
+            0,
+            1.0f,
+            0.2f,
+            new Vector3Di(255, 255, 255),
+            ParticleType.TEXTURE
+        );
+
+        config.setDelta(DELTA);
+
+        ParticleEmitter3D emitter = new ParticleEmitter3D(config);
+
+        emitter.loadParticles();
+
+        return emitter;
+    }
+}
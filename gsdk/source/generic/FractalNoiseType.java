@@ -0,0 +1,44 @@
+package gsdk.source.generic;
+
+/**
+ * Octaves combination of batch fractal noise sampling.
+ */
+public enum FractalNoiseType {
+    /**
+     * Sum of octaves.
+     */
+    FRACTAL,
+
+    /**
+     * Sum of absolute octaves.
+     */
+    TURBULENCE,
+
+    /**
+     * Sum of inverted absolute octaves.
+     */
+    RIDGE,
+
+    /**
+     * Sum of absolute octaves mapped to [-1; 1].
+     */
+    BILLOW;
+
+    double shape(double n) {
+        return switch(this) {
+            case FRACTAL -> n;
+            case TURBULENCE -> Math.abs(n);
+            case RIDGE -> 1 - Math.abs(n);
+            case BILLOW -> 2 * Math.abs(n) - 1;
+        };
+    }
+
+    float shape(float n) {
+        return switch(this) {
+            case FRACTAL -> n;
+            case TURBULENCE -> Math.abs(n);
+            case RIDGE -> 1 - Math.abs(n);
+            case BILLOW -> 2 * Math.abs(n) - 1;
+        };
+    }
+}
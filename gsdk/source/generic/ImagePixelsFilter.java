@@ -6,12 +6,29 @@ import static com.raylib.Jaylib.BLANK;
 
 import gsdk.source.vectors.Vector4Di;
 
-import static gsdk.source.generic.GMath.tolerance;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import java.util.stream.IntStream;
+
+import org.bytedeco.javacpp.BytePointer;
 
 /**
  * Utility class for filtering image pixels.
+ * RGBA8 images are filtered directly on pixel data (no per-pixel native calls or allocations, integer per channel tolerance),
+ * large images are split into row bands filtered in parallel. Other formats fall back to per-pixel <code>GetImageColor</code>.
  */
 public class ImagePixelsFilter {
+    /**
+     * Minimal image pixels count for parallel filtering.
+     */
+    public static final int PARALLEL_FILTER_PIXELS = 256 * 256;
+
+    /**
+     * Rows per parallel filtering band.
+     */
+    public static final int ROWS_PER_BAND = 32;
+
     /**
      * Returns image without pixels with specified colors (custom threshold possible).
      *
@@ -20,17 +37,23 @@ public class ImagePixelsFilter {
      * @param threshold Color threshold.
      */
     public static Raylib.Image filterPixels(Raylib.Image image, Raylib.Color rmRgba, Vector4Di threshold) {
-        Raylib.Image filteredImage = Raylib.GenImageColor(image.width(), image.height(), BLANK);
+        int width = image.width(), height = image.height();
+
+        Raylib.Image filteredImage = Raylib.GenImageColor(width, height, BLANK);
+
+        int[] color = {rmRgba.r() & 0xFF, rmRgba.g() & 0xFF, rmRgba.b() & 0xFF, rmRgba.a() & 0xFF}, tolerance = channels(threshold);
+
+        if(image.format() == Raylib.PIXELFORMAT_UNCOMPRESSED_R8G8B8A8) {
+            filter(pixelData(image), pixelData(filteredImage), width, height, color, tolerance);
 
-        for(int y = 0; y < image.height(); y++) {
-            for(int x = 0; x < image.width(); x++) {
+            return filteredImage;
+        }
+
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < width; x++) {
                 Raylib.Color pixelColor = Raylib.GetImageColor(image, x, y);
 
-                if(!tolerance(
-                    new double[] {pixelColor.r(), pixelColor.g(), pixelColor.b(), pixelColor.a()},
-                    new double[] {rmRgba.r(), rmRgba.g(), rmRgba.b(), rmRgba.a()},
-                    new double[] {threshold.x(), threshold.y(), threshold.z(), threshold.w()}
-                )) Raylib.ImageDrawPixel(filteredImage, x, y, pixelColor);
+                if(!matches(pixelColor.r() & 0xFF, pixelColor.g() & 0xFF, pixelColor.b() & 0xFF, pixelColor.a() & 0xFF, color, tolerance)) Raylib.ImageDrawPixel(filteredImage, x, y, pixelColor);
             }
         }
 
@@ -46,4 +69,67 @@ public class ImagePixelsFilter {
     public static Raylib.Image filterPixels(Raylib.Image image, Raylib.Color rmRgba) {
         return filterPixels(image, rmRgba, new Vector4Di(0, 0, 0, 0));
     }
+
+    /**
+     * Filter raw RGBA8 pixel data: pixels matching color within threshold become blank (0, 0, 0, 0), others are copied.
+     *
+     * @param src Source pixel data (RGBA8, native byte order).
+     * @param dst Destination pixel data (RGBA8, same byte order, can be source).
+     * @param width Image width.
+     * @param height Image height.
+     * @param rmRgba Color to remove [0; 255].
+     * @param threshold Color threshold.
+     */
+    public static void filterPixels(ByteBuffer src, ByteBuffer dst, int width, int height, Vector4Di rmRgba, Vector4Di threshold) {
+        filter(src, dst, width, height, channels(rmRgba), channels(threshold));
+    }
+
+    /**
+     * Get image pixel data as buffer (native byte order, no copy).
+     *
+     * @param image Image.
+     */
+    public static ByteBuffer pixelData(Raylib.Image image) {
+        int size = Raylib.GetPixelDataSize(image.width(), image.height(), image.format());
+
+        return new BytePointer(image.data()).capacity(size).asByteBuffer().order(ByteOrder.nativeOrder());
+    }
+
+    private static void filter(ByteBuffer src, ByteBuffer dst, int width, int height, int[] color, int[] tolerance) {
+        if((long) width * height >= PARALLEL_FILTER_PIXELS) {
+            int bands = (height + ROWS_PER_BAND - 1) / ROWS_PER_BAND;
+
+            IntStream.range(0, bands).parallel().forEach(band ->
+                filterRows(src, dst, width, color, tolerance, band * ROWS_PER_BAND, Math.min(height, (band + 1) * ROWS_PER_BAND)));
+        } else {
+            filterRows(src, dst, width, color, tolerance, 0, height);
+        }
+    }
+
+    private static void filterRows(ByteBuffer src, ByteBuffer dst, int width, int[] color, int[] tolerance, int fromY, int toY) {
+        boolean littleEndian = src.order() == ByteOrder.LITTLE_ENDIAN;
+
+        for(int y = fromY; y < toY; y++) {
+            int offset = y * width * 4;
+
+            for(int x = 0; x < width; x++, offset += 4) {
+                // Bytes R, G, B, A read as one int.
+                int pixel = src.getInt(offset);
+
+                boolean matched = littleEndian
+                    ? matches(pixel & 0xFF, (pixel >>> 8) & 0xFF, (pixel >>> 16) & 0xFF, pixel >>> 24, color, tolerance)
+                    : matches(pixel >>> 24, (pixel >>> 16) & 0xFF, (pixel >>> 8) & 0xFF, pixel & 0xFF, color, tolerance);
+
+                dst.putInt(offset, matched ? 0 : pixel);
+            }
+        }
+    }
+
+    private static boolean matches(int r, int g, int b, int a, int[] color, int[] tolerance) {
+        return Math.abs(r - color[0]) <= tolerance[0] && Math.abs(g - color[1]) <= tolerance[1] && Math.abs(b - color[2]) <= tolerance[2] && Math.abs(a - color[3]) <= tolerance[3];
+    }
+
+    private static int[] channels(Vector4Di vector) {
+        return new int[] {vector.x(), vector.y(), vector.z(), vector.w()};
+    }
 }
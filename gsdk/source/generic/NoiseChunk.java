@@ -0,0 +1,90 @@
+package gsdk.source.generic;
+
+import com.raylib.Raylib;
+
+import org.bytedeco.javacpp.BytePointer;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.ByteOrder.nativeOrder;
+
+/**
+ * Square chunk of world-space noise field generated by <code>NoiseChunkField</code>.
+ * Chunk holds (chunk size + 1)^2 samples: last row and column are first row and column of neighbour chunks (same values), so meshes built from chunks have no seams.
+ */
+public class NoiseChunk {
+    private final int chunkX, chunkY, size;
+
+    private final float[] values;
+
+    NoiseChunk(int chunkX_, int chunkY_, int size_, float[] values_) {
+        chunkX = chunkX_;
+        chunkY = chunkY_;
+
+        size = size_;
+
+        values = values_;
+    }
+
+    /**
+     * Get sample value.
+     *
+     * @param x Sample X [0; size).
+     * @param y Sample Y [0; size).
+     */
+    public float getValue(int x, int y) {
+        return values[y * size + x];
+    }
+
+    /**
+     * Get samples (row-major, size * size). Array is shared and must not be modified.
+     */
+    public float[] getValues() {
+        return values;
+    }
+
+    /**
+     * Get samples count per side (field chunk size + 1).
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get chunk X.
+     */
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    /**
+     * Get chunk Y.
+     */
+    public int getChunkY() {
+        return chunkY;
+    }
+
+    /**
+     * Generate grayscale image of chunk (heightmap, same pixel mapping as <code>NoiseGenerator</code> images).
+     *
+     * @param pixAdd Append number to pixel (default is 1).
+     */
+    public Raylib.Image toImg(int pixAdd) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(values.length * 4).order(nativeOrder());
+
+        for(int i = 0; i < values.length; i++) {
+            byte pixelVal = (byte) (int) ((values[i] + pixAdd) * 127.5);
+
+            buffer.put(i * 4, pixelVal);
+            buffer.put(i * 4 + 1, pixelVal);
+            buffer.put(i * 4 + 2, pixelVal);
+            buffer.put(i * 4 + 3, (byte) 255);
+        }
+
+        return new Raylib.Image().data(new BytePointer(buffer)).width(size).height(size).mipmaps(1).format(Raylib.PIXELFORMAT_UNCOMPRESSED_R8G8B8A8);
+    }
+
+    long getBytes() {
+        return values.length * 4L;
+    }
+}
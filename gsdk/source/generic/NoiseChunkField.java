@@ -0,0 +1,405 @@
+package gsdk.source.generic;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import static gsdk.source.generic.Assert.assert_t;
+
+/**
+ * Infinite world-space fractal noise field streamed in square chunks (terrain heightmaps, biomes, etc).
+ * Samples are placed on global grid (sample <code>i</code> is at world coordinate <code>i * spacing</code>), so neighbour chunks line up exactly.
+ * Field instance is seed and octave parameters, chunks are keyed by chunk X/Y. Chunks are generated on background pool
+ * and held in least recently used cache bounded by memory budget; <code>prefetch</code> around moving camera keeps near chunks recent,
+ * so far chunks are evicted first.
+ */
+public class NoiseChunkField {
+    private final PerlinNoise perlin;
+
+    private final SimplexNoise simplex;
+
+    private final FractalNoiseType type;
+
+    private final int octaves, chunkSize;
+
+    private final double persistence, frequencyMult, frequency, spacing;
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<Long, NoiseChunk> chunks = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final HashMap<Long, CompletableFuture<NoiseChunk>> pending = new HashMap<>();
+
+    private long bytes = 0;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Initialize Perlin noise field.
+     *
+     * @param perlin_ Perlin noise (seed).
+     * @param type_ Octaves combination.
+     * @param octaves_ Octaves.
+     * @param persistence_ Persistence.
+     * @param frequencyMult_ Multiply frequency.
+     * @param frequency_ Noise frequency (noise units per world unit).
+     * @param chunkSize_ Samples per chunk side (chunks hold one more sample shared with neighbours).
+     * @param spacing_ World units between samples.
+     * @param maxBytes_ Cache memory budget (bytes, at least one chunk).
+     */
+    public NoiseChunkField(
+        PerlinNoise perlin_,
+
+        FractalNoiseType type_,
+
+        int octaves_,
+
+        double persistence_,
+        double frequencyMult_,
+        double frequency_,
+
+        int chunkSize_,
+
+        double spacing_,
+
+        long maxBytes_
+    ) {
+        this(perlin_, null, type_, octaves_, persistence_, frequencyMult_, frequency_, chunkSize_, spacing_, maxBytes_);
+    }
+
+    /**
+     * Initialize Simplex noise field.
+     *
+     * @param simplex_ Simplex noise (seed).
+     * @param type_ Octaves combination.
+     * @param octaves_ Octaves.
+     * @param persistence_ Persistence.
+     * @param frequencyMult_ Multiply frequency.
+     * @param frequency_ Noise frequency (noise units per world unit).
+     * @param chunkSize_ Samples per chunk side (chunks hold one more sample shared with neighbours).
+     * @param spacing_ World units between samples.
+     * @param maxBytes_ Cache memory budget (bytes, at least one chunk).
+     */
+    public NoiseChunkField(
+        SimplexNoise simplex_,
+
+        FractalNoiseType type_,
+
+        int octaves_,
+
+        double persistence_,
+        double frequencyMult_,
+        double frequency_,
+
+        int chunkSize_,
+
+        double spacing_,
+
+        long maxBytes_
+    ) {
+        this(null, simplex_, type_, octaves_, persistence_, frequencyMult_, frequency_, chunkSize_, spacing_, maxBytes_);
+    }
+
+    private NoiseChunkField(PerlinNoise perlin_, SimplexNoise simplex_, FractalNoiseType type_, int octaves_, double persistence_, double frequencyMult_,
+                            double frequency_, int chunkSize_, double spacing_, long maxBytes_) {
+        assert_t(octaves_ < 1, "octaves < 1");
+        assert_t(chunkSize_ < 1, "chunkSize < 1");
+        assert_t(!(spacing_ > 0), "spacing <= 0");
+        assert_t(maxBytes_ < (chunkSize_ + 1L) * (chunkSize_ + 1L) * 4, "maxBytes < chunk bytes");
+
+        perlin = perlin_;
+        simplex = simplex_;
+
+        type = type_;
+
+        octaves = octaves_;
+
+        persistence = persistence_;
+        frequencyMult = frequencyMult_;
+        frequency = frequency_;
+
+        chunkSize = chunkSize_;
+
+        spacing = spacing_;
+
+        maxBytes = maxBytes_;
+    }
+
+    /**
+     * Get chunk if it is cached, otherwise request its generation and return null (never blocks, use from game loop).
+     *
+     * @param chunkX Chunk X.
+     * @param chunkY Chunk Y.
+     */
+    public synchronized NoiseChunk getChunk(int chunkX, int chunkY) {
+        long key = key(chunkX, chunkY);
+
+        NoiseChunk chunk = chunks.get(key);
+
+        if(chunk == null) request(key, chunkX, chunkY);
+
+        return chunk;
+    }
+
+    /**
+     * Get chunk, waiting for generation (or generating on caller thread) if it is not cached.
+     *
+     * @param chunkX Chunk X.
+     * @param chunkY Chunk Y.
+     */
+    public NoiseChunk getChunkNow(int chunkX, int chunkY) {
+        long key = key(chunkX, chunkY);
+
+        CompletableFuture<NoiseChunk> future;
+
+        synchronized(this) {
+            NoiseChunk chunk = chunks.get(key);
+
+            if(chunk != null) return chunk;
+
+            future = pending.get(key);
+        }
+
+        // Cancelled request is generated here.
+        NoiseChunk chunk = future != null ? future.exceptionally(exception -> null).join() : null;
+
+        if(chunk == null) {
+            chunk = generate(chunkX, chunkY);
+
+            store(key, chunk);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Request chunks around camera (square of chunks, nearest first) and cancel not started requests outside of it.
+     * Call every frame or when camera crosses chunk border; cache budget should fit (2 * radius + 1)^2 chunks.
+     *
+     * @param x Camera world X.
+     * @param y Camera world Y.
+     * @param radius Radius (chunks).
+     */
+    public synchronized void prefetch(double x, double y, int radius) {
+        int centerX = getChunkX(x), centerY = getChunkY(y);
+
+        Iterator<Map.Entry<Long, CompletableFuture<NoiseChunk>>> iterator = pending.entrySet().iterator();
+
+        while(iterator.hasNext()) {
+            Map.Entry<Long, CompletableFuture<NoiseChunk>> entry = iterator.next();
+
+            long key = entry.getKey();
+
+            if(Math.max(Math.abs(chunkX(key) - centerX), Math.abs(chunkY(key) - centerY)) > radius && entry.getValue().cancel(false)) iterator.remove();
+        }
+
+        // Touch cached chunks from far to near: nearest chunks become most recently used.
+        for(int ring = radius; ring >= 0; ring--) {
+            for(int dx = -ring; dx <= ring; dx++) {
+                for(int dy = -ring; dy <= ring; dy++) {
+                    if(Math.max(Math.abs(dx), Math.abs(dy)) == ring) chunks.get(key(centerX + dx, centerY + dy));
+                }
+            }
+        }
+
+        // Requests from near to far: nearest chunks are generated first.
+        for(int ring = 0; ring <= radius; ring++) {
+            for(int dx = -ring; dx <= ring; dx++) {
+                for(int dy = -ring; dy <= ring; dy++) {
+                    if(Math.max(Math.abs(dx), Math.abs(dy)) != ring) continue;
+
+                    long key = key(centerX + dx, centerY + dy);
+
+                    if(!chunks.containsKey(key)) request(key, centerX + dx, centerY + dy);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sample field at world position (not cached, equals chunk samples at grid positions).
+     *
+     * @param x World X.
+     * @param y World Y.
+     */
+    public double sample(double x, double y) {
+        double nx = x * frequency, ny = y * frequency;
+
+        if(perlin != null) {
+            return switch(type) {
+                case FRACTAL -> perlin.fractalNoise(nx, ny, 0, octaves, persistence, frequencyMult);
+                case TURBULENCE -> perlin.turbulenceNoise(nx, ny, 0, octaves, persistence, frequencyMult);
+                case RIDGE -> perlin.ridgeNoise(nx, ny, 0, octaves, persistence, frequencyMult);
+                case BILLOW -> perlin.billowNoise(nx, ny, 0, octaves, persistence, frequencyMult);
+            };
+        }
+
+        return switch(type) {
+            case FRACTAL -> simplex.fractalNoise(nx, ny, 0, octaves, persistence, frequencyMult);
+            case TURBULENCE -> simplex.turbulenceNoise(nx, ny, 0, octaves, persistence, frequencyMult);
+            case RIDGE -> simplex.ridgeNoise(nx, ny, 0, octaves, persistence, frequencyMult);
+            case BILLOW -> simplex.billowNoise(nx, ny, 0, octaves, persistence, frequencyMult);
+        };
+    }
+
+    /**
+     * Get chunk X of world X.
+     *
+     * @param x World X.
+     */
+    public int getChunkX(double x) {
+        return (int) Math.floor(x / getChunkWorldSize());
+    }
+
+    /**
+     * Get chunk Y of world Y.
+     *
+     * @param y World Y.
+     */
+    public int getChunkY(double y) {
+        return (int) Math.floor(y / getChunkWorldSize());
+    }
+
+    /**
+     * Get chunk side in world units.
+     */
+    public double getChunkWorldSize() {
+        return chunkSize * spacing;
+    }
+
+    /**
+     * Get samples per chunk side (chunks hold one more sample shared with neighbours).
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Get cached chunks count.
+     */
+    public synchronized int getCachedChunks() {
+        return chunks.size();
+    }
+
+    /**
+     * Get cached chunks memory (bytes).
+     */
+    public synchronized long getCachedBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get requested chunks not generated yet.
+     */
+    public synchronized int getPendingChunks() {
+        return pending.size();
+    }
+
+    /**
+     * Drop cached chunks and cancel not started requests.
+     */
+    public synchronized void clear() {
+        for(CompletableFuture<NoiseChunk> future : pending.values()) future.cancel(false);
+
+        pending.clear();
+        chunks.clear();
+
+        bytes = 0;
+    }
+
+    /**
+     * Set pool for background chunks generation (default is <code>ForkJoinPool.commonPool()</code>).
+     * Null pool means chunks are generated on thread which requests them.
+     *
+     * @param pool_ Fork/join pool.
+     */
+    public synchronized void setPool(ForkJoinPool pool_) {
+        pool = pool_;
+    }
+
+    /**
+     * Get background generation pool.
+     */
+    public synchronized ForkJoinPool getPool() {
+        return pool;
+    }
+
+    // Start chunk generation (lock held).
+    private void request(long key, int chunkX, int chunkY) {
+        if(pending.containsKey(key)) return;
+
+        if(pool == null) {
+            store(key, generate(chunkX, chunkY));
+
+            return;
+        }
+
+        CompletableFuture<NoiseChunk> future = CompletableFuture.supplyAsync(() -> generate(chunkX, chunkY), pool);
+
+        pending.put(key, future);
+
+        future.thenAccept(chunk -> store(key, chunk));
+    }
+
+    private synchronized void store(long key, NoiseChunk chunk) {
+        pending.remove(key);
+
+        NoiseChunk previous = chunks.put(key, chunk);
+
+        if(previous != null) bytes -= previous.getBytes();
+
+        bytes += chunk.getBytes();
+
+        // Evict least recently used chunks (never stored one).
+        Iterator<Map.Entry<Long, NoiseChunk>> iterator = chunks.entrySet().iterator();
+
+        while(bytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Long, NoiseChunk> entry = iterator.next();
+
+            if(entry.getKey() == key) continue;
+
+            bytes -= entry.getValue().getBytes();
+
+            iterator.remove();
+        }
+    }
+
+    private NoiseChunk generate(int chunkX, int chunkY) {
+        int size = chunkSize + 1, count = size * size;
+
+        double[] x = new double[count], y = new double[count];
+
+        for(int j = 0; j < size; j++) {
+            for(int i = 0; i < size; i++) {
+                // Global sample index, so shared edges of neighbour chunks get identical coordinates.
+                x[j * size + i] = ((long) chunkX * chunkSize + i) * spacing * frequency;
+                y[j * size + i] = ((long) chunkY * chunkSize + j) * spacing * frequency;
+            }
+        }
+
+        double[] samples = perlin != null ? perlin.fractalNoise(type, x, y, new double[count], null, octaves, persistence, frequencyMult)
+            : simplex.fractalNoise(type, x, y, null, octaves, persistence, frequencyMult);
+
+        float[] values = new float[count];
+
+        for(int i = 0; i < count; i++) values[i] = (float) samples[i];
+
+        return new NoiseChunk(chunkX, chunkY, size, values);
+    }
+
+    private static long key(int chunkX, int chunkY) {
+        return ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    }
+
+    private static int chunkX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int chunkY(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,83 @@
+package gsdk.source.generic;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Fork/join task filling rows [from; to) of grayscale RGBA8 noise image. Every pixel depends only on its coordinates and is written with absolute put,
+// so bands are independent and image is bit-identical to serial fill.
+class NoiseImageTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    // Rows per band (smallest unit of parallel work).
+    protected static final int BAND_ROWS = 16;
+
+    // Noise sample at scaled coordinates.
+    protected interface Sampler {
+        double sample(double x, double y);
+    }
+
+    private final ByteBuffer buffer;
+
+    private final Sampler sampler;
+
+    private final int scale, pixAdd, width, height, from, to;
+
+    protected NoiseImageTask(ByteBuffer buffer_, Sampler sampler_, int scale_, int pixAdd_, int width_, int height_, int from_, int to_) {
+        buffer = buffer_;
+
+        sampler = sampler_;
+
+        scale = scale_;
+        pixAdd = pixAdd_;
+
+        width = width_;
+        height = height_;
+
+        from = from_;
+        to = to_;
+    }
+
+    @Override
+    protected void compute() {
+        if(to - from <= BAND_ROWS) {
+            fillRows();
+
+            return;
+        }
+
+        int mid = from + Math.max(BAND_ROWS, (to - from) / 2 / BAND_ROWS * BAND_ROWS);
+
+        invokeAll(new NoiseImageTask(buffer, sampler, scale, pixAdd, width, height, from, mid), new NoiseImageTask(buffer, sampler, scale, pixAdd, width, height, mid, to));
+    }
+
+    private void fillRows() {
+        boolean littleEndian = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+
+        for(int y = from; y < to; y++) {
+            int index = y * width * 4;
+
+            for(int x = 0; x < width; x++, index += 4) {
+                double value = sampler.sample(NoiseGenerator.scaleNoiseCoord((double) x / width, scale), NoiseGenerator.scaleNoiseCoord((double) y / height, scale));
+
+                int gray = ((int) ((value + pixAdd) * 127.5)) & 0xFF;
+
+                // Bytes gray, gray, gray, 255 as one int.
+                buffer.putInt(index, littleEndian ? 0xFF000000 | gray << 16 | gray << 8 | gray : gray << 24 | gray << 16 | gray << 8 | 0xFF);
+            }
+        }
+    }
+
+    // Fill whole image on pool (serially on caller thread if pool is null).
+    protected static void fill(ForkJoinPool pool, ByteBuffer buffer, Sampler sampler, int scale, int pixAdd, int width, int height) {
+        NoiseImageTask task = new NoiseImageTask(buffer, sampler, scale, pixAdd, width, height, 0, height);
+
+        if(pool != null && height > BAND_ROWS) {
+            pool.invoke(task);
+        } else {
+            task.fillRows();
+        }
+    }
+}
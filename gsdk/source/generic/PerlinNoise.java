@@ -0,0 +1,431 @@
+package gsdk.source.generic;
+
+import java.util.Random;
+
+import static gsdk.source.generic.Assert.assert_t;
+
+/**
+ * Seeded Perlin noise. Permutation table is built once in constructor and never modified, so one instance can be sampled from any number of threads.
+ * Reuse instances (or <code>NoiseGenerator.getPerlin</code>) instead of creating one per sample.
+ * Batch methods sample coordinate arrays (terrain, particles) octave by octave with tuned kernel: corner gradients of lattice cell are reused
+ * while consecutive samples stay in it (dense grids hit each cell many times) and gradients are table lookups instead of branches.
+ * Double batch results are identical to per sample methods (coordinates within int range).
+ */
+public class PerlinNoise {
+    // Gradients of hash & 15 as x, y, z coefficients (same as grad).
+    private static final double[] GRAD_X = {1, -1, 1, -1, 1, -1, 1, -1, 0, 0, 0, 0, 1, 0, -1, 0};
+    private static final double[] GRAD_Y = {1, 1, -1, -1, 0, 0, 0, 0, 1, -1, 1, -1, 1, -1, 1, -1};
+    private static final double[] GRAD_Z = {0, 0, 0, 0, 1, 1, -1, -1, 1, 1, -1, -1, 0, 1, 0, -1};
+
+    private static final float[] GRAD_X_F = {1, -1, 1, -1, 1, -1, 1, -1, 0, 0, 0, 0, 1, 0, -1, 0};
+    private static final float[] GRAD_Y_F = {1, 1, -1, -1, 0, 0, 0, 0, 1, -1, 1, -1, 1, -1, 1, -1};
+    private static final float[] GRAD_Z_F = {0, 0, 0, 0, 1, 1, -1, -1, 1, 1, -1, -1, 0, 1, 0, -1};
+
+    private final int seed;
+
+    private final int[] dPerm = new int[512];
+
+    /**
+     * Initialize Perlin noise.
+     *
+     * @param seed_ Seed.
+     */
+    public PerlinNoise(int seed_) {
+        seed = seed_;
+
+        int[] perm = new int[256];
+
+        Random random = new Random(seed);
+
+        for(int i = 0; i < 256; i++) perm[i] = i;
+
+        for(int i = 0; i < 256; i++) {
+            int swapIndex = random.nextInt(256);
+
+            int temp = perm[i];
+
+            perm[i] = perm[swapIndex];
+            perm[swapIndex] = temp;
+        }
+
+        for(int i = 0; i < 512; i++) dPerm[i] = perm[i % 256];
+    }
+
+    /**
+     * Sample noise [-1; 1].
+     *
+     * @param x X.
+     * @param y Y.
+     * @param z Z.
+     */
+    public double noise(double x, double y, double z) {
+        int X = (int) Math.floor(x) & 255, Y = (int) Math.floor(y) & 255, Z = (int) Math.floor(z) & 255;
+
+        x -= Math.floor(x);
+        y -= Math.floor(y);
+        z -= Math.floor(z);
+
+        double u = fade(x), v = fade(y), w = fade(z);
+
+        int A = dPerm[X] + Y, AA = dPerm[A] + Z, AB = dPerm[A + 1] + Z;
+        int B = dPerm[X + 1] + Y, BA = dPerm[B] + Z, BB = dPerm[B + 1] + Z;
+
+        return lerp(w, lerp(v, lerp(u, grad(dPerm[AA], x, y, z), grad(dPerm[BA], x - 1, y, z)),
+                        lerp(u, grad(dPerm[AB], x, y - 1, z), grad(dPerm[BB], x - 1, y - 1, z))),
+                lerp(v, lerp(u, grad(dPerm[AA + 1], x, y, z - 1), grad(dPerm[BA + 1], x - 1, y, z - 1)),
+                        lerp(u, grad(dPerm[AB + 1], x, y - 1, z - 1), grad(dPerm[BB + 1], x - 1, y - 1, z - 1))));
+    }
+
+    /**
+     * Sample fractal noise (sum of octaves).
+     *
+     * @param x X.
+     * @param y Y.
+     * @param z Z.
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public double fractalNoise(double x, double y, double z, int octaves, double persistence, double frequencyMult) {
+        double total = 0, frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < octaves; i++) {
+            total += noise(x * frequency, y * frequency, z * frequency) * amplitude;
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        return total / maxValue;
+    }
+
+    /**
+     * Sample turbulence noise (sum of absolute octaves).
+     *
+     * @param x X.
+     * @param y Y.
+     * @param z Z.
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public double turbulenceNoise(double x, double y, double z, int octaves, double persistence, double frequencyMult) {
+        double total = 0, frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < octaves; i++) {
+            total += Math.abs(noise(x * frequency, y * frequency, z * frequency) * amplitude);
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        return total / maxValue;
+    }
+
+    /**
+     * Sample ridge noise.
+     *
+     * @param x X.
+     * @param y Y.
+     * @param z Z.
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public double ridgeNoise(double x, double y, double z, int octaves, double persistence, double frequencyMult) {
+        double total = 0, frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < octaves; i++) {
+            double n = noise(x * frequency, y * frequency, z * frequency);
+
+            total += (1 - Math.abs(n)) * amplitude;
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        return total / maxValue;
+    }
+
+    /**
+     * Sample billow noise.
+     *
+     * @param x X.
+     * @param y Y.
+     * @param z Z.
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public double billowNoise(double x, double y, double z, int octaves, double persistence, double frequencyMult) {
+        double total = 0, frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < octaves; i++) {
+            double n = noise(x * frequency, y * frequency, z * frequency);
+
+            total += (2 * Math.abs(n) - 1) * amplitude;
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        return total / maxValue;
+    }
+
+    /**
+     * Sample noise for coordinate arrays.
+     *
+     * @param x X coordinates.
+     * @param y Y coordinates.
+     * @param z Z coordinates.
+     * @param dst Destination array (at least coordinates length, allocated if null).
+     */
+    public double[] noise(double[] x, double[] y, double[] z, double[] dst) {
+        if(dst == null) dst = new double[x.length];
+
+        batch(x.length, y.length, z.length, dst.length);
+
+        for(int i = 0; i < x.length; i++) dst[i] = 0;
+
+        octave(FractalNoiseType.FRACTAL, x, y, z, dst, 1, 1);
+
+        return dst;
+    }
+
+    /**
+     * Sample fractal noise for coordinate arrays.
+     *
+     * @param type Octaves combination.
+     * @param x X coordinates.
+     * @param y Y coordinates.
+     * @param z Z coordinates.
+     * @param dst Destination array (at least coordinates length, allocated if null).
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public double[] fractalNoise(FractalNoiseType type, double[] x, double[] y, double[] z, double[] dst, int octaves, double persistence, double frequencyMult) {
+        int count = x.length;
+
+        if(dst == null) dst = new double[count];
+
+        batch(x.length, y.length, z.length, dst.length);
+
+        double frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < count; i++) dst[i] = 0;
+
+        for(int octave = 0; octave < octaves; octave++) {
+            octave(type, x, y, z, dst, frequency, amplitude);
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        for(int i = 0; i < count; i++) dst[i] /= maxValue;
+
+        return dst;
+    }
+
+    /**
+     * Sample noise for coordinate arrays in float precision (half memory of double arrays, less precise far from origin).
+     *
+     * @param x X coordinates.
+     * @param y Y coordinates.
+     * @param z Z coordinates.
+     * @param dst Destination array (at least coordinates length, allocated if null).
+     */
+    public float[] noise(float[] x, float[] y, float[] z, float[] dst) {
+        if(dst == null) dst = new float[x.length];
+
+        batch(x.length, y.length, z.length, dst.length);
+
+        for(int i = 0; i < x.length; i++) dst[i] = 0;
+
+        octave(FractalNoiseType.FRACTAL, x, y, z, dst, 1, 1);
+
+        return dst;
+    }
+
+    /**
+     * Sample fractal noise for coordinate arrays in float precision.
+     *
+     * @param type Octaves combination.
+     * @param x X coordinates.
+     * @param y Y coordinates.
+     * @param z Z coordinates.
+     * @param dst Destination array (at least coordinates length, allocated if null).
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public float[] fractalNoise(FractalNoiseType type, float[] x, float[] y, float[] z, float[] dst, int octaves, float persistence, float frequencyMult) {
+        int count = x.length;
+
+        if(dst == null) dst = new float[count];
+
+        batch(x.length, y.length, z.length, dst.length);
+
+        float frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < count; i++) dst[i] = 0;
+
+        for(int octave = 0; octave < octaves; octave++) {
+            octave(type, x, y, z, dst, frequency, amplitude);
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        for(int i = 0; i < count; i++) dst[i] /= maxValue;
+
+        return dst;
+    }
+
+    /**
+     * Get seed.
+     */
+    public int getSeed() {
+        return seed;
+    }
+
+    // Add octave to destination (batch kernel, same arithmetic as noise).
+    private void octave(FractalNoiseType type, double[] x, double[] y, double[] z, double[] dst, double frequency, double amplitude) {
+        boolean cached = false;
+
+        int cellX = 0, cellY = 0, cellZ = 0, g0 = 0, g1 = 0, g2 = 0, g3 = 0, g4 = 0, g5 = 0, g6 = 0, g7 = 0;
+
+        for(int i = 0; i < x.length; i++) {
+            double px = x[i] * frequency, py = y[i] * frequency, pz = z[i] * frequency;
+
+            int fx = floor(px), fy = floor(py), fz = floor(pz);
+
+            if(!cached || fx != cellX || fy != cellY || fz != cellZ) {
+                int X = fx & 255, Y = fy & 255, Z = fz & 255;
+
+                int A = dPerm[X] + Y, AA = dPerm[A] + Z, AB = dPerm[A + 1] + Z;
+                int B = dPerm[X + 1] + Y, BA = dPerm[B] + Z, BB = dPerm[B + 1] + Z;
+
+                g0 = dPerm[AA] & 15; g1 = dPerm[BA] & 15; g2 = dPerm[AB] & 15; g3 = dPerm[BB] & 15;
+                g4 = dPerm[AA + 1] & 15; g5 = dPerm[BA + 1] & 15; g6 = dPerm[AB + 1] & 15; g7 = dPerm[BB + 1] & 15;
+
+                cellX = fx;
+                cellY = fy;
+                cellZ = fz;
+
+                cached = true;
+            }
+
+            px -= fx;
+            py -= fy;
+            pz -= fz;
+
+            double u = fade(px), v = fade(py), w = fade(pz);
+
+            double x1 = px - 1, y1 = py - 1, z1 = pz - 1;
+
+            double n = lerp(w, lerp(v, lerp(u, gradient(g0, px, py, pz), gradient(g1, x1, py, pz)), lerp(u, gradient(g2, px, y1, pz), gradient(g3, x1, y1, pz))),
+                    lerp(v, lerp(u, gradient(g4, px, py, z1), gradient(g5, x1, py, z1)), lerp(u, gradient(g6, px, y1, z1), gradient(g7, x1, y1, z1))));
+
+            dst[i] += type.shape(n) * amplitude;
+        }
+    }
+
+    // Add octave to destination (float batch kernel).
+    private void octave(FractalNoiseType type, float[] x, float[] y, float[] z, float[] dst, float frequency, float amplitude) {
+        boolean cached = false;
+
+        int cellX = 0, cellY = 0, cellZ = 0, g0 = 0, g1 = 0, g2 = 0, g3 = 0, g4 = 0, g5 = 0, g6 = 0, g7 = 0;
+
+        for(int i = 0; i < x.length; i++) {
+            float px = x[i] * frequency, py = y[i] * frequency, pz = z[i] * frequency;
+
+            int fx = floor(px), fy = floor(py), fz = floor(pz);
+
+            if(!cached || fx != cellX || fy != cellY || fz != cellZ) {
+                int X = fx & 255, Y = fy & 255, Z = fz & 255;
+
+                int A = dPerm[X] + Y, AA = dPerm[A] + Z, AB = dPerm[A + 1] + Z;
+                int B = dPerm[X + 1] + Y, BA = dPerm[B] + Z, BB = dPerm[B + 1] + Z;
+
+                g0 = dPerm[AA] & 15; g1 = dPerm[BA] & 15; g2 = dPerm[AB] & 15; g3 = dPerm[BB] & 15;
+                g4 = dPerm[AA + 1] & 15; g5 = dPerm[BA + 1] & 15; g6 = dPerm[AB + 1] & 15; g7 = dPerm[BB + 1] & 15;
+
+                cellX = fx;
+                cellY = fy;
+                cellZ = fz;
+
+                cached = true;
+            }
+
+            px -= fx;
+            py -= fy;
+            pz -= fz;
+
+            float u = fade(px), v = fade(py), w = fade(pz);
+
+            float x1 = px - 1, y1 = py - 1, z1 = pz - 1;
+
+            float n = lerp(w, lerp(v, lerp(u, gradient(g0, px, py, pz), gradient(g1, x1, py, pz)), lerp(u, gradient(g2, px, y1, pz), gradient(g3, x1, y1, pz))),
+                    lerp(v, lerp(u, gradient(g4, px, py, z1), gradient(g5, x1, py, z1)), lerp(u, gradient(g6, px, y1, z1), gradient(g7, x1, y1, z1))));
+
+            dst[i] += type.shape(n) * amplitude;
+        }
+    }
+
+    // Check batch arrays (same coordinates lengths, destination fits).
+    private static void batch(int xLength, int yLength, int zLength, int dstLength) {
+        assert_t(yLength != xLength || zLength != xLength, "coordinates lengths differ");
+        assert_t(dstLength < xLength, "dst.length < coordinates length");
+    }
+
+    private static double fade(double t) {
+        return t * t * t * (t * (t * 6 - 15) + 10);
+    }
+
+    private static double lerp(double t, double a, double b) {
+        return a + t * (b - a);
+    }
+
+    private static double grad(int hash, double x, double y, double z) {
+        int h = hash & 15;
+
+        double u = h < 8 ? x : y, v = h < 4 ? y : h == 12 || h == 14 ? x : z;
+
+        return ((h & 1) == 0 ? u : -u) + ((h & 2) == 0 ? v : -v);
+    }
+
+    private static double gradient(int h, double x, double y, double z) {
+        return GRAD_X[h] * x + GRAD_Y[h] * y + GRAD_Z[h] * z;
+    }
+
+    private static int floor(double x) {
+        int i = (int) x;
+
+        return x < i ? i - 1 : i;
+    }
+
+    private static int floor(float x) {
+        int i = (int) x;
+
+        return x < i ? i - 1 : i;
+    }
+
+    private static float fade(float t) {
+        return t * t * t * (t * (t * 6 - 15) + 10);
+    }
+
+    private static float lerp(float t, float a, float b) {
+        return a + t * (b - a);
+    }
+
+    private static float gradient(int h, float x, float y, float z) {
+        return GRAD_X_F[h] * x + GRAD_Y_F[h] * y + GRAD_Z_F[h] * z;
+    }
+}
@@ -0,0 +1,428 @@
+package gsdk.source.generic;
+
+import java.util.Random;
+
+import static gsdk.source.generic.Assert.assert_t;
+
+/**
+ * Seeded 2D Simplex noise. Permutation table belongs to instance and is never modified after constructor,
+ * so instances with different seeds can be sampled concurrently. Reuse instances (or <code>NoiseGenerator.getSimplex</code>) instead of creating one per sample.
+ * Batch methods sample coordinate arrays octave by octave with tuned kernel: gradient indices of skewed cell are reused while consecutive samples stay in it,
+ * modulo and nested gradient arrays are replaced by tables. Double batch results are identical to per sample methods.
+ */
+public class SimplexNoise {
+    private static final int[][] GRAD3 = {{1,1,0}, {-1,1,0}, {1,-1,0}, {-1,-1,0}, {1,0,1}, {-1,0,1}, {1,0,-1}, {-1,0,-1}, {0,1,1}, {0,-1,1}, {0,1,-1}, {0,-1,-1}};
+
+    private static final double F2 = 0.5 * (Math.sqrt(3.0) - 1.0), G2 = (3.0 - Math.sqrt(3.0)) / 6.0;
+
+    private static final float F2_F = (float) F2, G2_F = (float) G2;
+
+    // GRAD3 x and y columns (batch kernels).
+    private static final double[] GRAD_X = {1, -1, 1, -1, 1, -1, 1, -1, 0, 0, 0, 0}, GRAD_Y = {1, 1, -1, -1, 0, 0, 0, 0, 1, -1, 1, -1};
+
+    private static final float[] GRAD_X_F = {1, -1, 1, -1, 1, -1, 1, -1, 0, 0, 0, 0}, GRAD_Y_F = {1, 1, -1, -1, 0, 0, 0, 0, 1, -1, 1, -1};
+
+    private final int seed;
+
+    private final int[] perm = new int[512];
+
+    private final int[] permMod12 = new int[512];
+
+    /**
+     * Initialize Simplex noise.
+     *
+     * @param seed_ Seed.
+     */
+    public SimplexNoise(int seed_) {
+        seed = seed_;
+
+        int[] p = new int[256];
+
+        Random random = new Random(seed);
+
+        for(int i = 0; i < 256; i++) p[i] = i;
+
+        for(int i = 255; i > 0; i--) {
+            int n = random.nextInt(i + 1);
+
+            int swap = p[i];
+
+            p[i] = p[n];
+            p[n] = swap;
+        }
+
+        for(int i = 0; i < 512; i++) {
+            perm[i] = p[i & 255];
+
+            permMod12[i] = perm[i] % 12;
+        }
+    }
+
+    /**
+     * Sample noise [-1; 1].
+     *
+     * @param xin X.
+     * @param yin Y.
+     */
+    public double noise(double xin, double yin) {
+        double s = (xin + yin) * F2;
+
+        int i = fastfloor(xin + s), j = fastfloor(yin + s);
+
+        double t = (i + j) * G2;
+
+        double x0 = xin - (i - t), y0 = yin - (j - t);
+
+        int i1 = x0 > y0 ? 1 : 0, j1 = x0 > y0 ? 0 : 1;
+
+        double x1 = x0 - i1 + G2, y1 = y0 - j1 + G2;
+        double x2 = x0 - 1.0 + 2.0 * G2, y2 = y0 - 1.0 + 2.0 * G2;
+
+        int ii = i & 255, jj = j & 255;
+
+        int gi0 = perm[ii + perm[jj]] % 12, gi1 = perm[ii + i1 + perm[jj + j1]] % 12, gi2 = perm[ii + 1 + perm[jj + 1]] % 12;
+
+        return 70.0 * (corner(gi0, x0, y0) + corner(gi1, x1, y1) + corner(gi2, x2, y2));
+    }
+
+    /**
+     * Sample fractal noise (sum of octaves).
+     *
+     * @param x X.
+     * @param y Y.
+     * @param z Z (unused, 2D noise).
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public double fractalNoise(double x, double y, double z, int octaves, double persistence, double frequencyMult) {
+        double total = 0, frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < octaves; i++) {
+            total += noise(x * frequency, y * frequency) * amplitude;
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        return total / maxValue;
+    }
+
+    /**
+     * Sample turbulence noise (sum of absolute octaves).
+     *
+     * @param x X.
+     * @param y Y.
+     * @param z Z (unused, 2D noise).
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public double turbulenceNoise(double x, double y, double z, int octaves, double persistence, double frequencyMult) {
+        double total = 0, frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < octaves; i++) {
+            total += Math.abs(noise(x * frequency, y * frequency)) * amplitude;
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        return total / maxValue;
+    }
+
+    /**
+     * Sample ridge noise.
+     *
+     * @param x X.
+     * @param y Y.
+     * @param z Z (unused, 2D noise).
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public double ridgeNoise(double x, double y, double z, int octaves, double persistence, double frequencyMult) {
+        double total = 0, frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < octaves; i++) {
+            double n = noise(x * frequency, y * frequency);
+
+            total += (1 - Math.abs(n)) * amplitude;
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        return total / maxValue;
+    }
+
+    /**
+     * Sample billow noise.
+     *
+     * @param x X.
+     * @param y Y.
+     * @param z Z (unused, 2D noise).
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public double billowNoise(double x, double y, double z, int octaves, double persistence, double frequencyMult) {
+        double total = 0, frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < octaves; i++) {
+            double n = noise(x * frequency, y * frequency);
+
+            total += (2 * Math.abs(n) - 1) * amplitude;
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        return total / maxValue;
+    }
+
+    /**
+     * Sample noise for coordinate arrays.
+     *
+     * @param x X coordinates.
+     * @param y Y coordinates.
+     * @param dst Destination array (at least coordinates length, allocated if null).
+     */
+    public double[] noise(double[] x, double[] y, double[] dst) {
+        if(dst == null) dst = new double[x.length];
+
+        batch(x.length, y.length, dst.length);
+
+        for(int i = 0; i < x.length; i++) dst[i] = 0;
+
+        octave(FractalNoiseType.FRACTAL, x, y, dst, 1, 1);
+
+        return dst;
+    }
+
+    /**
+     * Sample fractal noise for coordinate arrays.
+     *
+     * @param type Octaves combination.
+     * @param x X coordinates.
+     * @param y Y coordinates.
+     * @param dst Destination array (at least coordinates length, allocated if null).
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public double[] fractalNoise(FractalNoiseType type, double[] x, double[] y, double[] dst, int octaves, double persistence, double frequencyMult) {
+        int count = x.length;
+
+        if(dst == null) dst = new double[count];
+
+        batch(count, y.length, dst.length);
+
+        double frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < count; i++) dst[i] = 0;
+
+        for(int octave = 0; octave < octaves; octave++) {
+            octave(type, x, y, dst, frequency, amplitude);
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        for(int i = 0; i < count; i++) dst[i] /= maxValue;
+
+        return dst;
+    }
+
+    /**
+     * Sample noise for coordinate arrays in float precision (half memory of double arrays, less precise far from origin).
+     *
+     * @param x X coordinates.
+     * @param y Y coordinates.
+     * @param dst Destination array (at least coordinates length, allocated if null).
+     */
+    public float[] noise(float[] x, float[] y, float[] dst) {
+        if(dst == null) dst = new float[x.length];
+
+        batch(x.length, y.length, dst.length);
+
+        for(int i = 0; i < x.length; i++) dst[i] = 0;
+
+        octave(FractalNoiseType.FRACTAL, x, y, dst, 1, 1);
+
+        return dst;
+    }
+
+    /**
+     * Sample fractal noise for coordinate arrays in float precision.
+     *
+     * @param type Octaves combination.
+     * @param x X coordinates.
+     * @param y Y coordinates.
+     * @param dst Destination array (at least coordinates length, allocated if null).
+     * @param octaves Octaves.
+     * @param persistence Persistence.
+     * @param frequencyMult Multiply frequency.
+     */
+    public float[] fractalNoise(FractalNoiseType type, float[] x, float[] y, float[] dst, int octaves, float persistence, float frequencyMult) {
+        int count = x.length;
+
+        if(dst == null) dst = new float[count];
+
+        batch(count, y.length, dst.length);
+
+        float frequency = 1, amplitude = 1, maxValue = 0;
+
+        for(int i = 0; i < count; i++) dst[i] = 0;
+
+        for(int octave = 0; octave < octaves; octave++) {
+            octave(type, x, y, dst, frequency, amplitude);
+
+            maxValue += amplitude;
+            amplitude *= persistence;
+            frequency *= frequencyMult;
+        }
+
+        for(int i = 0; i < count; i++) dst[i] /= maxValue;
+
+        return dst;
+    }
+
+    /**
+     * Get seed.
+     */
+    public int getSeed() {
+        return seed;
+    }
+
+    // Corner contribution.
+    private static double corner(int gi, double x, double y) {
+        double t = 0.5 - x * x - y * y;
+
+        if(t < 0) return 0.0;
+
+        t *= t;
+
+        return t * t * (GRAD3[gi][0] * x + GRAD3[gi][1] * y);
+    }
+
+    // Add octave to destination (batch kernel, same arithmetic as noise).
+    private void octave(FractalNoiseType type, double[] x, double[] y, double[] dst, double frequency, double amplitude) {
+        boolean cached = false;
+
+        int cellI = 0, cellJ = 0, g0 = 0, gLower = 0, gUpper = 0, g2 = 0;
+
+        for(int k = 0; k < x.length; k++) {
+            double xin = x[k] * frequency, yin = y[k] * frequency;
+
+            double s = (xin + yin) * F2;
+
+            int i = fastfloor(xin + s), j = fastfloor(yin + s);
+
+            if(!cached || i != cellI || j != cellJ) {
+                int ii = i & 255, jj = j & 255;
+
+                g0 = permMod12[ii + perm[jj]];
+                gLower = permMod12[ii + 1 + perm[jj]];
+                gUpper = permMod12[ii + perm[jj + 1]];
+                g2 = permMod12[ii + 1 + perm[jj + 1]];
+
+                cellI = i;
+                cellJ = j;
+
+                cached = true;
+            }
+
+            double t = (i + j) * G2;
+
+            double x0 = xin - (i - t), y0 = yin - (j - t);
+
+            boolean lower = x0 > y0;
+
+            double x1 = x0 - (lower ? 1 : 0) + G2, y1 = y0 - (lower ? 0 : 1) + G2;
+            double x2 = x0 - 1.0 + 2.0 * G2, y2 = y0 - 1.0 + 2.0 * G2;
+
+            double n = 70.0 * (corner2(g0, x0, y0) + corner2(lower ? gLower : gUpper, x1, y1) + corner2(g2, x2, y2));
+
+            dst[k] += type.shape(n) * amplitude;
+        }
+    }
+
+    // Add octave to destination (float batch kernel).
+    private void octave(FractalNoiseType type, float[] x, float[] y, float[] dst, float frequency, float amplitude) {
+        boolean cached = false;
+
+        int cellI = 0, cellJ = 0, g0 = 0, gLower = 0, gUpper = 0, g2 = 0;
+
+        for(int k = 0; k < x.length; k++) {
+            float xin = x[k] * frequency, yin = y[k] * frequency;
+
+            float s = (xin + yin) * F2_F;
+
+            int i = fastfloor(xin + s), j = fastfloor(yin + s);
+
+            if(!cached || i != cellI || j != cellJ) {
+                int ii = i & 255, jj = j & 255;
+
+                g0 = permMod12[ii + perm[jj]];
+                gLower = permMod12[ii + 1 + perm[jj]];
+                gUpper = permMod12[ii + perm[jj + 1]];
+                g2 = permMod12[ii + 1 + perm[jj + 1]];
+
+                cellI = i;
+                cellJ = j;
+
+                cached = true;
+            }
+
+            float t = (i + j) * G2_F;
+
+            float x0 = xin - (i - t), y0 = yin - (j - t);
+
+            boolean lower = x0 > y0;
+
+            float x1 = x0 - (lower ? 1 : 0) + G2_F, y1 = y0 - (lower ? 0 : 1) + G2_F;
+            float x2 = x0 - 1.0f + 2.0f * G2_F, y2 = y0 - 1.0f + 2.0f * G2_F;
+
+            float n = 70.0f * (corner2(g0, x0, y0) + corner2(lower ? gLower : gUpper, x1, y1) + corner2(g2, x2, y2));
+
+            dst[k] += type.shape(n) * amplitude;
+        }
+    }
+
+    // Corner contribution (batch kernels, gradient tables).
+    private static double corner2(int gi, double x, double y) {
+        double t = 0.5 - x * x - y * y;
+
+        if(t < 0) return 0.0;
+
+        t *= t;
+
+        return t * t * (GRAD_X[gi] * x + GRAD_Y[gi] * y);
+    }
+
+    private static float corner2(int gi, float x, float y) {
+        float t = 0.5f - x * x - y * y;
+
+        if(t < 0) return 0.0f;
+
+        t *= t;
+
+        return t * t * (GRAD_X_F[gi] * x + GRAD_Y_F[gi] * y);
+    }
+
+    private static int fastfloor(double x) {
+        return x > 0 ? (int) x : (int) x - 1;
+    }
+
+    // Check batch arrays (same coordinates lengths, destination fits).
+    private static void batch(int xLength, int yLength, int dstLength) {
+        assert_t(yLength != xLength, "coordinates lengths differ");
+        assert_t(dstLength < xLength, "dst.length < coordinates length");
+    }
+}
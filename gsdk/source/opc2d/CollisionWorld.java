@@ -0,0 +1,345 @@
+package gsdk.source.opc2d;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import static gsdk.source.generic.Assert.assert_t;
+
+/**
+ * Collision world for many pixel colliders.
+ * Colliders are registered with their positions and kept in spatial hash (uniform grid of cells). Hash is updated incrementally:
+ * only bodies whose cells range changed are re-inserted. Each update returns colliding pairs: pairs sharing a cell are tested by AABB (broad phase),
+ * only AABB-overlapping pairs reach pixel-exact bitmask test (narrow phase).
+ */
+public class CollisionWorld {
+    public static final int DEFAULT_CELL_SIZE = 128;
+
+    private final int cellSize;
+
+    private final HashMap<Long, CollisionCell> cells = new HashMap<>();
+
+    private ObjectPixelCollider[] colliders = new ObjectPixelCollider[16];
+
+    private int[] posX = new int[16], posY = new int[16];
+
+    // Current AABB [minX, minY, maxX, maxY) and cells range [cellX0, cellY0, cellX1, cellY1] of each body.
+    private int[] aabb = new int[16 * 4];
+
+    private int[] cellRange = new int[16 * 4];
+
+    private final int[] newCellRange = new int[4];
+
+    private boolean[] active = new boolean[16];
+
+    private int[] freeIds = new int[16];
+
+    private int freeCount = 0, bodiesEnd = 0, bodiesCount = 0;
+
+    private int[] pairs = new int[64];
+
+    private int pairsCount = 0;
+
+    /**
+     * Initialize collision world with default cell size.
+     */
+    public CollisionWorld() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Initialize collision world.
+     *
+     * @param cellSize_ Spatial hash cell size (should be about size of typical sprite).
+     */
+    public CollisionWorld(int cellSize_) {
+        assert_t(cellSize_ <= 0, "cellSize <= 0");
+
+        cellSize = cellSize_;
+    }
+
+    /**
+     * Register collider. Returns body id.
+     *
+     * @param collider Collider.
+     * @param x Sprite position X.
+     * @param y Sprite position Y.
+     */
+    public int add(ObjectPixelCollider collider, int x, int y) {
+        assert_t(collider.getPointsContainer() == null, "collider.getPointsContainer() == null: bake collider before adding it to world");
+
+        int id = freeCount > 0 ? freeIds[--freeCount] : bodiesEnd++;
+
+        ensureBodies(id + 1);
+
+        colliders[id] = collider;
+
+        posX[id] = x;
+        posY[id] = y;
+
+        active[id] = true;
+
+        bodiesCount++;
+
+        computeAABB(id);
+
+        computeCellRange(id, cellRange, id * 4);
+
+        forEachCell(id, true);
+
+        return id;
+    }
+
+    /**
+     * Move body (hash is updated on next <code>update</code>).
+     *
+     * @param id Body id.
+     * @param x Sprite position X.
+     * @param y Sprite position Y.
+     */
+    public void move(int id, int x, int y) {
+        posX[id] = x;
+        posY[id] = y;
+    }
+
+    /**
+     * Unregister body.
+     *
+     * @param id Body id.
+     */
+    public void remove(int id) {
+        if(!active[id]) return;
+
+        forEachCell(id, false);
+
+        active[id] = false;
+
+        colliders[id] = null;
+
+        bodiesCount--;
+
+        if(freeCount == freeIds.length) freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+
+        freeIds[freeCount++] = id;
+    }
+
+    /**
+     * Update spatial hash for moved bodies and find colliding pairs. Returns colliding pairs count.
+     */
+    public int update() {
+        CollisionWorldData.TOTAL_UPDATES++;
+
+        for(int id = 0; id < bodiesEnd; id++) {
+            if(!active[id]) continue;
+
+            computeAABB(id);
+
+            computeCellRange(id, newCellRange, 0);
+
+            int base = id * 4;
+
+            if(newCellRange[0] != cellRange[base] || newCellRange[1] != cellRange[base + 1] || newCellRange[2] != cellRange[base + 2] || newCellRange[3] != cellRange[base + 3]) {
+                forEachCell(id, false);
+
+                System.arraycopy(newCellRange, 0, cellRange, base, 4);
+
+                forEachCell(id, true);
+
+                CollisionWorldData.TOTAL_REHASHED_BODIES++;
+            }
+        }
+
+        pairsCount = 0;
+
+        CollisionWorldData.TOTAL_POSSIBLE_PAIRS += (long) bodiesCount * (bodiesCount - 1) / 2;
+
+        for(CollisionCell cell : cells.values()) {
+            for(int i = 0; i < cell.size; i++) {
+                for(int j = i + 1; j < cell.size; j++) testPair(cell, cell.ids[i], cell.ids[j]);
+            }
+        }
+
+        return pairsCount;
+    }
+
+    /**
+     * Get colliding pairs count found by last update.
+     */
+    public int getPairsCount() {
+        return pairsCount;
+    }
+
+    /**
+     * Get first body id of colliding pair.
+     *
+     * @param pair Pair index.
+     */
+    public int getPairA(int pair) {
+        return pairs[pair * 2];
+    }
+
+    /**
+     * Get second body id of colliding pair.
+     *
+     * @param pair Pair index.
+     */
+    public int getPairB(int pair) {
+        return pairs[pair * 2 + 1];
+    }
+
+    /**
+     * Get body collider.
+     *
+     * @param id Body id.
+     */
+    public ObjectPixelCollider getCollider(int id) {
+        return colliders[id];
+    }
+
+    /**
+     * Get body position X.
+     *
+     * @param id Body id.
+     */
+    public int getX(int id) {
+        return posX[id];
+    }
+
+    /**
+     * Get body position Y.
+     *
+     * @param id Body id.
+     */
+    public int getY(int id) {
+        return posY[id];
+    }
+
+    /**
+     * Get registered bodies count.
+     */
+    public int getBodiesCount() {
+        return bodiesCount;
+    }
+
+    /**
+     * Get spatial hash cell size.
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    private void testPair(CollisionCell cell, int a, int b) {
+        CollisionWorldData.TOTAL_BROAD_PHASE_TESTS++;
+
+        int ia = a * 4, ib = b * 4;
+
+        int minX = Math.max(aabb[ia], aabb[ib]), minY = Math.max(aabb[ia + 1], aabb[ib + 1]);
+
+        if(minX >= Math.min(aabb[ia + 2], aabb[ib + 2]) || minY >= Math.min(aabb[ia + 3], aabb[ib + 3])) return;
+
+        // Pair shares several cells: test it only in cell containing top-left corner of AABBs intersection.
+        if(Math.floorDiv(minX, cellSize) != cell.x || Math.floorDiv(minY, cellSize) != cell.y) return;
+
+        CollisionWorldData.TOTAL_NARROW_PHASE_TESTS++;
+
+        if(colliders[a].intersectsSPC(posX[a], posY[a], posX[b], posY[b], colliders[b])) {
+            CollisionWorldData.TOTAL_COLLIDING_PAIRS++;
+
+            if(pairsCount * 2 == pairs.length) pairs = Arrays.copyOf(pairs, pairs.length * 2);
+
+            pairs[pairsCount * 2] = Math.min(a, b);
+            pairs[pairsCount * 2 + 1] = Math.max(a, b);
+
+            pairsCount++;
+        }
+    }
+
+    private void computeAABB(int id) {
+        PixelColliderMask mask = colliders[id].getPointsContainer().getMask();
+
+        int base = id * 4;
+
+        aabb[base] = posX[id] + mask.getMinX();
+        aabb[base + 1] = posY[id] + mask.getMinY();
+        aabb[base + 2] = aabb[base] + mask.getWidth();
+        aabb[base + 3] = aabb[base + 1] + mask.getHeight();
+    }
+
+    private void computeCellRange(int id, int[] out, int offset) {
+        int base = id * 4;
+
+        out[offset] = Math.floorDiv(aabb[base], cellSize);
+        out[offset + 1] = Math.floorDiv(aabb[base + 1], cellSize);
+        out[offset + 2] = Math.floorDiv(Math.max(aabb[base], aabb[base + 2] - 1), cellSize);
+        out[offset + 3] = Math.floorDiv(Math.max(aabb[base + 1], aabb[base + 3] - 1), cellSize);
+    }
+
+    private void forEachCell(int id, boolean insert) {
+        int base = id * 4;
+
+        for(int cy = cellRange[base + 1]; cy <= cellRange[base + 3]; cy++) {
+            for(int cx = cellRange[base]; cx <= cellRange[base + 2]; cx++) {
+                long key = ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+
+                if(insert) {
+                    CollisionCell cell = cells.get(key);
+
+                    if(cell == null) cells.put(key, cell = new CollisionCell(cx, cy));
+
+                    cell.add(id);
+                } else {
+                    CollisionCell cell = cells.get(key);
+
+                    if(cell != null && cell.remove(id) && cell.size == 0) cells.remove(key);
+                }
+            }
+        }
+    }
+
+    private void ensureBodies(int capacity) {
+        if(capacity <= colliders.length) return;
+
+        int newCapacity = Math.max(capacity, colliders.length * 2);
+
+        colliders = Arrays.copyOf(colliders, newCapacity);
+
+        posX = Arrays.copyOf(posX, newCapacity);
+        posY = Arrays.copyOf(posY, newCapacity);
+
+        aabb = Arrays.copyOf(aabb, newCapacity * 4);
+        cellRange = Arrays.copyOf(cellRange, newCapacity * 4);
+
+        active = Arrays.copyOf(active, newCapacity);
+    }
+
+    // Spatial hash cell: bodies ids list.
+    private static class CollisionCell {
+        final int x, y;
+
+        int[] ids = new int[4];
+
+        int size = 0;
+
+        CollisionCell(int x_, int y_) {
+            x = x_;
+            y = y_;
+        }
+
+        void add(int id) {
+            if(size == ids.length) ids = Arrays.copyOf(ids, ids.length * 2);
+
+            ids[size++] = id;
+        }
+
+        boolean remove(int id) {
+            for(int i = 0; i < size; i++) {
+                if(ids[i] == id) {
+                    ids[i] = ids[--size];
+
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package gsdk.source.opc2d;
+
+import com.raylib.Raylib;
+
+import static com.raylib.Jaylib.RED;
+
+/**
+ * Collision World Data (broad phase counters).
+ */
+public class CollisionWorldData {
+    /**
+     * Total world updates.
+     */
+    public static int TOTAL_UPDATES = 0;
+
+    /**
+     * Total bodies re-inserted into spatial hash (cells range changed).
+     */
+    public static int TOTAL_REHASHED_BODIES = 0;
+
+    /**
+     * Total pairs possible without broad phase (n * (n - 1) / 2 per update).
+     */
+    public static long TOTAL_POSSIBLE_PAIRS = 0;
+
+    /**
+     * Total pairs sharing spatial hash cell (AABB tests).
+     */
+    public static long TOTAL_BROAD_PHASE_TESTS = 0;
+
+    /**
+     * Total pairs with overlapping AABBs (pixel-exact tests).
+     */
+    public static long TOTAL_NARROW_PHASE_TESTS = 0;
+
+    /**
+     * Total colliding pairs.
+     */
+    public static long TOTAL_COLLIDING_PAIRS = 0;
+
+    /**
+     * Get part of possible pairs culled before narrow phase (0.0 - 1.0).
+     */
+    public static double cullingRatio() {
+        return TOTAL_POSSIBLE_PAIRS <= 0 ? 0.0 : 1.0 - (double) TOTAL_NARROW_PHASE_TESTS / TOTAL_POSSIBLE_PAIRS;
+    }
+
+    /**
+     * Get part of narrow phase tests that ended with collision (0.0 - 1.0).
+     */
+    public static double narrowPhaseHitRatio() {
+        return TOTAL_NARROW_PHASE_TESTS <= 0 ? 0.0 : (double) TOTAL_COLLIDING_PAIRS / TOTAL_NARROW_PHASE_TESTS;
+    }
+
+    /**
+     * Reset all counters.
+     */
+    public static void reset() {
+        TOTAL_UPDATES = 0;
+        TOTAL_REHASHED_BODIES = 0;
+
+        TOTAL_POSSIBLE_PAIRS = 0;
+        TOTAL_BROAD_PHASE_TESTS = 0;
+        TOTAL_NARROW_PHASE_TESTS = 0;
+        TOTAL_COLLIDING_PAIRS = 0;
+    }
+
+    /**
+     * Render debug information.
+     *
+     * @param x Position X.
+     * @param y Position Y.
+     * @param color Color.
+     */
+    public static void debug(int x, int y, Raylib.Color color) {
+        Raylib.DrawText("GSDK OPC2D-technique | CollisionWorld Debug:", x, y, 18, color);
+        Raylib.DrawText(String.format("CollisionWorldData::TOTAL_UPDATES: %d", TOTAL_UPDATES), x, 15 + y, 18, color);
+        Raylib.DrawText(String.format("CollisionWorldData::TOTAL_REHASHED_BODIES: %d", TOTAL_REHASHED_BODIES), x, 30 + y, 18, color);
+        Raylib.DrawText(String.format("CollisionWorldData::TOTAL_POSSIBLE_PAIRS: %d", TOTAL_POSSIBLE_PAIRS), x, 45 + y, 18, color);
+        Raylib.DrawText(String.format("CollisionWorldData::TOTAL_BROAD_PHASE_TESTS: %d", TOTAL_BROAD_PHASE_TESTS), x, 60 + y, 18, color);
+        Raylib.DrawText(String.format("CollisionWorldData::TOTAL_NARROW_PHASE_TESTS: %d", TOTAL_NARROW_PHASE_TESTS), x, 75 + y, 18, color);
+        Raylib.DrawText(String.format("CollisionWorldData::TOTAL_COLLIDING_PAIRS: %d", TOTAL_COLLIDING_PAIRS), x, 90 + y, 18, color);
+        Raylib.DrawText(String.format("CollisionWorldData::cullingRatio: %.4f", cullingRatio()), x, 105 + y, 18, color);
+    }
+
+    /**
+     * Render debug information.
+     *
+     * @param x Position X.
+     * @param y Position Y.
+     */
+    public static void debug(int x, int y) {
+        debug(x, y, RED);
+    }
+
+    /**
+     * Render debug information.
+     *
+     * @param x Position X.
+     */
+    public static void debug(int x) {
+        debug(x, 0);
+    }
+}
@@ -5,7 +5,11 @@
  *      opc2d::ObjectPixelCollider.java (must-have when integrating OPC2D),
  *      opc2d::PixelColliderContainer.java (must-have when integrating OPC2D),
  *      opc2d::SPCData.java (must-have when integrating OPC2D),
- *      structures::QuadTree.java (must-have when integrating OPC2D),
+ *      opc2d::PixelColliderMask.java (must-have when integrating OPC2D),
+ *      opc2d::PixelColliderScanner.java (must-have when integrating OPC2D),
+ *      opc2d::PixelColliderCache.java (optional, persistent bake cache),
+ *      opc2d::PixelColliderTransformCache.java (optional, precomputed rotation/scale variants),
+ *      structures::LinearQuadTree.java (must-have when integrating OPC2D),
  *      vectors::Vector2Di.java (must-have when integrating OPC2D),
  *      utils::Assert.java (must-have when integrating OPC2D).
  * This means that you also have to fulfil the licence requirements without having to plug the whole SDK into your project.
@@ -21,42 +25,12 @@
  
  import static com.raylib.Jaylib.RED;
  
- import java.util.ArrayList;
- 
- import java.util.HashSet;
- 
- import static java.util.Objects.hash;
- 
  import gsdk.source.vectors.Vector2Di;
  
- import gsdk.source.structures.QuadTree;
+ import gsdk.source.structures.LinearQuadTree;
  
  import static gsdk.source.generic.Assert.assert_f;
- 
- class CollisionPoint {
-     int x, y;
- 
-     CollisionPoint(int x, int y) {
-         this.x = x;
-         this.y = y;
-     }
- 
-     @Override
-     public boolean equals(Object object) {
-         if(this == object) return true;
- 
-         if (object == null || getClass() != object.getClass()) return false;
- 
-         CollisionPoint point = (CollisionPoint) object;
- 
-         return x == point.x && y == point.y;
-     }
- 
-     @Override
-     public int hashCode() {
-         return hash(x, y);
-     }
- }
+ import static gsdk.source.generic.Assert.assert_t;
  
  /**
   * OPC2D - Object pixel points scanning technique for 99.9% pixel correct colliders for objects.
@@ -64,22 +38,23 @@
  public class ObjectPixelCollider {
      private PixelColliderContainer pointsContainer = null;
  
-     private QuadTree qTree;
+     private LinearQuadTree qTree = null;
  
-     private Vector2Di lBakedColliderPos;
+     // Cached variant installed by transformCollider (null after any other container change).
+     private PixelColliderContainer installedVariant = null;
  
-     private final HashSet<CollisionPoint> colliderPointsBake;
+     private Vector2Di lBakedColliderPos = null;
  
      private final Raylib.Image spriteImage;
  
+     private int alphaThreshold = PixelColliderScanner.DEFAULT_ALPHA_THRESHOLD;
+ 
      /**
       * Initialize pixel collider.
       *
       * @param sprite Sprite (Raylib Image).
       */
      public ObjectPixelCollider(Raylib.Image sprite) {
-         colliderPointsBake = new HashSet<>();
- 
          spriteImage = sprite;
  
          assert_f(Raylib.IsImageReady(spriteImage), "spriteImage != valid");
@@ -91,8 +66,6 @@
       * @param points Points container.
       */
      public ObjectPixelCollider(PixelColliderContainer points) {
-         colliderPointsBake = new HashSet<>();
- 
          pointsContainer = points;
  
          spriteImage = null;
@@ -101,61 +74,92 @@
      }
  
      /**
-      * Initialize collision points bake set, parse sprite pixels with more than zero alpha, initialize pixel container, quad tree, etc...
+      * Initialize collision points bake set, parse sprite pixels with alpha above threshold, initialize pixel container.
       */
      public void bake() {
          SPCData.TOTAL_BAKE_REQUESTS++;
  
          assert_f(spriteImage != null, "spriteImage == null: maybe using custom pixel collider container?");
  
-         ArrayList<int[]> pxListNoAlphaList = new ArrayList<>();
+         setBakedMask(PixelColliderScanner.scan(spriteImage, alphaThreshold).trim());
  
-         for(int y=0; y < spriteImage.height(); y++) {
-             for(int x=0; x < spriteImage.width(); x++) {
-                 if(Raylib.GetImageColor(spriteImage, x, y).a() < 0) {
-                     pxListNoAlphaList.add(new int[] {x, y});
-                 }
-             }
-         }
+         qTree = new LinearQuadTree(pointsContainer.getPoints());
+     }
+ 
+     /**
+      * Bake using persistent collider cache: load collider if image and bake parameters were baked before, otherwise bake and store it.
+      *
+      * @param cache Collider cache.
+      */
+     public void bake(PixelColliderCache cache) {
+         assert_f(spriteImage != null, "spriteImage == null: maybe using custom pixel collider container?");
  
-         int[][] pxListNoAlpha = new int[pxListNoAlphaList.size()][2];
+         String key = cache.key(spriteImage, alphaThreshold);
  
-         for(int index = 0; index < pxListNoAlphaList.size(); index++) {
-             pxListNoAlpha[index] = pxListNoAlphaList.get(index);
+         PixelColliderMask mask = cache.load(key);
+ 
+         if(mask == null) {
+             bake();
+ 
+             cache.store(key, pointsContainer.getMask());
+ 
+             return;
          }
  
-         pointsContainer = new PixelColliderContainer(pxListNoAlpha.length);
+         SPCData.TOTAL_BAKE_REQUESTS++;
  
-         pointsContainer.setPoints(pxListNoAlpha);
+         setBakedMask(mask);
  
-         qTree = new QuadTree(0, new int[] {0, 0, spriteImage.width(), spriteImage.height()});
+         qTree = null;
+     }
  
-         pxListNoAlphaList.forEach(qTree::insert);
+     /**
+      * Set alpha threshold used by <code>bake</code> (pixel is solid if alpha >= threshold).
+      *
+      * @param alphaThreshold_ Alpha threshold [0; 255].
+      */
+     public void setAlphaThreshold(int alphaThreshold_) {
+         assert_t(alphaThreshold_ < 0 || alphaThreshold_ > 255, "alphaThreshold < 0 || alphaThreshold > 255");
+ 
+         alphaThreshold = alphaThreshold_;
+     }
+ 
+     /**
+      * Get alpha threshold used by <code>bake</code>.
+      */
+     public int getAlphaThreshold() {
+         return alphaThreshold;
+     }
+ 
+     private void setBakedMask(PixelColliderMask mask) {
+         int[][] pxListNoAlpha = mask.toPoints();
+ 
+         pointsContainer = new PixelColliderContainer(pxListNoAlpha.length);
+ 
+         pointsContainer.setPoints(pxListNoAlpha, mask);
+ 
+         installedVariant = null;
  
          SPCData.TOTAL_POINTS_BAKED += pointsContainer.getPointsLength();
      }
  
      /**
-      * Bake collider points set.
+      * Bake collider at position (collider bitmask is placed at position for <code>intersectsSPCBaked</code>).
       *
       * @param pos Sprite position.
       */
      public void bakeCollider(Vector2Di pos) {
          SPCData.TOTAL_BAKE_REQUESTS++;
  
-         colliderPointsBake.clear();
- 
-         for(int[] point : getPointsContainer().getPoints()) {
-             colliderPointsBake.add(new CollisionPoint(point[0] + pos.x(), point[1] + pos.y()));
-         }
+         getPointsContainer().getMask();
  
          lBakedColliderPos = pos;
  
-         SPCData.TOTAL_COLLIDER_POINTS_BAKED += colliderPointsBake.size();
+         SPCData.TOTAL_COLLIDER_POINTS_BAKED += getPointsSize();
      }
  
      /**
-      * Bake collider points set.
+      * Bake collider at position (collider bitmask is placed at position for <code>intersectsSPCBaked</code>).
       *
       * @param x Sprite X Position.
       * @param y Sprite Y Position.
@@ -168,7 +172,7 @@
       * Is baked collision available?
       */
      public boolean bakedCollisionAvailable() {
-         return colliderPointsBake.size() > 0;
+         return lBakedColliderPos != null && pointsContainer != null && getPointsSize() > 0;
      }
  
      /**
@@ -178,6 +182,10 @@
       */
      public void updateColliderContainer(PixelColliderContainer container) {
          pointsContainer = container;
+ 
+         installedVariant = null;
+ 
+         qTree = null;
      }
  
      /**
@@ -188,6 +196,10 @@
       */
      public void rotateCollider(double angle, Vector2Di origin) {
          if(pointsContainer != null) pointsContainer.rotate(angle, origin);
+ 
+         installedVariant = null;
+ 
+         qTree = null;
      }
  
      /**
@@ -203,6 +215,24 @@
          }
      }
  
+     /**
+      * Transform collider using precomputed variants (nearest variant lookup, no points recompute).
+      *
+      * @param cache Transform cache of this collider.
+      * @param angle Angle.
+      * @param scale Scale factor.
+      */
+     public void transformCollider(PixelColliderTransformCache cache, double angle, double scale) {
+         PixelColliderContainer variant = cache.get(angle, scale);
+ 
+         if(variant == installedVariant) return;
+ 
+         // Variant is shared by cache: collider gets own container, so rotateCollider/scaleCollider can't corrupt cache.
+         updateColliderContainer(variant.copy());
+ 
+         installedVariant = variant;
+     }
+ 
      /**
       * Re-scale collider.
       * 
@@ -211,18 +241,26 @@
       */
      public void scaleCollider(int scaleWidth, int scaleHeight) {
          if(pointsContainer != null) pointsContainer.scale(scaleWidth, scaleHeight);
+ 
+         installedVariant = null;
+ 
+         qTree = null;
      }
  
      /**
-      * Is point in the area of sprite.
+      * Is point rectangle overlapping collider bounds (half-open [pos; pos + size) boxes, collider bounds are taken from points mask, so container colliders work too).
       *
       * @param spritePos Sprite position.
       * @param pointSize Point size.
       * @param pointPos Point position.
       */
      public boolean inArea(Vector2Di spritePos, Vector2Di pointSize, Vector2Di pointPos) {
-         return spritePos.x() < pointSize.x() && spriteImage.width() > pointPos.x() &&
-             spritePos.y() < pointSize.y() && spriteImage.height() > pointPos.y();
+         PixelColliderMask mask = getPointsContainer().getMask();
+ 
+         int minX = spritePos.x() + mask.getMinX(), minY = spritePos.y() + mask.getMinY();
+ 
+         return minX < pointPos.x() + pointSize.x() && pointPos.x() < minX + mask.getWidth() &&
+             minY < pointPos.y() + pointSize.y() && pointPos.y() < minY + mask.getHeight();
      }
  
      /**
@@ -283,16 +321,12 @@
  
          if(!inArea(spritePos, pointSize, pointPos)) return false;
  
-         int[] pointBounds = {pointPos.x(), pointPos.y(), pointPos.x() + pointSize.x(), pointPos.y() + pointSize.y()};
+         // Range query in sprite local coordinates.
+         int minX = pointPos.x() - spritePos.x();
+         int minY = pointPos.y() - spritePos.y();
  
-         for(int[] point : qTree.retrieve(new ArrayList<>(), pointBounds)) {
-             int x = point[0] + spritePos.x();
-             int y = point[1] + spritePos.y();
- 
-             if(x >= pointBounds[0] && x < pointBounds[2] &&
-                 y >= pointBounds[1] && y < pointBounds[3]) {
-                    SPCData.TOTAL_COLLISIONS_SUCCEEDED++; return true; }
-         }
+         if(getQuadTree().intersects(minX, minY, minX + pointSize.x(), minY + pointSize.y())) {
+             SPCData.TOTAL_COLLISIONS_SUCCEEDED++; return true; }
  
          SPCData.TOTAL_COLLISIONS_FAILED++;
  
@@ -319,30 +353,32 @@
  
      /**
       * Check collision between sprite collider and other sprite collider without using baked collision.
+      * Colliders are tested as bitmasks: word-wise AND over overlapping rows only.
       *
       * @param spritePos1 First sprite position.
       * @param spritePos2 Second sprite position.
       * @param sprite2Collider Second sprite collider.
       */
      public boolean intersectsSPC(Vector2Di spritePos1, Vector2Di spritePos2, ObjectPixelCollider sprite2Collider) {
-         SPCData.TOTAL_COLLISION_CHECKS++;
- 
-         if(!inArea(spritePos1, sprite2Collider.getRawSize(), spritePos2)) return false;
- 
-         int[][] sprite1Points = getPointsContainer().getPoints();
- 
-         int[][] sprite2Points = sprite2Collider.getPointsContainer().getPoints();
- 
-         HashSet<CollisionPoint> sprite2PointsSet = new HashSet<>();
+         return intersectsSPC(spritePos1.x(), spritePos1.y(), spritePos2.x(), spritePos2.y(), sprite2Collider);
+     }
  
-         for(int[] point : sprite2Points) sprite2PointsSet.add(new CollisionPoint(point[0] + spritePos2.x(), point[1] + spritePos2.y()));
+     /**
+      * Check collision between sprite collider and other sprite collider without using baked collision.
+      *
+      * @param sprite1X First sprite X Position.
+      * @param sprite1Y First sprite Y Position.
+      * @param sprite2X Second sprite X Position.
+      * @param sprite2Y Second sprite Y Position.
+      * @param sprite2Collider Second sprite collider.
+      */
+     public boolean intersectsSPC(int sprite1X, int sprite1Y, int sprite2X, int sprite2Y, ObjectPixelCollider sprite2Collider) {
+         SPCData.TOTAL_COLLISION_CHECKS++;
  
-         for(int[] point : sprite1Points) {
-             if(sprite2PointsSet.contains(new CollisionPoint(point[0] + spritePos1.x(), point[1] + spritePos1.y()))) {
-                 SPCData.TOTAL_COLLISIONS_SUCCEEDED++;
+         if(getPointsContainer().getMask().intersects(sprite1X, sprite1Y, sprite2Collider.getPointsContainer().getMask(), sprite2X, sprite2Y)) {
+             SPCData.TOTAL_COLLISIONS_SUCCEEDED++;
  
-                 return true;
-             }
+             return true;
          }
  
          SPCData.TOTAL_COLLISIONS_FAILED++;
@@ -351,21 +387,39 @@
      }
  
      /**
-      * Check collision between sprite collider and other sprite collider without using baked collision.
+      * Continuous (swept) collision check: move sprite collider from start to end position against other sprite collider.
+      * Returns earliest time of impact in [0; 1] (multiply by motion to get impact position) or -1 if there is no collision along the motion.
       *
-      * @param sprite1X First sprite X Position.
-      * @param sprite1Y First sprite Y Position.
+      * @param start First sprite start position.
+      * @param end First sprite end position.
+      * @param spritePos2 Second sprite position.
+      * @param sprite2Collider Second sprite collider.
+      */
+     public double sweepSPC(Vector2Di start, Vector2Di end, Vector2Di spritePos2, ObjectPixelCollider sprite2Collider) {
+         return sweepSPC(start.x(), start.y(), end.x(), end.y(), spritePos2.x(), spritePos2.y(), sprite2Collider);
+     }
+ 
+     /**
+      * Continuous (swept) collision check: move sprite collider from start to end position against other sprite collider.
+      * Returns earliest time of impact in [0; 1] or -1 if there is no collision along the motion.
+      *
+      * @param startX First sprite start X position.
+      * @param startY First sprite start Y position.
+      * @param endX First sprite end X position.
+      * @param endY First sprite end Y position.
       * @param sprite2X Second sprite X Position.
       * @param sprite2Y Second sprite Y Position.
       * @param sprite2Collider Second sprite collider.
       */
-     public boolean intersectsSPC(int sprite1X, int sprite1Y, int sprite2X, int sprite2Y, ObjectPixelCollider sprite2Collider) {
-         return intersectsSPC(
-             new Vector2Di(sprite1X, sprite1Y),
-             new Vector2Di(sprite2X, sprite2Y),
+     public double sweepSPC(int startX, int startY, int endX, int endY, int sprite2X, int sprite2Y, ObjectPixelCollider sprite2Collider) {
+         SPCData.TOTAL_COLLISION_CHECKS++;
  
-             sprite2Collider
-         );
+         double toi = getPointsContainer().getMask().sweep(startX, startY, endX, endY, sprite2Collider.getPointsContainer().getMask(), sprite2X, sprite2Y);
+ 
+         if(toi >= 0) SPCData.TOTAL_COLLISIONS_SUCCEEDED++;
+         else SPCData.TOTAL_COLLISIONS_FAILED++;
+ 
+         return toi;
      }
  
      /**
@@ -376,17 +430,27 @@
       * @param sprite2Collider Second sprite collider.
       */
      public boolean intersectsSPCBaked(Vector2Di spritePos, ObjectPixelCollider sprite2Collider) {
+         return intersectsSPCBaked(spritePos.x(), spritePos.y(), sprite2Collider);
+     }
+ 
+     /**
+      * Check collision between sprite collider and other sprite collider with pre-baked collision.
+      * Second sprite collider should be baked before calling this function.
+      *
+      * @param spriteX First sprite X Position.
+      * @param spriteY First sprite Y Position.
+      * @param sprite2Collider Second sprite collider.
+      */
+     public boolean intersectsSPCBaked(int spriteX, int spriteY, ObjectPixelCollider sprite2Collider) {
          SPCData.TOTAL_COLLISION_CHECKS++;
  
          if(sprite2Collider.bakedCollisionAvailable()) {
-             for(int[] point : getPointsContainer().getPoints()) {
-                 CollisionPoint collisionPoint = new CollisionPoint(point[0] + spritePos.x(), point[1] + spritePos.y());
+             Vector2Di bakedPos = sprite2Collider.lBakedColliderPos;
  
-                 if(sprite2Collider.colliderPointsBake.contains(collisionPoint)) {
-                     SPCData.TOTAL_COLLISIONS_SUCCEEDED++;
+             if(getPointsContainer().getMask().intersects(spriteX, spriteY, sprite2Collider.getPointsContainer().getMask(), bakedPos.x(), bakedPos.y())) {
+                 SPCData.TOTAL_COLLISIONS_SUCCEEDED++;
  
-                     return true;
-                 }
+                 return true;
              }
  
              SPCData.TOTAL_COLLISIONS_FAILED++;
@@ -397,18 +461,6 @@
          return false;
      }
  
-     /**
-      * Check collision between sprite collider and other sprite collider with pre-baked collision.
-      * Second sprite collider should be baked before calling this function.
-      *
-      * @param spriteX First sprite X Position.
-      * @param spriteY First sprite Y Position.
-      * @param sprite2Collider Second sprite collider.
-      */
-     public boolean intersectsSPCBaked(int spriteX, int spriteY, ObjectPixelCollider sprite2Collider) {
-         return intersectsSPCBaked(new Vector2Di(spriteX, spriteY), sprite2Collider);
-     }
- 
      /**
       * Simple debug for collider points container. Draws each points as pixel on the screen.
       * 
@@ -461,17 +513,19 @@
      }
  
      /**
-      * Get quad tree.
+      * Get quad tree (built from points container on demand).
       */
-     public QuadTree getQuadTree() {
+     public LinearQuadTree getQuadTree() {
+         if(qTree == null && pointsContainer != null) qTree = new LinearQuadTree(pointsContainer.getPoints());
+ 
          return qTree;
      }
  
      /**
-      * Get baked collision points set size.
+      * Get baked collision points size.
       */
      public int getBakedCollisionPointsSize() {
-         return colliderPointsBake.size();
+         return bakedCollisionAvailable() ? getPointsSize() : 0;
      }
  
      /**
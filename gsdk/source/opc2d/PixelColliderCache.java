@@ -0,0 +1,256 @@
+package gsdk.source.opc2d;
+
+import com.raylib.Raylib;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static gsdk.source.generic.GLogger.warning;
+
+/**
+ * Persistent on-disk cache of baked pixel colliders.
+ * Each entry is single binary file named by SHA-256 of source image (size, format, pixel data) and bake parameters (alpha threshold).
+ * Entry stores collider bitmask; it is written to temporary file and atomically moved in place, and loaded with memory-mapped I/O.
+ * Entries with other format version or key are treated as missing (stale) and overwritten on next store.
+ *
+ * <pre>
+ * File layout (big-endian):
+ *     int     MAGIC
+ *     int     VERSION
+ *     byte[]  key digest (32 bytes)
+ *     int     mask minX, minY, width, height
+ *     int     set pixels count
+ *     long[]  mask bits (wordsPerRow * height)
+ * </pre>
+ */
+public class PixelColliderCache {
+    /**
+     * Cache file magic ("OPC2").
+     */
+    public static final int MAGIC = 0x4F504332;
+
+    /**
+     * Cache format version (increment when layout or bake semantics change).
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Cache file extension.
+     */
+    public static final String EXTENSION = ".opc";
+
+    private static final int DIGEST_SIZE = 32;
+
+    private static final int HEADER_SIZE = 4 + 4 + DIGEST_SIZE + 4 * 4 + 4;
+
+    private final Path directory;
+
+    /**
+     * Initialize cache in directory (created if missing).
+     *
+     * @param directory_ Cache directory.
+     */
+    public PixelColliderCache(String directory_) {
+        directory = Paths.get(directory_);
+
+        try {
+            Files.createDirectories(directory);
+        } catch(IOException ioExc) {
+            warning("Can't create pixel collider cache directory: " + ioExc.getMessage());
+        }
+    }
+
+    /**
+     * Compute cache key of image and bake parameters.
+     *
+     * @param image Source image.
+     * @param alphaThreshold Bake alpha threshold.
+     */
+    public String key(Raylib.Image image, int alphaThreshold) {
+        return toHex(digest(image, alphaThreshold));
+    }
+
+    /**
+     * Load cached mask. Returns null if entry is missing, stale or damaged.
+     *
+     * @param key Cache key.
+     */
+    public PixelColliderMask load(String key) {
+        Path file = getPath(key);
+
+        if(!Files.isRegularFile(file)) {
+            SPCData.TOTAL_CACHE_MISSES++; return null;
+        }
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if(size < HEADER_SIZE) return stale(file, "truncated header");
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if(buffer.getInt() != MAGIC) return stale(file, "bad magic");
+
+            int version = buffer.getInt();
+
+            if(version != VERSION) return stale(file, "version " + version + " != " + VERSION);
+
+            byte[] digest = new byte[DIGEST_SIZE];
+
+            buffer.get(digest);
+
+            if(!toHex(digest).equals(key)) return stale(file, "key mismatch");
+
+            int minX = buffer.getInt(), minY = buffer.getInt(), width = buffer.getInt(), height = buffer.getInt();
+
+            int count = buffer.getInt();
+
+            if(width < 0 || height < 0) return stale(file, "bad mask size");
+
+            // Words count checked against file size before allocation (damaged header must not allocate huge masks).
+            long wordsCount = ((width + 63L) >>> 6) * height;
+
+            if(size != HEADER_SIZE + wordsCount * Long.BYTES) return stale(file, "bad file size");
+
+            PixelColliderMask mask = new PixelColliderMask(minX, minY, width, height);
+
+            long[] bits = mask.getBits();
+
+            LongBuffer words = buffer.asLongBuffer();
+
+            words.get(bits);
+
+            if(mask.count() != count) return stale(file, "bad pixels count");
+
+            SPCData.TOTAL_CACHE_HITS++;
+
+            return mask;
+        } catch(IOException ioExc) {
+            return stale(file, ioExc.getMessage());
+        }
+    }
+
+    /**
+     * Store mask (written atomically). Returns true on success.
+     *
+     * @param key Cache key.
+     * @param mask Collider mask.
+     */
+    public boolean store(String key, PixelColliderMask mask) {
+        Path file = getPath(key), temp = null;
+
+        long[] bits = mask.getBits();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bits.length * Long.BYTES);
+
+        buffer.putInt(MAGIC).putInt(VERSION).put(fromHex(key));
+
+        buffer.putInt(mask.getMinX()).putInt(mask.getMinY()).putInt(mask.getWidth()).putInt(mask.getHeight()).putInt(mask.count());
+
+        buffer.asLongBuffer().put(bits);
+
+        buffer.rewind();
+
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+
+            try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while(buffer.hasRemaining()) channel.write(buffer);
+
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch(AtomicMoveNotSupportedException atomicExc) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            return true;
+        } catch(IOException ioExc) {
+            warning("Can't store pixel collider cache entry: " + ioExc.getMessage());
+
+            try {
+                if(temp != null) Files.deleteIfExists(temp);
+            } catch(IOException ignored) {}
+
+            return false;
+        }
+    }
+
+    /**
+     * Get entry file path.
+     *
+     * @param key Cache key.
+     */
+    public Path getPath(String key) {
+        return directory.resolve(key + EXTENSION);
+    }
+
+    /**
+     * Get cache directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private PixelColliderMask stale(Path file, String reason) {
+        warning("Stale pixel collider cache entry " + file.getFileName() + " (" + reason + "): rebaking.");
+
+        SPCData.TOTAL_CACHE_MISSES++;
+
+        return null;
+    }
+
+    private static byte[] digest(Raylib.Image image, int alphaThreshold) {
+        MessageDigest sha;
+
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch(NoSuchAlgorithmException algExc) {
+            throw new IllegalStateException(algExc);
+        }
+
+        ByteBuffer params = ByteBuffer.allocate(4 * 4);
+
+        params.putInt(image.width()).putInt(image.height()).putInt(image.format()).putInt(alphaThreshold).flip();
+
+        sha.update(params);
+        sha.update(PixelColliderScanner.pixelData(image));
+
+        return sha.digest();
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+
+        for(byte b : bytes) hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+
+        return hex.toString();
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[DIGEST_SIZE];
+
+        if(hex.length() != DIGEST_SIZE * 2) return bytes;
+
+        for(int i = 0; i < DIGEST_SIZE; i++) bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+
+        return bytes;
+    }
+}
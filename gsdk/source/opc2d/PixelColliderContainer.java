@@ -14,6 +14,8 @@ import static gsdk.source.generic.Assert.assert_t;
 public class PixelColliderContainer {
     private int[][] points;
 
+    private PixelColliderMask mask = null;
+
     /**
      * Initialize pixel collider points container.
      *
@@ -32,6 +34,20 @@ public class PixelColliderContainer {
         assert_t(points_.length > points.length, "array of points is bigger than maximal possible size");
 
         points = points_;
+
+        mask = null;
+    }
+
+    /**
+     * Set points array with already computed mask.
+     *
+     * @param points_ Array.
+     * @param mask_ Mask of points.
+     */
+    public void setPoints(int[][] points_, PixelColliderMask mask_) {
+        setPoints(points_);
+
+        mask = mask_;
     }
 
     /**
@@ -52,20 +68,24 @@ public class PixelColliderContainer {
     public void rotate(double angle, Vector2Di origin) {
         if(getPointsLength() <= 0) return;
 
+        double radians = Math.toRadians(angle), cos = Math.cos(radians), sin = Math.sin(radians);
+
         int[][] rotatedPoints = new int[getPointsLength()][2];
 
         for(int i=0; i < getPointsLength(); i++) {
-            int[] rotatedPoint = rotatePoint(points[i][0], points[i][1], origin.x(), origin.y(), angle);
+            int x = points[i][0] - origin.x(), y = points[i][1] - origin.y();
 
-            rotatedPoints[i][0] = rotatedPoint[0];
-            rotatedPoints[i][1] = rotatedPoint[1];
+            rotatedPoints[i][0] = (int) (x * cos - y * sin);
+            rotatedPoints[i][1] = (int) (x * sin + y * cos);
         }
 
         points = rotatedPoints;
+
+        mask = null;
     }
 
     /**
-     * Rescale the points container proportionally.
+     * Rescale the points container proportionally (nearest-neighbour mask resample, O(W*H)).
      *
      * @param scaleWidth  New width of the container.
      * @param scaleHeight New height of the container.
@@ -73,24 +93,37 @@ public class PixelColliderContainer {
     public void scale(int scaleWidth, int scaleHeight) {
         int[] originalSize = compSize();
 
-        ArrayList<int[]> scaled = new ArrayList<>();
+        PixelColliderMask source = getMask();
+
+        PixelColliderMask scaled = new PixelColliderMask(0, 0, Math.max(scaleWidth, 0), Math.max(scaleHeight, 0));
+
+        double ratioX = (double) scaleWidth / originalSize[0], ratioY = (double) scaleHeight / originalSize[1];
 
         for(int y = 0; y < scaleHeight; y++) {
+            int sourceY = (int) (y / ratioY);
+
             for(int x = 0; x < scaleWidth; x++) {
-                for(int[] point : points) {
-                    if(point[0] == (int) (x / ((double) scaleWidth / originalSize[0])) &&
-                        point[1] == (int) (y / ((double) scaleHeight / originalSize[1]))) {
-                        scaled.add(new int[] {x, y}); break;
-                    }
-                }
+                if(source.get((int) (x / ratioX), sourceY)) scaled.set(x, y);
             }
         }
 
-        int[][] scaledArray = new int[scaled.size()][2];
+        // Scaled points may outnumber original ones: replace array directly instead of setPoints (which is bound to maximal size).
+        points = scaled.toPoints();
+
+        mask = scaled.trim();
+    }
+
+    /**
+     * Create copy of container sharing points and mask (<code>rotate</code>/<code>scale</code> replace them instead of modifying, so copies stay independent).
+     */
+    public PixelColliderContainer copy() {
+        PixelColliderContainer copy = new PixelColliderContainer(0);
 
-        scaled.toArray(scaledArray);
+        copy.points = points;
 
-        setPoints(scaledArray);
+        copy.mask = mask;
+
+        return copy;
     }
 
     /**
@@ -100,6 +133,15 @@ public class PixelColliderContainer {
         return points;
     }
 
+    /**
+     * Get packed bitmask of points (computed on demand, reset when points change).
+     */
+    public PixelColliderMask getMask() {
+        if(mask == null) mask = PixelColliderMask.fromPoints(points);
+
+        return mask;
+    }
+
     /**
      * Get points array length.
      */
@@ -0,0 +1,482 @@
+package gsdk.source.opc2d;
+
+import static gsdk.source.generic.Assert.assert_t;
+
+/**
+ * Packed bitmask representation of pixel collider.
+ * Each row of collider bounds is packed into <code>wordsPerRow</code> longs (bit <code>x & 63</code> of word <code>x >> 6</code>),
+ * so sprite-vs-sprite checks are shifted word-wise AND operations over overlapping rows (64 pixels per operation) without allocations.
+ */
+public class PixelColliderMask {
+    private final int minX, minY;
+
+    private final int width, height;
+
+    private final int wordsPerRow;
+
+    private final long[] bits;
+
+    // Per-row occupancy summary [first column, last column] (-1 for empty rows), computed on first sweep.
+    private int[] rowSpans = null;
+
+    /**
+     * Initialize empty mask.
+     *
+     * @param minX_ Mask left X (in collider points space).
+     * @param minY_ Mask top Y (in collider points space).
+     * @param width_ Mask width.
+     * @param height_ Mask height.
+     */
+    public PixelColliderMask(int minX_, int minY_, int width_, int height_) {
+        assert_t(width_ < 0 || height_ < 0, "width < 0 || height < 0");
+
+        minX = minX_;
+        minY = minY_;
+
+        width = width_;
+        height = height_;
+
+        wordsPerRow = (width + 63) >>> 6;
+
+        bits = new long[wordsPerRow * height];
+    }
+
+    /**
+     * Create mask from points.
+     *
+     * @param points Points ([x, y] pairs).
+     */
+    public static PixelColliderMask fromPoints(int[][] points) {
+        if(points.length <= 0) return new PixelColliderMask(0, 0, 0, 0);
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+
+        for(int[] point : points) {
+            if(point[0] < minX) minX = point[0];
+            if(point[1] < minY) minY = point[1];
+
+            if(point[0] > maxX) maxX = point[0];
+            if(point[1] > maxY) maxY = point[1];
+        }
+
+        PixelColliderMask mask = new PixelColliderMask(minX, minY, maxX - minX + 1, maxY - minY + 1);
+
+        for(int[] point : points) mask.set(point[0], point[1]);
+
+        return mask;
+    }
+
+    /**
+     * Set pixel (in collider points space).
+     *
+     * @param x X.
+     * @param y Y.
+     */
+    public void set(int x, int y) {
+        int lx = x - minX, ly = y - minY;
+
+        bits[ly * wordsPerRow + (lx >>> 6)] |= 1L << lx;
+
+        rowSpans = null;
+    }
+
+    /**
+     * Clear pixel (in collider points space).
+     *
+     * @param x X.
+     * @param y Y.
+     */
+    public void clear(int x, int y) {
+        int lx = x - minX, ly = y - minY;
+
+        bits[ly * wordsPerRow + (lx >>> 6)] &= ~(1L << lx);
+
+        rowSpans = null;
+    }
+
+    /**
+     * Is pixel set (in collider points space)?
+     *
+     * @param x X.
+     * @param y Y.
+     */
+    public boolean get(int x, int y) {
+        int lx = x - minX, ly = y - minY;
+
+        if(lx < 0 || ly < 0 || lx >= width || ly >= height) return false;
+
+        return (bits[ly * wordsPerRow + (lx >>> 6)] & (1L << lx)) != 0;
+    }
+
+    /**
+     * Count set pixels.
+     */
+    public int count() {
+        int count = 0;
+
+        for(long word : bits) count += Long.bitCount(word);
+
+        return count;
+    }
+
+    /**
+     * Convert mask back to points (row-major order).
+     */
+    public int[][] toPoints() {
+        int[][] points = new int[count()][];
+
+        int index = 0;
+
+        for(int y = 0; y < height; y++) {
+            for(int w = 0; w < wordsPerRow; w++) {
+                long word = bits[y * wordsPerRow + w];
+
+                while(word != 0) {
+                    points[index++] = new int[] {minX + (w << 6) + Long.numberOfTrailingZeros(word), minY + y};
+
+                    word &= word - 1;
+                }
+            }
+        }
+
+        return points;
+    }
+
+    /**
+     * Create copy of mask.
+     */
+    public PixelColliderMask copy() {
+        PixelColliderMask copy = new PixelColliderMask(minX, minY, width, height);
+
+        System.arraycopy(bits, 0, copy.bits, 0, bits.length);
+
+        return copy;
+    }
+
+    /**
+     * Create copy of mask shrunk to set pixels bounds.
+     */
+    public PixelColliderMask trim() {
+        int minRow = height, maxRow = -1, minCol = width, maxCol = -1;
+
+        for(int y = 0; y < height; y++) {
+            for(int w = 0; w < wordsPerRow; w++) {
+                long word = bits[y * wordsPerRow + w];
+
+                if(word == 0) continue;
+
+                if(y < minRow) minRow = y;
+
+                maxRow = y;
+
+                minCol = Math.min(minCol, (w << 6) + Long.numberOfTrailingZeros(word));
+                maxCol = Math.max(maxCol, (w << 6) + 63 - Long.numberOfLeadingZeros(word));
+            }
+        }
+
+        if(maxRow < 0) return new PixelColliderMask(0, 0, 0, 0);
+
+        PixelColliderMask trimmed = new PixelColliderMask(minX + minCol, minY + minRow, maxCol - minCol + 1, maxRow - minRow + 1);
+
+        for(int y = 0; y < trimmed.height; y++) {
+            for(int w = 0; w < trimmed.wordsPerRow; w++) {
+                trimmed.bits[y * trimmed.wordsPerRow + w] = wordAt((minRow + y) * wordsPerRow, minCol + (w << 6));
+            }
+
+            // Clear bits past trimmed width.
+            if((trimmed.width & 63) != 0) trimmed.bits[(y + 1) * trimmed.wordsPerRow - 1] &= (1L << trimmed.width) - 1;
+        }
+
+        return trimmed;
+    }
+
+    /**
+     * Create rotated and scaled copy of mask (around mask bounds center). Every destination pixel samples nearest source pixel, so result has no holes.
+     *
+     * @param angle Angle (degrees).
+     * @param scale Scale factor.
+     */
+    public PixelColliderMask transform(double angle, double scale) {
+        assert_t(scale <= 0, "scale <= 0");
+
+        double radians = Math.toRadians(angle), cos = Math.cos(radians), sin = Math.sin(radians);
+
+        double centerX = minX + width / 2.0, centerY = minY + height / 2.0;
+
+        // Destination bounds: half extents of rotated and scaled bounds.
+        double halfW = width / 2.0 * scale, halfH = height / 2.0 * scale;
+
+        double extentX = Math.abs(halfW * cos) + Math.abs(halfH * sin), extentY = Math.abs(halfW * sin) + Math.abs(halfH * cos);
+
+        int outMinX = (int) Math.floor(centerX - extentX), outMinY = (int) Math.floor(centerY - extentY);
+
+        PixelColliderMask out = new PixelColliderMask(outMinX, outMinY, (int) Math.ceil(centerX + extentX) - outMinX, (int) Math.ceil(centerY + extentY) - outMinY);
+
+        // Inverse mapping of pixel centers: source = rotate(-angle, destination - center) / scale + center.
+        double stepX = cos / scale, stepY = -sin / scale;
+
+        for(int y = 0; y < out.height; y++) {
+            double py = outMinY + y + 0.5 - centerY, px = outMinX + 0.5 - centerX;
+
+            double rowX = (px * cos + py * sin) / scale + centerX, rowY = (-px * sin + py * cos) / scale + centerY;
+
+            for(int x = 0; x < out.width; x++) {
+                if(get((int) Math.floor(rowX + x * stepX), (int) Math.floor(rowY + x * stepY))) out.bits[y * out.wordsPerRow + (x >>> 6)] |= 1L << x;
+            }
+        }
+
+        return out.trim();
+    }
+
+    /**
+     * Check if this mask placed at (x, y) overlaps other mask placed at (otherX, otherY).
+     *
+     * @param x This mask position X.
+     * @param y This mask position Y.
+     * @param other Other mask.
+     * @param otherX Other mask position X.
+     * @param otherY Other mask position Y.
+     */
+    public boolean intersects(int x, int y, PixelColliderMask other, int otherX, int otherY) {
+        // World position of bit (0, 0) of each mask.
+        int ax = x + minX, ay = y + minY;
+        int bx = otherX + other.minX, by = otherY + other.minY;
+
+        int top = Math.max(ay, by), bottom = Math.min(ay + height, by + other.height);
+        int left = Math.max(ax, bx), right = Math.min(ax + width, bx + other.width);
+
+        if(top >= bottom || left >= right) return false;
+
+        int firstWord = (left - ax) >>> 6, lastWord = (right - 1 - ax) >>> 6;
+
+        int shift = bx - ax;
+
+        for(int wy = top; wy < bottom; wy++) {
+            int rowA = (wy - ay) * wordsPerRow;
+            int rowB = (wy - by) * other.wordsPerRow;
+
+            for(int w = firstWord; w <= lastWord; w++) {
+                long word = bits[rowA + w];
+
+                if(word != 0 && (word & other.wordAt(rowB, (w << 6) - shift)) != 0) return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Swept test: move this mask from start to end position against other (static) mask and find earliest time of impact.
+     * Motion is marched in 1 pixel (Chebyshev) steps, so thin masks can't be tunnelled through; steps that can't reach other mask
+     * (by lower bound of distance between per-row occupancy spans) are skipped without pixel tests.
+     * Returns time of impact in [0; 1] or -1 if masks don't collide along the motion.
+     *
+     * @param startX Start position X.
+     * @param startY Start position Y.
+     * @param endX End position X.
+     * @param endY End position Y.
+     * @param other Other mask.
+     * @param otherX Other mask position X.
+     * @param otherY Other mask position Y.
+     */
+    public double sweep(int startX, int startY, int endX, int endY, PixelColliderMask other, int otherX, int otherY) {
+        long dx = endX - startX, dy = endY - startY;
+
+        long steps = Math.max(Math.abs(dx), Math.abs(dy));
+
+        long step = 0;
+
+        while(step <= steps) {
+            // Nearest pixel on motion line (position changes at most by 1 per step on each axis).
+            int x = startX + (int) (steps == 0 ? 0 : Math.floorDiv(2 * dx * step + steps, 2 * steps));
+            int y = startY + (int) (steps == 0 ? 0 : Math.floorDiv(2 * dy * step + steps, 2 * steps));
+
+            int bound = distanceBound(x, y, other, otherX, otherY);
+
+            if(bound == Integer.MAX_VALUE) return -1;
+
+            if(bound == 0) {
+                if(intersects(x, y, other, otherX, otherY)) return steps == 0 ? 0.0 : (double) step / steps;
+
+                bound = 1;
+            }
+
+            step += bound;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Lower bound of Chebyshev distance between set pixels of this mask placed at (x, y) and other mask placed at (otherX, otherY)
+     * (0 if masks may overlap, <code>Integer.MAX_VALUE</code> if any mask is empty).
+     *
+     * @param x This mask position X.
+     * @param y This mask position Y.
+     * @param other Other mask.
+     * @param otherX Other mask position X.
+     * @param otherY Other mask position Y.
+     */
+    public int distanceBound(int x, int y, PixelColliderMask other, int otherX, int otherY) {
+        int ax = x + minX, ay = y + minY;
+        int bx = otherX + other.minX, by = otherY + other.minY;
+
+        int[] spansA = getRowSpans(), spansB = other.getRowSpans();
+
+        if(spansA.length == 0 || spansB.length == 0) return Integer.MAX_VALUE;
+
+        // Bounds gap first: cheap and exact enough when masks are far apart.
+        int gapX = Math.max(Math.max(bx - (ax + width - 1), ax - (bx + other.width - 1)), 0);
+        int gapY = Math.max(Math.max(by - (ay + height - 1), ay - (by + other.height - 1)), 0);
+
+        if(gapX > 0 || gapY > 0) return Math.max(gapX, gapY);
+
+        // Bounds overlap: distance between row spans, row pairs at vertical distance k (stop when k can't improve result).
+        int best = Integer.MAX_VALUE;
+
+        for(int k = 0; k < best && k < height + other.height; k++) {
+            for(int sign = 0; sign < (k == 0 ? 1 : 2); sign++) {
+                int rowOffset = sign == 0 ? k : -k;
+
+                for(int row = 0; row < height; row++) {
+                    int otherRow = ay + row + rowOffset - by;
+
+                    if(otherRow < 0 || otherRow >= other.height) continue;
+
+                    int aFirst = spansA[row * 2], bFirst = spansB[otherRow * 2];
+
+                    if(aFirst < 0 || bFirst < 0) continue;
+
+                    int gap = Math.max(Math.max(bx + bFirst - (ax + spansA[row * 2 + 1]), ax + aFirst - (bx + spansB[otherRow * 2 + 1])), 0);
+
+                    best = Math.min(best, Math.max(k, gap));
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Get per-row occupancy spans ([first column, last column] per row, -1 for empty rows; empty array if mask is empty).
+     */
+    public int[] getRowSpans() {
+        if(rowSpans != null) return rowSpans;
+
+        int[] spans = new int[height * 2];
+
+        boolean empty = true;
+
+        for(int y = 0; y < height; y++) {
+            int first = -1, last = -1;
+
+            for(int w = 0; w < wordsPerRow; w++) {
+                long word = bits[y * wordsPerRow + w];
+
+                if(word == 0) continue;
+
+                if(first < 0) first = (w << 6) + Long.numberOfTrailingZeros(word);
+
+                last = (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+            }
+
+            spans[y * 2] = first;
+            spans[y * 2 + 1] = last;
+
+            if(first >= 0) empty = false;
+        }
+
+        rowSpans = empty ? new int[0] : spans;
+
+        return rowSpans;
+    }
+
+    /**
+     * Check if this mask placed at (x, y) has any pixel inside rectangle.
+     *
+     * @param x This mask position X.
+     * @param y This mask position Y.
+     * @param rectX Rectangle X.
+     * @param rectY Rectangle Y.
+     * @param rectW Rectangle width.
+     * @param rectH Rectangle height.
+     */
+    public boolean intersectsRect(int x, int y, int rectX, int rectY, int rectW, int rectH) {
+        int ax = x + minX, ay = y + minY;
+
+        int top = Math.max(ay, rectY), bottom = Math.min(ay + height, rectY + rectH);
+        int left = Math.max(ax, rectX), right = Math.min(ax + width, rectX + rectW);
+
+        if(top >= bottom || left >= right) return false;
+
+        int firstBit = left - ax, lastBit = right - 1 - ax;
+
+        int firstWord = firstBit >>> 6, lastWord = lastBit >>> 6;
+
+        for(int wy = top; wy < bottom; wy++) {
+            int row = (wy - ay) * wordsPerRow;
+
+            for(int w = firstWord; w <= lastWord; w++) {
+                long word = bits[row + w];
+
+                if(w == firstWord) word &= -1L << firstBit;
+                if(w == lastWord) word &= -1L >>> (63 - (lastBit & 63));
+
+                if(word != 0) return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get 64 bits of row starting from bit offset (bits outside of mask are zero).
+     *
+     * @param rowStart Row first word index.
+     * @param offset Bit offset (may be negative).
+     */
+    long wordAt(int rowStart, int offset) {
+        if(offset <= -64 || offset >= width) return 0L;
+
+        if(offset < 0) return bits[rowStart] << -offset;
+
+        int word = offset >>> 6, shift = offset & 63;
+
+        long value = bits[rowStart + word] >>> shift;
+
+        if(shift != 0 && word + 1 < wordsPerRow) value |= bits[rowStart + word + 1] << (64 - shift);
+
+        return value;
+    }
+
+    /**
+     * Get mask left X (in collider points space).
+     */
+    public int getMinX() { return minX; }
+
+    /**
+     * Get mask top Y (in collider points space).
+     */
+    public int getMinY() { return minY; }
+
+    /**
+     * Get mask width.
+     */
+    public int getWidth() { return width; }
+
+    /**
+     * Get mask height.
+     */
+    public int getHeight() { return height; }
+
+    /**
+     * Get words count per row.
+     */
+    public int getWordsPerRow() { return wordsPerRow; }
+
+    /**
+     * Get raw bits (row-major, <code>wordsPerRow</code> longs per row).
+     */
+    public long[] getBits() { return bits; }
+}
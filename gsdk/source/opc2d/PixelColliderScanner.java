@@ -0,0 +1,165 @@
+package gsdk.source.opc2d;
+
+import com.raylib.Raylib;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import java.util.stream.IntStream;
+
+import org.bytedeco.javacpp.BytePointer;
+
+import static gsdk.source.generic.Assert.assert_t;
+
+/**
+ * Sprite pixels scanner for pixel colliders.
+ * Reads image pixel data directly (no per-pixel <code>GetImageColor</code> native calls) and packs pixels with alpha above threshold into bitmask.
+ * Rows are independent (each row owns its own mask words), so large images are split into row bands scanned in parallel.
+ */
+public class PixelColliderScanner {
+    /**
+     * Default alpha threshold (pixel is solid if alpha >= threshold). Matches previous scanner behaviour.
+     */
+    public static final int DEFAULT_ALPHA_THRESHOLD = 128;
+
+    /**
+     * Minimal image pixels count for parallel scanning.
+     */
+    public static final int PARALLEL_SCAN_PIXELS = 256 * 256;
+
+    /**
+     * Rows per parallel scanning band.
+     */
+    public static final int ROWS_PER_BAND = 32;
+
+    /**
+     * Scan image into mask (image space, [0, 0, width, height]).
+     *
+     * @param image Image.
+     * @param alphaThreshold Alpha threshold [0; 255].
+     */
+    public static PixelColliderMask scan(Raylib.Image image, int alphaThreshold) {
+        assert_t(alphaThreshold < 0 || alphaThreshold > 255, "alphaThreshold < 0 || alphaThreshold > 255");
+
+        int width = image.width(), height = image.height(), format = image.format();
+
+        if(!isFormatSupported(format)) return scanSlow(image, alphaThreshold);
+
+        return scan(pixelData(image), width, height, format, alphaThreshold);
+    }
+
+    /**
+     * Scan raw pixel data into mask (image space, [0, 0, width, height]).
+     *
+     * @param data Pixel data (uncompressed, native byte order).
+     * @param width Image width.
+     * @param height Image height.
+     * @param format Pixel format (<code>Raylib.PIXELFORMAT_UNCOMPRESSED_*</code>).
+     * @param alphaThreshold Alpha threshold [0; 255].
+     */
+    public static PixelColliderMask scan(ByteBuffer data, int width, int height, int format, int alphaThreshold) {
+        assert_t(!isFormatSupported(format), "unsupported pixel format: " + format);
+
+        PixelColliderMask mask = new PixelColliderMask(0, 0, width, height);
+
+        if((long) width * height >= PARALLEL_SCAN_PIXELS) {
+            int bands = (height + ROWS_PER_BAND - 1) / ROWS_PER_BAND;
+
+            IntStream.range(0, bands).parallel().forEach(band ->
+                scanRows(data, width, format, alphaThreshold, mask, band * ROWS_PER_BAND, Math.min(height, (band + 1) * ROWS_PER_BAND)));
+        } else {
+            scanRows(data, width, format, alphaThreshold, mask, 0, height);
+        }
+
+        return mask;
+    }
+
+    /**
+     * Can pixel format be scanned directly?
+     *
+     * @param format Pixel format.
+     */
+    public static boolean isFormatSupported(int format) {
+        return format >= Raylib.PIXELFORMAT_UNCOMPRESSED_GRAYSCALE && format <= Raylib.PIXELFORMAT_UNCOMPRESSED_R32G32B32A32;
+    }
+
+    /**
+     * Get image pixel data as buffer (native byte order, no copy).
+     *
+     * @param image Image.
+     */
+    public static ByteBuffer pixelData(Raylib.Image image) {
+        int size = Raylib.GetPixelDataSize(image.width(), image.height(), image.format());
+
+        return new BytePointer(image.data()).capacity(size).asByteBuffer().order(ByteOrder.nativeOrder());
+    }
+
+    private static void scanRows(ByteBuffer data, int width, int format, int threshold, PixelColliderMask mask, int fromY, int toY) {
+        long[] bits = mask.getBits();
+
+        int wordsPerRow = mask.getWordsPerRow();
+
+        for(int y = fromY; y < toY; y++) {
+            int row = y * wordsPerRow, pixel = y * width;
+
+            switch(format) {
+                case Raylib.PIXELFORMAT_UNCOMPRESSED_GRAY_ALPHA -> scanByteAlpha(data, pixel * 2 + 1, 2, width, threshold, bits, row);
+
+                case Raylib.PIXELFORMAT_UNCOMPRESSED_R8G8B8A8 -> scanByteAlpha(data, pixel * 4 + 3, 4, width, threshold, bits, row);
+
+                case Raylib.PIXELFORMAT_UNCOMPRESSED_R5G5B5A1, Raylib.PIXELFORMAT_UNCOMPRESSED_R4G4B4A4 -> scanShortAlpha(data, pixel * 2, width, format, threshold, bits, row);
+
+                case Raylib.PIXELFORMAT_UNCOMPRESSED_R32G32B32A32 -> scanFloatAlpha(data, pixel * 16 + 12, width, threshold, bits, row);
+
+                // Formats without alpha channel: every pixel is solid (alpha 255).
+                default -> fillRow(width, bits, row);
+            }
+        }
+    }
+
+    private static void scanByteAlpha(ByteBuffer data, int offset, int stride, int width, int threshold, long[] bits, int row) {
+        for(int x = 0; x < width; x++) {
+            if((data.get(offset + x * stride) & 0xFF) >= threshold) bits[row + (x >>> 6)] |= 1L << x;
+        }
+    }
+
+    private static void scanShortAlpha(ByteBuffer data, int offset, int width, int format, int threshold, long[] bits, int row) {
+        boolean oneBitAlpha = format == Raylib.PIXELFORMAT_UNCOMPRESSED_R5G5B5A1;
+
+        for(int x = 0; x < width; x++) {
+            int pixel = data.getShort(offset + x * 2);
+
+            // Same expansion as GetImageColor: 1 bit -> 0/255, 4 bits -> 0..255 (x17).
+            int alpha = oneBitAlpha ? ((pixel & 0x1) != 0 ? 255 : 0) : (pixel & 0xF) * 17;
+
+            if(alpha >= threshold) bits[row + (x >>> 6)] |= 1L << x;
+        }
+    }
+
+    private static void scanFloatAlpha(ByteBuffer data, int offset, int width, int threshold, long[] bits, int row) {
+        for(int x = 0; x < width; x++) {
+            int alpha = (int) (data.getFloat(offset + x * 16) * 255.0f) & 0xFF;
+
+            if(alpha >= threshold) bits[row + (x >>> 6)] |= 1L << x;
+        }
+    }
+
+    private static void fillRow(int width, long[] bits, int row) {
+        for(int w = 0; w < (width >>> 6); w++) bits[row + w] = -1L;
+
+        if((width & 63) != 0) bits[row + (width >>> 6)] = (1L << width) - 1;
+    }
+
+    // Compressed formats: per-pixel GetImageColor.
+    private static PixelColliderMask scanSlow(Raylib.Image image, int threshold) {
+        PixelColliderMask mask = new PixelColliderMask(0, 0, image.width(), image.height());
+
+        for(int y = 0; y < image.height(); y++) {
+            for(int x = 0; x < image.width(); x++) {
+                if((Raylib.GetImageColor(image, x, y).a() & 0xFF) >= threshold) mask.set(x, y);
+            }
+        }
+
+        return mask;
+    }
+}
@@ -0,0 +1,171 @@
+package gsdk.source.opc2d;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import java.util.stream.IntStream;
+
+import static gsdk.source.generic.Assert.assert_t;
+
+/**
+ * Cache of precomputed rotated/scaled variants of pixel collider.
+ * Variants are generated from base collider mask (rotated and scaled around its center) at fixed angle steps and scale levels,
+ * either lazily on first lookup or in background with <code>precompute</code>. Transforming collider then costs nearest variant lookup.
+ * Variants are shared between colliders and must not be modified: <code>ObjectPixelCollider.transformCollider</code> installs copy of variant.
+ */
+public class PixelColliderTransformCache {
+    private final PixelColliderMask base;
+
+    private final double angleStep;
+
+    private final int anglesCount;
+
+    private final double[] scales;
+
+    private final AtomicReferenceArray<PixelColliderContainer> variants;
+
+    /**
+     * Initialize transform cache.
+     *
+     * @param base_ Base (untransformed) points container.
+     * @param angleStep_ Angle step (degrees, should divide 360).
+     * @param scales_ Scale levels (1.0 is used if empty).
+     */
+    public PixelColliderTransformCache(PixelColliderContainer base_, double angleStep_, double... scales_) {
+        assert_t(angleStep_ <= 0 || angleStep_ > 360, "angleStep <= 0 || angleStep > 360");
+
+        // Own copy: later changes of base collider mask don't leak into variants.
+        base = base_.getMask().copy();
+
+        angleStep = angleStep_;
+
+        anglesCount = (int) Math.round(360.0 / angleStep);
+
+        scales = scales_.length > 0 ? scales_.clone() : new double[] {1.0};
+
+        for(double scale : scales) assert_t(scale <= 0, "scale <= 0");
+
+        variants = new AtomicReferenceArray<>(anglesCount * scales.length);
+    }
+
+    /**
+     * Get variant nearest to angle and scale.
+     *
+     * @param angle Angle (degrees).
+     * @param scale Scale factor.
+     */
+    public PixelColliderContainer get(double angle, double scale) {
+        return getVariant(nearestAngle(angle), nearestScale(scale));
+    }
+
+    /**
+     * Get variant (computed on first request).
+     *
+     * @param angleIndex Angle index.
+     * @param scaleIndex Scale index.
+     */
+    public PixelColliderContainer getVariant(int angleIndex, int scaleIndex) {
+        int index = angleIndex * scales.length + scaleIndex;
+
+        PixelColliderContainer variant = variants.get(index);
+
+        if(variant == null) {
+            variants.compareAndSet(index, null, compute(angleIndex, scaleIndex));
+
+            variant = variants.get(index);
+        }
+
+        return variant;
+    }
+
+    /**
+     * Compute all variants in background (common fork/join pool).
+     */
+    public ForkJoinTask<?> precompute() {
+        return ForkJoinPool.commonPool().submit(this::precomputeAll);
+    }
+
+    /**
+     * Compute all variants (blocking, parallel).
+     */
+    public void precomputeAll() {
+        IntStream.range(0, variants.length()).parallel().forEach(index -> getVariant(index / scales.length, index % scales.length));
+    }
+
+    /**
+     * Get nearest angle index.
+     *
+     * @param angle Angle (degrees, any range).
+     */
+    public int nearestAngle(double angle) {
+        double normalized = ((angle % 360.0) + 360.0) % 360.0;
+
+        return (int) Math.round(normalized / angleStep) % anglesCount;
+    }
+
+    /**
+     * Get nearest scale index.
+     *
+     * @param scale Scale factor.
+     */
+    public int nearestScale(double scale) {
+        int nearest = 0;
+
+        for(int i = 1; i < scales.length; i++) {
+            if(Math.abs(scales[i] - scale) < Math.abs(scales[nearest] - scale)) nearest = i;
+        }
+
+        return nearest;
+    }
+
+    /**
+     * Get angles count.
+     */
+    public int getAnglesCount() {
+        return anglesCount;
+    }
+
+    /**
+     * Get angle step.
+     */
+    public double getAngleStep() {
+        return angleStep;
+    }
+
+    /**
+     * Get scale levels count.
+     */
+    public int getScalesCount() {
+        return scales.length;
+    }
+
+    /**
+     * Get scale level.
+     *
+     * @param index Scale index.
+     */
+    public double getScale(int index) {
+        return scales[index];
+    }
+
+    /**
+     * Get base mask.
+     */
+    public PixelColliderMask getBase() {
+        return base;
+    }
+
+    private PixelColliderContainer compute(int angleIndex, int scaleIndex) {
+        PixelColliderMask mask = angleIndex == 0 && scales[scaleIndex] == 1.0 ? base.copy() : base.transform(angleIndex * angleStep, scales[scaleIndex]);
+
+        int[][] points = mask.toPoints();
+
+        PixelColliderContainer variant = new PixelColliderContainer(points.length);
+
+        variant.setPoints(points, mask);
+
+        return variant;
+    }
+}
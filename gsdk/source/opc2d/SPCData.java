@@ -43,6 +43,16 @@ public class SPCData {
      */
     public static int TOTAL_COLLISIONS_FAILED = 0;
 
+    /**
+     * Total bakes loaded from collider cache.
+     */
+    public static int TOTAL_CACHE_HITS = 0;
+
+    /**
+     * Total collider cache misses (missing or stale entries).
+     */
+    public static int TOTAL_CACHE_MISSES = 0;
+
     /**
      * Render debug information.
      *
@@ -59,6 +69,8 @@ public class SPCData {
         Raylib.DrawText(String.format("SPCData::TOTAL_COLLISION_CHECKS: %d", SPCData.TOTAL_COLLISION_CHECKS), x, 75 + y, 18, color);
         Raylib.DrawText(String.format("SPCData::TOTAL_COLLISIONS_SUCCEEDED: %d", SPCData.TOTAL_COLLISIONS_SUCCEEDED), x, 90 + y, 18, color);
         Raylib.DrawText(String.format("SPCData::TOTAL_COLLISIONS_FAILED: %d", SPCData.TOTAL_COLLISIONS_FAILED), x, 105 + y, 18, color);
+        Raylib.DrawText(String.format("SPCData::TOTAL_CACHE_HITS: %d", SPCData.TOTAL_CACHE_HITS), x, 120 + y, 18, color);
+        Raylib.DrawText(String.format("SPCData::TOTAL_CACHE_MISSES: %d", SPCData.TOTAL_CACHE_MISSES), x, 135 + y, 18, color);
     }
 
     /**
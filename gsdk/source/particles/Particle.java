@@ -1,76 +1,56 @@
 package gsdk.source.particles;
 
-// Particle structure.
-class Particle {
-    private float[] pos;
-
-    private int[] color;
-
-    private float alpha;
-
-    private float size;
-
-    private float rotation;
-
-    private int id;
+import static gsdk.source.particles.ParticleStore.VEC3_STRIDE;
 
-    private boolean spawningProcess;
-
-    private float lifetime;
-
-    private float[] designatedVelocity;
+// Particle view over ParticleStore (compatibility structure).
+class Particle {
+    private final ParticleStore store;
 
-    protected Particle(float[] pos_, int[] color_, float alpha_, float size_, float rotation_, float[] designatedVelocity_, int id_) {
-        pos = pos_;
-        color = color_;
-        alpha = alpha_;
-        size = size_;
-        rotation = rotation_;
+    private final int id;
 
-        designatedVelocity = designatedVelocity_;
+    protected Particle(ParticleStore store_, int id_) {
+        store = store_;
 
         id = id_;
-
-        spawningProcess = true;
-
-        lifetime = 0;
     }
 
-    protected void setPos(float[] pos_) { pos = pos_; }
-    protected void addPos(float x, float y, float z) { setPos(new float[] {pos[0] + x, pos[1] + y, pos[2] + z}); }
+    protected void setPos(float[] pos_) { store.setPos(id, pos_[0], pos_[1], pos_[2]); }
+    protected void addPos(float x, float y, float z) { store.setPos(id, store.getX(id) + x, store.getY(id) + y, store.getZ(id) + z); }
     protected void subPos(float x, float y, float z) { addPos(-x, -y, -z); }
-    protected float[] getPos() { return pos; }
+    protected float[] getPos() { return new float[] {store.getX(id), store.getY(id), store.getZ(id)}; }
 
-    protected void setColor(int[] color_) { color = color_; }
-    protected void addColor(int r, int g, int b) { setColor(new int[] {color[0] + r, color[1] + g, color[2] + b}); }
+    protected void setColor(int[] color_) { store.color[id] = ParticleStore.packColor(color_[0], color_[1], color_[2]); }
+    protected void addColor(int r, int g, int b) { int[] color = getColor(); setColor(new int[] {color[0] + r, color[1] + g, color[2] + b}); }
     protected void subColor(int r, int g, int b) { addColor(-r, -g, -b); }
 
-    protected int[] getColor() { return color; }
+    protected int[] getColor() { int color = store.color[id]; return new int[] {(color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF}; }
 
-    protected void setAlpha(float alpha_) { alpha = alpha_; }
-    protected void addAlpha(float alpha_) { setAlpha(alpha + alpha_); }
+    protected void setAlpha(float alpha_) { store.alpha[id] = alpha_; }
+    protected void addAlpha(float alpha_) { setAlpha(getAlpha() + alpha_); }
     protected void subAlpha(float alpha_) { addAlpha(-alpha_); }
-    protected float getAlpha() { return alpha; }
+    protected float getAlpha() { return store.alpha[id]; }
 
-    protected void setSize(float size_) { size = size_; }
-    protected void addSize(float size_) { setSize(size + size_); }
+    protected void setSize(float size_) { store.size[id] = size_; }
+    protected void addSize(float size_) { setSize(getSize() + size_); }
     protected void subSize(float size_) { addSize(-size_); }
-    protected float getSize() { return size; }
+    protected float getSize() { return store.size[id]; }
 
-    protected void setRotation(float rotation_) { rotation = rotation_; }
-    protected void addRotation(float rotation_) { setRotation(rotation + rotation_); }
-    protected float getRotation() { return rotation; }
+    protected void setRotation(float rotation_) { store.rotation[id] = rotation_; }
+    protected void addRotation(float rotation_) { setRotation(getRotation() + rotation_); }
+    protected float getRotation() { return store.rotation[id]; }
 
     protected int getID() { return id; }
 
-    protected void setSpawningProcess(boolean spawning) { spawningProcess = spawning; }
-    protected boolean getSpawningProcess() { return spawningProcess; }
+    protected void setSpawningProcess(boolean spawning) { store.setSpawning(id, spawning); }
+    protected boolean getSpawningProcess() { return store.isSpawning(id); }
 
-    protected void setLifetime(float lifetime_) { lifetime = lifetime_; }
-    protected void subLifetime(float delta) { lifetime -= delta; }
-    protected float getLifetime() { return lifetime; }
+    protected void setLifetime(float lifetime_) { store.lifetime[id] = lifetime_; }
+    protected void subLifetime(float delta) { store.lifetime[id] -= delta; }
+    protected float getLifetime() { return store.lifetime[id]; }
 
-    protected boolean isDead() { return lifetime <= 0 || alpha <= 0 || size <= 0; }
+    protected boolean isDead() { return store.isDead(id); }
 
-    protected float[] getDesignatedVelocity() { return designatedVelocity; }
+    protected float[] getDesignatedVelocity() {
+        return new float[] {store.velocity[id * VEC3_STRIDE], store.velocity[id * VEC3_STRIDE + 1], store.velocity[id * VEC3_STRIDE + 2]};
+    }
 }
@@ -0,0 +1,293 @@
+package gsdk.source.particles;
+
+import com.raylib.Raylib;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.FloatPointer;
+
+import gsdk.source.generic.GTexture;
+
+import gsdk.source.vectors.Vector3Df;
+
+/**
+ * Batched billboard renderer for particle store.
+ * Expands every alive particle into camera-facing quad (2 triangles) on CPU, writes vertices, texcoords and colors into reusable off-heap buffers,
+ * then submits all particles of emitter with single mesh draw (one <code>rlDrawVertexArray</code> call).
+ * Quad geometry matches <code>Raylib.DrawBillboardPro</code> with (0, 1, 0) up vector and origin at quarter of particle size.
+**/
+public class ParticleBillboardBatch {
+    /**
+     * Vertices per particle (2 triangles).
+     */
+    public static final int VERTICES_PER_PARTICLE = 6;
+
+    private static final int[] QUAD_TRIANGLES = new int[] {0, 1, 2, 0, 2, 3};
+
+    private static final float DEG2RAD = (float) (Math.PI / 180.0);
+
+    private final int capacity;
+
+    private final FloatBuffer vertices;
+
+    private final FloatBuffer texcoords;
+
+    private final ByteBuffer colors;
+
+    // Native views of buffers above (same memory, created once): uploads don't allocate per frame.
+    private final FloatPointer verticesPointer;
+
+    private final FloatPointer texcoordsPointer;
+
+    private final BytePointer colorsPointer;
+
+    private final float[] quad = new float[12];
+
+    private int vertexCount = 0;
+
+    private Raylib.Mesh mesh = null;
+
+    private Raylib.Material material = null;
+
+    private Raylib.Matrix transform = null;
+
+    /**
+     * Allocate batch buffers.
+     *
+     * @param capacity_ Maximal particles count.
+     */
+    public ParticleBillboardBatch(int capacity_) {
+        capacity = capacity_;
+
+        vertices = ByteBuffer.allocateDirect(capacity * VERTICES_PER_PARTICLE * 3 * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        texcoords = ByteBuffer.allocateDirect(capacity * VERTICES_PER_PARTICLE * 2 * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+
+        colors = ByteBuffer.allocateDirect(capacity * VERTICES_PER_PARTICLE * 4).order(ByteOrder.nativeOrder());
+
+        verticesPointer = new FloatPointer(vertices);
+        texcoordsPointer = new FloatPointer(texcoords);
+
+        colorsPointer = new BytePointer(colors);
+    }
+
+    /**
+     * Build vertex stream for alive particles (CPU only). Returns vertices count written.
+     *
+     * @param ps Particle store.
+     * @param rightX Camera right vector X (normalized).
+     * @param rightY Camera right vector Y (normalized).
+     * @param rightZ Camera right vector Z (normalized).
+     * @param posX Emitter X position.
+     * @param posY Emitter Y position.
+     * @param posZ Emitter Z position.
+     * @param u0 Left texture coordinate.
+     * @param v0 Top texture coordinate.
+     * @param u1 Right texture coordinate.
+     * @param v1 Bottom texture coordinate.
+     */
+    public int build(ParticleStore ps, float rightX, float rightY, float rightZ, float posX, float posY, float posZ, float u0, float v0, float u1, float v1) {
+        int count = 0;
+
+        for(int i = ps.nextAlive(0); i != -1; i = ps.nextAlive(i + 1)) {
+            expandQuad(ps.getSize(i), ps.getRotation(i), rightX, rightY, rightZ, posX + ps.getX(i), posY + ps.getY(i), posZ + ps.getZ(i));
+
+            int color = ps.getColor(i);
+
+            byte r = (byte) (color >> 16), g = (byte) (color >> 8), b = (byte) color, a = (byte) (ps.getAlpha(i) * 255.0f);
+
+            for(int corner : QUAD_TRIANGLES) {
+                vertices.put(count * 3, quad[corner * 3]);
+                vertices.put(count * 3 + 1, quad[corner * 3 + 1]);
+                vertices.put(count * 3 + 2, quad[corner * 3 + 2]);
+
+                // Corners: 0 - bottom left, 1 - bottom right, 2 - top right, 3 - top left.
+                texcoords.put(count * 2, corner == 0 || corner == 3 ? u0 : u1);
+                texcoords.put(count * 2 + 1, corner == 0 || corner == 1 ? v1 : v0);
+
+                colors.put(count * 4, r);
+                colors.put(count * 4 + 1, g);
+                colors.put(count * 4 + 2, b);
+                colors.put(count * 4 + 3, a);
+
+                count++;
+            }
+        }
+
+        vertexCount = count;
+
+        return count;
+    }
+
+    /**
+     * Build vertex stream for alive particles facing camera. Returns vertices count written.
+     *
+     * @param ps Particle store.
+     * @param cam 3D Camera.
+     * @param pos Emitter position.
+     */
+    public int build(ParticleStore ps, Raylib.Camera3D cam, Vector3Df pos) {
+        Raylib.Vector3 camPos = cam._position(), camTarget = cam.target(), camUp = cam.up();
+
+        // Same right vector as MatrixLookAt: normalize(cross(up, normalize(position - target))).
+        float zX = camPos.x() - camTarget.x(), zY = camPos.y() - camTarget.y(), zZ = camPos.z() - camTarget.z();
+
+        float zLength = length(zX, zY, zZ);
+
+        zX /= zLength; zY /= zLength; zZ /= zLength;
+
+        float rX = camUp.y() * zZ - camUp.z() * zY, rY = camUp.z() * zX - camUp.x() * zZ, rZ = camUp.x() * zY - camUp.y() * zX;
+
+        float rLength = length(rX, rY, rZ);
+
+        return build(ps, rX / rLength, rY / rLength, rZ / rLength, pos.x(), pos.y(), pos.z(), 0.0f, 0.0f, 1.0f, 1.0f);
+    }
+
+    /**
+     * Upload built vertex stream and draw it with single draw call. Should be called inside 3D mode.
+     *
+     * @param tex Particle texture.
+     * @param shader Shader.
+     */
+    public void draw(GTexture tex, Raylib.Shader shader) {
+        if(vertexCount == 0) return;
+
+        if(mesh == null) upload();
+
+        material.shader(shader);
+        material.maps().position(Raylib.MATERIAL_MAP_DIFFUSE).texture(tex.getTex());
+
+        Raylib.UpdateMeshBuffer(mesh, 0, verticesPointer, vertexCount * 3 * Float.BYTES, 0);
+        Raylib.UpdateMeshBuffer(mesh, 1, texcoordsPointer, vertexCount * 2 * Float.BYTES, 0);
+        Raylib.UpdateMeshBuffer(mesh, 3, colorsPointer, vertexCount * 4, 0);
+
+        mesh.vertexCount(vertexCount);
+        mesh.triangleCount(vertexCount / 3);
+
+        Raylib.DrawMesh(mesh, material, transform);
+    }
+
+    /**
+     * Get vertices buffer (XYZ per vertex).
+     */
+    public FloatBuffer getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Get texture coordinates buffer (UV per vertex).
+     */
+    public FloatBuffer getTexcoords() {
+        return texcoords;
+    }
+
+    /**
+     * Get colors buffer (RGBA per vertex).
+     */
+    public ByteBuffer getColors() {
+        return colors;
+    }
+
+    /**
+     * Get vertices count of last built stream.
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Get particles capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Unload GPU resources (buffers stay owned by Java).
+     */
+    public void unload() {
+        if(mesh == null) return;
+
+        mesh.vertices(null);
+        mesh.texcoords(null);
+        mesh.colors(null);
+
+        Raylib.UnloadMesh(mesh);
+
+        // Material shader and texture are owned by emitter: free only maps.
+        Raylib.MemFree(material.maps());
+
+        mesh = null;
+        material = null;
+    }
+
+    private void upload() {
+        int maxVertices = capacity * VERTICES_PER_PARTICLE;
+
+        mesh = new Raylib.Mesh()
+            .vertexCount(maxVertices)
+            .triangleCount(maxVertices / 3)
+            .vertices(verticesPointer)
+            .texcoords(texcoordsPointer)
+            .colors(colorsPointer);
+
+        Raylib.UploadMesh(mesh, true);
+
+        material = Raylib.LoadMaterialDefault();
+
+        transform = Raylib.MatrixIdentity();
+    }
+
+    // DrawBillboardPro quad expansion: corners relative to origin, rotated around forward axis, moved to position.
+    private void expandQuad(float size, float rotation, float rX, float rY, float rZ, float pX, float pY, float pZ) {
+        float rightX = rX * size, rightY = rY * size, rightZ = rZ * size;
+        float upY = size;
+
+        float origin = size / 4;
+
+        float oX = size != 0 ? rX * origin : 0.0f, oY = size != 0 ? rY * origin + origin : 0.0f, oZ = size != 0 ? rZ * origin : 0.0f;
+
+        quad[0] = -oX;              quad[1] = -oY;              quad[2] = -oZ;
+        quad[3] = rightX - oX;      quad[4] = rightY - oY;      quad[5] = rightZ - oZ;
+        quad[6] = rightX - oX;      quad[7] = upY + rightY - oY; quad[8] = rightZ - oZ;
+        quad[9] = -oX;              quad[10] = upY - oY;        quad[11] = -oZ;
+
+        if(rotation != 0.0f) {
+            // forward = cross(right, up), up = (0, upY, 0).
+            float fX = -rightZ * upY, fY = 0.0f, fZ = rightX * upY;
+
+            float fLength = length(fX, fY, fZ);
+
+            if(fLength == 0.0f) fLength = 1.0f;
+
+            float half = rotation * DEG2RAD / 2.0f;
+
+            float s = (float) Math.sin(half), c = (float) Math.cos(half);
+
+            float wX = fX / fLength * s, wY = fY / fLength * s, wZ = fZ / fLength * s;
+
+            for(int i = 0; i < 12; i += 3) {
+                float vX = quad[i], vY = quad[i + 1], vZ = quad[i + 2];
+
+                float wvX = wY * vZ - wZ * vY, wvY = wZ * vX - wX * vZ, wvZ = wX * vY - wY * vX;
+                float wwvX = wY * wvZ - wZ * wvY, wwvY = wZ * wvX - wX * wvZ, wwvZ = wX * wvY - wY * wvX;
+
+                quad[i] = vX + wvX * 2 * c + wwvX * 2;
+                quad[i + 1] = vY + wvY * 2 * c + wwvY * 2;
+                quad[i + 2] = vZ + wvZ * 2 * c + wwvZ * 2;
+            }
+        }
+
+        for(int i = 0; i < 12; i += 3) {
+            quad[i] += pX;
+            quad[i + 1] += pY;
+            quad[i + 2] += pZ;
+        }
+    }
+
+    private static float length(float x, float y, float z) {
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+}
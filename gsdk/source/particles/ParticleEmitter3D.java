@@ -12,7 +12,6 @@
  * - Particle simulation is slow: using trivial for-loop to iterate particles.
  * - Particles may spawn with more black tint than others after some emission time (probably fixed).
  * - Particle simulation can freeze game/application after some emission time.
- * - Particles may freeze if emission is reversed.
  *
  * TODO Features:
  * - Color curve based on lifetime (e.g red at start and green at end).
@@ -32,8 +31,12 @@ package gsdk.source.particles;
 
 import com.raylib.Raylib;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.bytedeco.javacpp.FloatPointer;
 
 import gsdk.source.generic.GTexture;
@@ -41,7 +44,6 @@ import gsdk.source.generic.GTexture;
 import gsdk.source.vectors.Vector4Df;
 import gsdk.source.vectors.Vector4Di;
 import gsdk.source.vectors.Vector3Df;
-import gsdk.source.vectors.Vector2Df;
 
 import static gsdk.source.generic.ImagePixelsFilter.filterPixels;
 
@@ -60,7 +62,7 @@ import static gsdk.r_utilities.PathResolver.resolvePath;
 public class ParticleEmitter3D {
     private final ParticleEmitterConfig emitterConfig;
 
-    private final Particle[] particleContainer;
+    private final ParticleStore particleStore;
 
     private GTexture particleTex = null;
 
@@ -72,10 +74,26 @@ public class ParticleEmitter3D {
 
     private final Random random;
 
+    private ForkJoinPool simulationPool = null;
+
+    private int simulationChunk = DEFAULT_SIMULATION_CHUNK;
+
+    private ParticleBillboardBatch billboardBatch = null;
+
+    private final Raylib.Rectangle rlTexRect;
+
+    private final Raylib.Vector3 rlPos, rlUp;
+
+    private final Raylib.Vector2 rlSize, rlOrigin;
+
+    private final Raylib.Color rlTint;
+
     public static final Vector4Df PFCOL_THRESHOLD_DEFAULT = new Vector4Df(0.15f, 0.15f, 0.15f, 0.75f);
 
     public static final float[] CENTER = new float[] {0, 0, 0};
 
+    public static final int DEFAULT_SIMULATION_CHUNK = 4096;
+
     /**
      * Initialize 3D particle emitter.
      *
@@ -84,7 +102,7 @@ public class ParticleEmitter3D {
     public ParticleEmitter3D(ParticleEmitterConfig emitterConfig_) {
         emitterConfig = emitterConfig_;
 
-        particleContainer = new Particle[emitterConfig.getMaxParticles()];
+        particleStore = new ParticleStore(emitterConfig.getMaxParticles());
 
         pixelsFormatShader = Raylib.LoadShader(null, resolvePath("gsdk/shaders/pe3d_ppfilter.fs"));
 
@@ -95,6 +113,16 @@ public class ParticleEmitter3D {
         lastSpawn = 1.0f / emitterConfig.getEmissionRate();
 
         random = new Random();
+
+        rlTexRect = new Raylib.Rectangle();
+
+        rlPos = new Raylib.Vector3();
+        rlUp = new Raylib.Vector3().x(0.0f).y(1.0f).z(0.0f);
+
+        rlSize = new Raylib.Vector2();
+        rlOrigin = new Raylib.Vector2();
+
+        rlTint = new Raylib.Color();
     }
 
     /**
@@ -183,17 +211,20 @@ public class ParticleEmitter3D {
     public void loadParticles() {
         warning("GFlux is currently in an unstable state and under active development.");
 
+        int[] color = emitterConfig.getPColor().toArray();
+
         for(int i=0; i < emitterConfig.getMaxParticles(); i++) {
-            particleContainer[i] = new Particle(
+            particleStore.set(
+                i,
                 CENTER,
-                emitterConfig.getPColor().toArray(),
+                color,
                 emitterConfig.getPAlpha(),
                 emitterConfig.getPScale(),
                 emitterConfig.getPRotation() > 0 ? Raylib.GetRandomValue(0, 360) : 0,
                 emitterConfig.getEmissionVelocity()
                     .calcVelocity(
                         randomFloat(random, -emitterConfig.getExplosiveness(), emitterConfig.getExplosiveness()),
-                        randomFloat(random, -emitterConfig.getExplosiveness(), emitterConfig.getExplosiveness())), i);
+                        randomFloat(random, -emitterConfig.getExplosiveness(), emitterConfig.getExplosiveness())));
         }
     }
 
@@ -201,58 +232,175 @@ public class ParticleEmitter3D {
      * Iterates each particle and simulates its behaviour.
      */
     public void simulateParticles() {
+        beginSimulation();
+
+        if(simulationPool != null && particleStore.getCapacity() > simulationChunk) {
+            simulationPool.invoke(new ParticleSimulationTask(this, 0, particleStore.getCapacity(), simulationChunk));
+        } else {
+            simulateRange(0, particleStore.getCapacity());
+        }
+
+        respawnParticles();
+    }
+
+    /**
+     * Simulate multiple emitters concurrently on fork/join pool.
+     * Particle chunks of all emitters are simulated in parallel, then emission (respawn) is done for each emitter in array order, so results match serial <code>simulateParticles</code> calls.
+     * Null pool means serial simulation (same as <code>setSimulationPool(null)</code>).
+     *
+     * @param pool Fork/join pool.
+     * @param emitters Emitters.
+     */
+    public static void simulateParticles(ForkJoinPool pool, ParticleEmitter3D ...emitters) {
+        List<ParticleSimulationTask> tasks = new ArrayList<>(emitters.length);
+
+        for(ParticleEmitter3D emitter : emitters) {
+            emitter.beginSimulation();
+
+            if(pool == null) emitter.simulateRange(0, emitter.particleStore.getCapacity());
+            else tasks.add(new ParticleSimulationTask(emitter, 0, emitter.particleStore.getCapacity(), emitter.simulationChunk));
+        }
+
+        if(pool != null) ParticleSimulationTask.invokeAll(pool, tasks);
+
+        for(ParticleEmitter3D emitter : emitters) emitter.respawnParticles();
+    }
+
+    /**
+     * Enable/disable batched rendering: all particles are expanded on CPU into single vertex buffer and drawn with one draw call (texture particles only).
+     *
+     * @param batched Enable batched rendering?
+     */
+    public void setBatchedRendering(boolean batched) {
+        if(batched && billboardBatch == null) {
+            billboardBatch = new ParticleBillboardBatch(particleStore.getCapacity());
+        } else if(!batched && billboardBatch != null) {
+            billboardBatch.unload();
+
+            billboardBatch = null;
+        }
+    }
+
+    /**
+     * Is batched rendering enabled?
+     */
+    public boolean getBatchedRendering() {
+        return billboardBatch != null;
+    }
+
+    /**
+     * Set pool for parallel simulation. Null pool means serial simulation (default).
+     *
+     * @param pool Fork/join pool (e.g <code>ForkJoinPool.commonPool()</code>).
+     */
+    public void setSimulationPool(ForkJoinPool pool) {
+        simulationPool = pool;
+    }
+
+    /**
+     * Get parallel simulation pool.
+     */
+    public ForkJoinPool getSimulationPool() {
+        return simulationPool;
+    }
+
+    /**
+     * Set particles count simulated by one parallel task (rounded up to multiple of 64).
+     *
+     * @param chunk Chunk size.
+     */
+    public void setSimulationChunk(int chunk) {
+        assert_t(chunk <= 0, "chunk <= 0");
+
+        simulationChunk = (chunk + 63) & ~63;
+    }
+
+    /**
+     * Get parallel simulation chunk size.
+     */
+    public int getSimulationChunk() {
+        return simulationChunk;
+    }
+
+    private void beginSimulation() {
         assert_t(!emitterConfig.deltaUpdated(), "deltaUpdated == false: use ParticleEmitter3D::setDelta to update delta");
 
         if(emitterConfig.getPLifetime() < 2.0f) warning("pLifetime_ < 2.0f! particles lifetime is TOO low!; i.e expect non-smooth fades & etc");
 
         lastSpawn += emitterConfig.getDelta();
+    }
 
-        for(Particle particle : particleContainer) {
-            float[] velocity = particle.getDesignatedVelocity();
+    /**
+     * Simulate particles in range [from; to). Touches only particles in range, emission bookkeeping is done by <code>respawnParticles</code>.
+     * Concurrent ranges must start at multiples of 64 (bitmap words are not shared).
+     *
+     * @param from Start index (inclusive).
+     * @param to End index (exclusive).
+     */
+    void simulateRange(int from, int to) {
+        final ParticleStore ps = particleStore;
 
-            if (emitterConfig.getInversedEmission()) {
-                velocity[0] = -velocity[0];
-                velocity[1] = -velocity[1];
-                velocity[2] = -velocity[2];
-            }
+        final float[] pos = ps.pos, velocity = ps.velocity, alpha = ps.alpha, size = ps.size, rotation = ps.rotation, lifetime = ps.lifetime;
+
+        final float direction = emitterConfig.getInversedEmission() ? -1.0f : 1.0f;
+
+        final float delta = emitterConfig.getDelta(), pLifetimeHalf = emitterConfig.getPLifetime() / 2;
+        final float pScale = emitterConfig.getPScale(), pAlpha = emitterConfig.getPAlpha(), pRotation = emitterConfig.getPRotation();
+        final float pFadeStep = emitterConfig.getPFade() * 0.1f;
 
-            if(particle.getLifetime() >= emitterConfig.getPLifetime() / 2) particle.addSize(emitterConfig.getPScale() * 0.001f);
+        for(int i=from; i < to; i++) {
+            int v = i * ParticleStore.VEC3_STRIDE;
 
-            particle.addPos(velocity[0], velocity[1], velocity[2]);
-            particle.addRotation(emitterConfig.getPRotation());
+            if(lifetime[i] >= pLifetimeHalf) size[i] += pScale * 0.001f;
 
-            particle.subLifetime(emitterConfig.getDelta());
+            pos[v] += velocity[v] * direction;
+            pos[v + 1] += velocity[v + 1] * direction;
+            pos[v + 2] += velocity[v + 2] * direction;
 
-            if(particle.getSpawningProcess()) {
-                particle.addAlpha(emitterConfig.getPFade() * 0.1f);
+            rotation[i] += pRotation;
 
-                if(particle.getAlpha() >= emitterConfig.getPAlpha()) {
-                    particle.setAlpha(emitterConfig.getPAlpha());
+            lifetime[i] -= delta;
 
-                    particle.setSpawningProcess(false);
+            if(ps.isSpawning(i)) {
+                alpha[i] += pFadeStep;
+
+                if(alpha[i] >= pAlpha) {
+                    alpha[i] = pAlpha;
+
+                    ps.setSpawning(i, false);
                 }
+
+                ps.setAlive(i, true);
             } else {
-                if(particle.getLifetime() <= emitterConfig.getPLifetime() / 2) {
-                    particle.setAlpha((float) clamp(0, emitterConfig.getPAlpha(), particle.getAlpha() - (emitterConfig.getPFade() * 0.1f)));
+                if(lifetime[i] <= pLifetimeHalf) {
+                    alpha[i] = (float) clamp(0, pAlpha, alpha[i] - pFadeStep);
 
-                    particle.setSize((float) clamp(0, emitterConfig.getPScale(), particle.getSize() - (emitterConfig.getPScale() * 0.1f)));
+                    size[i] = (float) clamp(0, pScale, size[i] - (pScale * 0.1f));
                 }
 
-                if(particle.isDead()) {
-                    if(lastSpawn >= (1.0 / emitterConfig.getEmissionRate())) {
-                        particle.setSize(emitterConfig.getPScale());
-                        particle.setPos(CENTER);
+                ps.setAlive(i, !ps.isDead(i));
+            }
+        }
+    }
 
-                        particle.setAlpha(0);
+    /**
+     * Respawn dead particles in index order while emission rate allows it.
+     */
+    void respawnParticles() {
+        final double spawnInterval = 1.0 / emitterConfig.getEmissionRate();
 
-                        particle.setLifetime(emitterConfig.getPLifetime());
+        for(int i = particleStore.nextRespawnable(0); i != -1 && lastSpawn >= spawnInterval; i = particleStore.nextRespawnable(i + 1)) {
+            particleStore.size[i] = emitterConfig.getPScale();
+            particleStore.setPos(i, CENTER[0], CENTER[1], CENTER[2]);
 
-                        particle.setSpawningProcess(true);
+            particleStore.alpha[i] = 0;
 
-                        lastSpawn = 0.0f;
-                    }
-                }
-            }
+            particleStore.lifetime[i] = emitterConfig.getPLifetime();
+
+            particleStore.setSpawning(i, true);
+            particleStore.setAlive(i, true);
+
+            lastSpawn = 0.0f;
         }
     }
 
@@ -271,7 +419,30 @@ public class ParticleEmitter3D {
             Raylib.BeginBlendMode(emitterConfig.getBlending() == ParticleBlending.ALPHA ? Raylib.BLEND_ALPHA : Raylib.BLEND_ADDITIVE);
         }
 
-        for(Particle particle : particleContainer) {
+        if(billboardBatch != null && emitterConfig.getPType() == ParticleType.TEXTURE) {
+            billboardBatch.build(particleStore, cam, pos);
+            billboardBatch.draw(particleTex, pixelsFormatShader);
+        } else {
+            renderParticlesSeparately(cam, pos);
+        }
+
+        if(emitterConfig.blendingAvailable()) {
+            Raylib.EndBlendMode();
+        }
+
+        Raylib.EndShaderMode();
+    }
+
+    private void renderParticlesSeparately(Raylib.Camera3D cam, Vector3Df pos) {
+        if(emitterConfig.getPType() == ParticleType.TEXTURE) {
+            rlTexRect.x(0).y(0).width(particleTex.getTexWidth()).height(particleTex.getTexHeight());
+        }
+
+        final ParticleStore ps = particleStore;
+
+        for(int i=0; i < ps.getCapacity(); i++) {
+            if(!ps.isAlive(i)) continue;
+
             if(emitterConfig.getPType() == ParticleType.RECTANGLE) {
                 // Rectangle...
             } else if(emitterConfig.getPType() == ParticleType.CIRCLE) {
@@ -279,38 +450,34 @@ public class ParticleEmitter3D {
             } else if(emitterConfig.getPType() == ParticleType.HEXAGON) {
                 // Hexagon...
             } else if(emitterConfig.getPType() == ParticleType.TEXTURE) {
-                Raylib.DrawBillboardPro(
-                    cam, particleTex.getTex(), new Vector4Di(0, 0, particleTex.getTexWidth(), particleTex.getTexHeight()).toRlRect(),
+                float size = ps.getSize(i);
 
-                    new Vector3Df(
-                        pos.x() + particle.getPos()[0],
-                        pos.y() + particle.getPos()[1],
-                        pos.z() + particle.getPos()[2]).toRlVec(),
+                int color = ps.getColor(i);
 
-                    new Vector3Df(0.0f, 1.0f, 0.0f).toRlVec(),
+                rlPos.x(pos.x() + ps.getX(i)).y(pos.y() + ps.getY(i)).z(pos.z() + ps.getZ(i));
 
-                    new Vector2Df(particle.getSize(), particle.getSize()).toRlVec(),
+                rlSize.x(size).y(size);
+                rlOrigin.x(size / 4).y(size / 4);
 
-                    new Vector2Df(particle.getSize() / 4, particle.getSize() / 4).toRlVec(),
+                rlTint
+                    .r((byte) (color >> 16))
+                    .g((byte) (color >> 8))
+                    .b((byte) color)
+                    .a((byte) (ps.getAlpha(i) * 255.0f));
 
-                    particle.getRotation(),
-
-                    new Raylib.Color()
-                        .r((byte) particle.getColor()[0])
-                        .g((byte) particle.getColor()[1])
-                        .b((byte) particle.getColor()[2])
-                        .a((byte) (particle.getAlpha() * 255.0f))
-                );
+                Raylib.DrawBillboardPro(cam, particleTex.getTex(), rlTexRect, rlPos, rlUp, rlSize, rlOrigin, ps.getRotation(i), rlTint);
             } else if(emitterConfig.getPType() == ParticleType.CUSTOM) {
                 // Custom...
             }
         }
 
-        if(emitterConfig.blendingAvailable()) {
-            Raylib.EndBlendMode();
-        }
+    }
 
-        Raylib.EndShaderMode();
+    /**
+     * Get particle store.
+     */
+    public ParticleStore getParticleStore() {
+        return particleStore;
     }
 
     /**
@@ -326,6 +493,8 @@ public class ParticleEmitter3D {
     public void unloadResources() {
         if(particleTex != null) particleTex.unload();
 
+        if(billboardBatch != null) billboardBatch.unload();
+
         Raylib.UnloadShader(pixelsFormatShader);
     }
 
@@ -0,0 +1,58 @@
+package gsdk.source.particles;
+
+import java.util.List;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Fork/join task simulating particle range [from; to) of emitter. Ranges are split on 64-particle boundaries so chunks never share bitmap words.
+class ParticleSimulationTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final ParticleEmitter3D emitter;
+
+    private final int from, to, chunk;
+
+    protected ParticleSimulationTask(ParticleEmitter3D emitter_, int from_, int to_, int chunk_) {
+        emitter = emitter_;
+
+        from = from_;
+        to = to_;
+        chunk = chunk_;
+    }
+
+    @Override
+    protected void compute() {
+        if(to - from <= chunk) {
+            emitter.simulateRange(from, to);
+
+            return;
+        }
+
+        int half = ((to - from) >>> 1) & ~63;
+
+        int mid = from + (half == 0 ? 64 : half);
+
+        invokeAll(new ParticleSimulationTask(emitter, from, mid, chunk), new ParticleSimulationTask(emitter, mid, to, chunk));
+    }
+
+    protected static void invokeAll(ForkJoinPool pool, List<ParticleSimulationTask> tasks) {
+        pool.invoke(new Group(tasks));
+    }
+
+    // Root task forking all emitters tasks at once.
+    private static class Group extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<ParticleSimulationTask> tasks;
+
+        private Group(List<ParticleSimulationTask> tasks_) {
+            tasks = tasks_;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+}
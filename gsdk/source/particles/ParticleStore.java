@@ -0,0 +1,283 @@
+package gsdk.source.particles;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays particle storage.
+ * Each particle attribute is kept in its own packed primitive array (particle <code>i</code> position is <code>pos[i * 3 .. i * 3 + 2]</code>),
+ * so simulation and rendering iterate plain arrays without allocating anything per frame.
+ */
+public class ParticleStore {
+    /**
+     * Position/velocity stride (XYZ).
+     */
+    public static final int VEC3_STRIDE = 3;
+
+    private final int capacity;
+
+    final float[] pos;
+
+    final float[] velocity;
+
+    final float[] alpha;
+
+    final float[] size;
+
+    final float[] rotation;
+
+    final float[] lifetime;
+
+    final int[] color;
+
+    final long[] alive;
+
+    final long[] spawning;
+
+    /**
+     * Allocate particle store.
+     *
+     * @param capacity_ Maximal particles count (constant).
+     */
+    public ParticleStore(int capacity_) {
+        capacity = capacity_;
+
+        pos = new float[capacity * VEC3_STRIDE];
+        velocity = new float[capacity * VEC3_STRIDE];
+
+        alpha = new float[capacity];
+        size = new float[capacity];
+        rotation = new float[capacity];
+        lifetime = new float[capacity];
+
+        color = new int[capacity];
+
+        alive = new long[bitmapWords(capacity)];
+        spawning = new long[bitmapWords(capacity)];
+    }
+
+    /**
+     * Initialize particle at index.
+     *
+     * @param i Particle index.
+     * @param pos_ Position.
+     * @param color_ RGB color.
+     * @param alpha_ Alpha.
+     * @param size_ Size.
+     * @param rotation_ Rotation.
+     * @param velocity_ Designated velocity.
+     */
+    public void set(int i, float[] pos_, int[] color_, float alpha_, float size_, float rotation_, float[] velocity_) {
+        setPos(i, pos_[0], pos_[1], pos_[2]);
+
+        velocity[i * VEC3_STRIDE] = velocity_[0];
+        velocity[i * VEC3_STRIDE + 1] = velocity_[1];
+        velocity[i * VEC3_STRIDE + 2] = velocity_[2];
+
+        color[i] = packColor(color_[0], color_[1], color_[2]);
+
+        alpha[i] = alpha_;
+        size[i] = size_;
+        rotation[i] = rotation_;
+        lifetime[i] = 0;
+
+        setSpawning(i, true);
+        setAlive(i, true);
+    }
+
+    /**
+     * Set particle position.
+     *
+     * @param i Particle index.
+     * @param x X.
+     * @param y Y.
+     * @param z Z.
+     */
+    public void setPos(int i, float x, float y, float z) {
+        pos[i * VEC3_STRIDE] = x;
+        pos[i * VEC3_STRIDE + 1] = y;
+        pos[i * VEC3_STRIDE + 2] = z;
+    }
+
+    /**
+     * Get particle X position.
+     *
+     * @param i Particle index.
+     */
+    public float getX(int i) { return pos[i * VEC3_STRIDE]; }
+
+    /**
+     * Get particle Y position.
+     *
+     * @param i Particle index.
+     */
+    public float getY(int i) { return pos[i * VEC3_STRIDE + 1]; }
+
+    /**
+     * Get particle Z position.
+     *
+     * @param i Particle index.
+     */
+    public float getZ(int i) { return pos[i * VEC3_STRIDE + 2]; }
+
+    /**
+     * Get particle alpha.
+     *
+     * @param i Particle index.
+     */
+    public float getAlpha(int i) { return alpha[i]; }
+
+    /**
+     * Get particle size.
+     *
+     * @param i Particle index.
+     */
+    public float getSize(int i) { return size[i]; }
+
+    /**
+     * Get particle rotation.
+     *
+     * @param i Particle index.
+     */
+    public float getRotation(int i) { return rotation[i]; }
+
+    /**
+     * Get particle lifetime.
+     *
+     * @param i Particle index.
+     */
+    public float getLifetime(int i) { return lifetime[i]; }
+
+    /**
+     * Get particle packed RGB color (0xRRGGBB).
+     *
+     * @param i Particle index.
+     */
+    public int getColor(int i) { return color[i]; }
+
+    /**
+     * Is particle dead (lifetime, alpha or size is over)?
+     *
+     * @param i Particle index.
+     */
+    public boolean isDead(int i) { return lifetime[i] <= 0 || alpha[i] <= 0 || size[i] <= 0; }
+
+    /**
+     * Is particle marked as alive in live bitmap? Particles in spawning process are always alive.
+     *
+     * @param i Particle index.
+     */
+    public boolean isAlive(int i) { return (alive[i >>> 6] & (1L << i)) != 0; }
+
+    /**
+     * Is particle in spawning process?
+     *
+     * @param i Particle index.
+     */
+    public boolean isSpawning(int i) { return (spawning[i >>> 6] & (1L << i)) != 0; }
+
+    void setAlive(int i, boolean alive_) { setBit(alive, i, alive_); }
+
+    void setSpawning(int i, boolean spawning_) { setBit(spawning, i, spawning_); }
+
+    /**
+     * Get alive particles count.
+     */
+    public int countAlive() {
+        int count = 0;
+
+        for(long word : alive) count += Long.bitCount(word);
+
+        return count;
+    }
+
+    /**
+     * Find first particle index starting from <code>from</code> that is marked as alive. Returns -1 if none.
+     *
+     * @param from Start index (inclusive).
+     */
+    public int nextAlive(int from) {
+        if(from >= capacity) return -1;
+
+        int wordIndex = from >>> 6;
+
+        long word = alive[wordIndex] & (-1L << from);
+
+        while(true) {
+            if(word != 0) return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+
+            if(++wordIndex >= alive.length) return -1;
+
+            word = alive[wordIndex];
+        }
+    }
+
+    /**
+     * Find first particle index starting from <code>from</code> that is marked as dead. Returns -1 if none.
+     *
+     * @param from Start index (inclusive).
+     */
+    public int nextRespawnable(int from) {
+        if(from >= capacity) return -1;
+
+        int wordIndex = from >>> 6;
+
+        long word = ~alive[wordIndex] & (-1L << from);
+
+        while(true) {
+            if(word != 0) {
+                int index = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+
+                return index < capacity ? index : -1;
+            }
+
+            if(++wordIndex >= alive.length) return -1;
+
+            word = ~alive[wordIndex];
+        }
+    }
+
+    /**
+     * Mark every particle as dead.
+     */
+    public void clear() {
+        Arrays.fill(alive, 0L);
+        Arrays.fill(spawning, 0L);
+    }
+
+    /**
+     * Get particles capacity.
+     */
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Get particle view (compatibility object, allocates).
+     *
+     * @param i Particle index.
+     */
+    Particle view(int i) { return new Particle(this, i); }
+
+    /**
+     * Pack RGB color into integer (0xRRGGBB).
+     *
+     * @param r Red.
+     * @param g Green.
+     * @param b Blue.
+     */
+    public static int packColor(int r, int g, int b) {
+        return ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF);
+    }
+
+    /**
+     * Get bitmap words count required for N bits.
+     *
+     * @param bits Bits count.
+     */
+    public static int bitmapWords(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void setBit(long[] bitmap, int i, boolean value) {
+        if(value) bitmap[i >>> 6] |= 1L << i;
+        else bitmap[i >>> 6] &= ~(1L << i);
+    }
+}
@@ -0,0 +1,644 @@
+package gsdk.source.structures;
+
+import java.util.Arrays;
+
+import static gsdk.source.generic.Assert.assert_t;
+
+/**
+ * GSDK implementation of linear (pointerless) QuadTree.
+ * Points are stored in primitive arrays sorted by Morton (Z-order) code of their cell, so every quadtree node is a contiguous range of that array
+ * and is addressed by its Morton prefix instead of an object. All arrays are pooled: clear/build/insert/remove and queries do not allocate
+ * (except when capacity grows). Range bounds are half-open: [minX; maxX) x [minY; maxY).
+ * Not thread-safe: queries reuse internal buffers.
+ */
+public class LinearQuadTree {
+    /**
+     * Maximal tree depth (cells per axis: 2^MAX_DEPTH).
+     */
+    public static final int MAX_DEPTH = 15;
+
+    /**
+     * Nodes with points count less or equal than this value are scanned directly instead of being subdivided.
+     */
+    public static final int LEAF_POINTS = 8;
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private int[] xs, ys;
+
+    private long[] codes;
+
+    private int[] tmpXs, tmpYs;
+
+    private long[] sortBuffer;
+
+    private int size = 0;
+
+    private int originX = 0, originY = 0, depth = 1;
+
+    private long[] heapDist = new long[0];
+
+    private int[] heapIndex = new int[0];
+
+    private int heapSize;
+
+    private int queryMinX, queryMinY, queryMaxX, queryMaxY;
+
+    private int queryMode;
+
+    private int[] queryOut;
+
+    private int queryCount;
+
+    private PointVisitor queryVisitor;
+
+    private static final int QUERY_ANY = 0, QUERY_OUT = 1, QUERY_VISIT = 2;
+
+    /**
+     * Point visitor for range queries.
+     */
+    public interface PointVisitor {
+        /**
+         * Visit point. Return false to stop query.
+         *
+         * @param x Point X.
+         * @param y Point Y.
+         */
+        boolean visit(int x, int y);
+    }
+
+    /**
+     * Initialize empty linear quadtree.
+     */
+    public LinearQuadTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialize empty linear quadtree.
+     *
+     * @param capacity Initial points capacity.
+     */
+    public LinearQuadTree(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    /**
+     * Initialize linear quadtree from points.
+     *
+     * @param points Points ([x, y] pairs).
+     */
+    public LinearQuadTree(int[][] points) {
+        this(Math.max(1, points.length));
+
+        build(points);
+    }
+
+    /**
+     * Bulk build tree from points (replaces current points).
+     *
+     * @param points Points ([x, y] pairs).
+     */
+    public void build(int[][] points) {
+        ensureCapacity(points.length);
+
+        for(int i = 0; i < points.length; i++) {
+            xs[i] = points[i][0];
+            ys[i] = points[i][1];
+        }
+
+        size = points.length;
+
+        rebuild();
+    }
+
+    /**
+     * Bulk build tree from packed points (replaces current points).
+     *
+     * @param xy Packed points (x0, y0, x1, y1, ...).
+     * @param count Points count.
+     */
+    public void build(int[] xy, int count) {
+        ensureCapacity(count);
+
+        for(int i = 0; i < count; i++) {
+            xs[i] = xy[i * 2];
+            ys[i] = xy[i * 2 + 1];
+        }
+
+        size = count;
+
+        rebuild();
+    }
+
+    /**
+     * Insert point. Tree is rebuilt if point is out of current bounds.
+     *
+     * @param x Point X.
+     * @param y Point Y.
+     */
+    public void insert(int x, int y) {
+        ensureCapacity(size + 1);
+
+        if(!inBounds(x, y)) {
+            xs[size] = x;
+            ys[size] = y;
+
+            size++;
+
+            rebuild();
+
+            return;
+        }
+
+        long code = code(x, y);
+
+        int index = upperBound(code, 0, size);
+
+        System.arraycopy(xs, index, xs, index + 1, size - index);
+        System.arraycopy(ys, index, ys, index + 1, size - index);
+        System.arraycopy(codes, index, codes, index + 1, size - index);
+
+        xs[index] = x;
+        ys[index] = y;
+        codes[index] = code;
+
+        size++;
+    }
+
+    /**
+     * Remove one point with specified coordinates. Returns false if there is no such point.
+     *
+     * @param x Point X.
+     * @param y Point Y.
+     */
+    public boolean remove(int x, int y) {
+        if(!inBounds(x, y)) return false;
+
+        long code = code(x, y);
+
+        for(int i = lowerBound(code, 0, size); i < size && codes[i] == code; i++) {
+            if(xs[i] == x && ys[i] == y) {
+                System.arraycopy(xs, i + 1, xs, i, size - i - 1);
+                System.arraycopy(ys, i + 1, ys, i, size - i - 1);
+                System.arraycopy(codes, i + 1, codes, i, size - i - 1);
+
+                size--;
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Remove all points (capacity is kept).
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Is there any point in range?
+     *
+     * @param minX Range min X (inclusive).
+     * @param minY Range min Y (inclusive).
+     * @param maxX Range max X (exclusive).
+     * @param maxY Range max Y (exclusive).
+     */
+    public boolean intersects(int minX, int minY, int maxX, int maxY) {
+        return query(QUERY_ANY, minX, minY, maxX, maxY, null, null) > 0;
+    }
+
+    /**
+     * Find points in range. Writes packed points (x0, y0, x1, y1, ...) into <code>out</code> until it is full and returns written points count.
+     *
+     * @param minX Range min X (inclusive).
+     * @param minY Range min Y (inclusive).
+     * @param maxX Range max X (exclusive).
+     * @param maxY Range max Y (exclusive).
+     * @param out Output array.
+     */
+    public int query(int minX, int minY, int maxX, int maxY, int[] out) {
+        return query(QUERY_OUT, minX, minY, maxX, maxY, out, null);
+    }
+
+    /**
+     * Visit points in range. Returns visited points count.
+     *
+     * @param minX Range min X (inclusive).
+     * @param minY Range min Y (inclusive).
+     * @param maxX Range max X (exclusive).
+     * @param maxY Range max Y (exclusive).
+     * @param visitor Points visitor.
+     */
+    public int query(int minX, int minY, int maxX, int maxY, PointVisitor visitor) {
+        return query(QUERY_VISIT, minX, minY, maxX, maxY, null, visitor);
+    }
+
+    /**
+     * Count points in range.
+     *
+     * @param minX Range min X (inclusive).
+     * @param minY Range min Y (inclusive).
+     * @param maxX Range max X (exclusive).
+     * @param maxY Range max Y (exclusive).
+     */
+    public int count(int minX, int minY, int maxX, int maxY) {
+        return query(QUERY_OUT, minX, minY, maxX, maxY, null, null);
+    }
+
+    /**
+     * Find k nearest points (squared euclidean distance). Writes packed points sorted by distance into <code>out</code> and returns points count.
+     *
+     * @param x Query X.
+     * @param y Query Y.
+     * @param k Points count.
+     * @param out Output array (at least k * 2 length).
+     */
+    public int nearest(int x, int y, int k, int[] out) {
+        assert_t(out.length < k * 2, "out.length < k * 2");
+
+        if(size == 0 || k <= 0) return 0;
+
+        if(heapDist.length < k) {
+            heapDist = new long[k];
+            heapIndex = new int[k];
+        }
+
+        heapSize = 0;
+
+        nearestNode(0, 0, 0, 0L, 0, size, (long) x - originX, (long) y - originY, k);
+
+        int count = heapSize;
+
+        for(int i = count - 1; i >= 0; i--) {
+            out[i * 2] = xs[heapIndex[0]];
+            out[i * 2 + 1] = ys[heapIndex[0]];
+
+            heapPop();
+        }
+
+        return count;
+    }
+
+    /**
+     * Get points count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get point X by index (Morton order).
+     *
+     * @param i Point index.
+     */
+    public int getX(int i) {
+        return xs[i];
+    }
+
+    /**
+     * Get point Y by index (Morton order).
+     *
+     * @param i Point index.
+     */
+    public int getY(int i) {
+        return ys[i];
+    }
+
+    /**
+     * Get tree bounds [minX, minY, maxX, maxY) (cells area covered by root node).
+     */
+    public int[] getBounds() {
+        return new int[] {originX, originY, originX + (1 << depth), originY + (1 << depth)};
+    }
+
+    /**
+     * Get tree depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    private int query(int mode, int minX, int minY, int maxX, int maxY, int[] out, PointVisitor visitor) {
+        if(size == 0 || minX >= maxX || minY >= maxY) return 0;
+
+        queryMode = mode;
+        queryOut = out;
+        queryVisitor = visitor;
+        queryCount = 0;
+
+        // Clamp to root node so cell coordinates fit int.
+        long side = 1L << depth;
+
+        queryMinX = (int) Math.max(-1, Math.min(side + 1, (long) minX - originX));
+        queryMinY = (int) Math.max(-1, Math.min(side + 1, (long) minY - originY));
+        queryMaxX = (int) Math.max(-1, Math.min(side + 1, (long) maxX - originX));
+        queryMaxY = (int) Math.max(-1, Math.min(side + 1, (long) maxY - originY));
+
+        rangeNode(0, 0, 0, 0L, 0, size);
+
+        queryOut = null;
+        queryVisitor = null;
+
+        return queryCount;
+    }
+
+    // Returns true if query should stop.
+    private boolean rangeNode(int level, int nodeX, int nodeY, long codeBase, int lo, int hi) {
+        if(lo >= hi) return false;
+
+        int side = 1 << (depth - level);
+
+        if(nodeX >= queryMaxX || nodeY >= queryMaxY || nodeX + side <= queryMinX || nodeY + side <= queryMinY) return false;
+
+        boolean inside = nodeX >= queryMinX && nodeY >= queryMinY && nodeX + side <= queryMaxX && nodeY + side <= queryMaxY;
+
+        if(inside || hi - lo <= LEAF_POINTS || level == depth) {
+            for(int i = lo; i < hi; i++) {
+                if(!inside) {
+                    int cx = xs[i] - originX, cy = ys[i] - originY;
+
+                    if(cx < queryMinX || cx >= queryMaxX || cy < queryMinY || cy >= queryMaxY) continue;
+                }
+
+                if(report(i)) return true;
+            }
+
+            return false;
+        }
+
+        int half = side >> 1;
+
+        long quarter = (long) half * half;
+
+        int from = lo;
+
+        for(int q = 0; q < 4; q++) {
+            int to = q == 3 ? hi : lowerBound(codeBase + quarter * (q + 1), from, hi);
+
+            if(rangeNode(level + 1, nodeX + (q & 1) * half, nodeY + (q >> 1) * half, codeBase + quarter * q, from, to)) return true;
+
+            from = to;
+        }
+
+        return false;
+    }
+
+    private boolean report(int i) {
+        switch(queryMode) {
+            case QUERY_ANY:
+                queryCount++;
+
+                return true;
+
+            case QUERY_OUT:
+                if(queryOut != null) {
+                    if(queryCount * 2 + 1 >= queryOut.length) return true;
+
+                    queryOut[queryCount * 2] = xs[i];
+                    queryOut[queryCount * 2 + 1] = ys[i];
+                }
+
+                queryCount++;
+
+                return false;
+
+            default:
+                queryCount++;
+
+                return !queryVisitor.visit(xs[i], ys[i]);
+        }
+    }
+
+    private void nearestNode(int level, int nodeX, int nodeY, long codeBase, int lo, int hi, long px, long py, int k) {
+        if(lo >= hi) return;
+
+        int side = 1 << (depth - level);
+
+        if(heapSize == k && boxDistance(nodeX, nodeY, side, px, py) > heapDist[0]) return;
+
+        if(hi - lo <= LEAF_POINTS || level == depth) {
+            for(int i = lo; i < hi; i++) {
+                long dx = xs[i] - originX - px, dy = ys[i] - originY - py;
+
+                long dist = dx * dx + dy * dy;
+
+                if(heapSize < k) heapPush(dist, i);
+                else if(dist < heapDist[0]) {
+                    heapPop();
+                    heapPush(dist, i);
+                }
+            }
+
+            return;
+        }
+
+        int half = side >> 1;
+
+        long quarter = (long) half * half;
+
+        int b1 = lowerBound(codeBase + quarter, lo, hi);
+        int b2 = lowerBound(codeBase + quarter * 2, b1, hi);
+        int b3 = lowerBound(codeBase + quarter * 3, b2, hi);
+
+        long d0 = boxDistance(nodeX, nodeY, half, px, py);
+        long d1 = boxDistance(nodeX + half, nodeY, half, px, py);
+        long d2 = boxDistance(nodeX, nodeY + half, half, px, py);
+        long d3 = boxDistance(nodeX + half, nodeY + half, half, px, py);
+
+        // Visit children from nearest to farthest.
+        int visited = 0;
+
+        for(int n = 0; n < 4; n++) {
+            int q = -1;
+
+            long best = Long.MAX_VALUE;
+
+            if((visited & 1) == 0 && d0 < best) { best = d0; q = 0; }
+            if((visited & 2) == 0 && d1 < best) { best = d1; q = 1; }
+            if((visited & 4) == 0 && d2 < best) { best = d2; q = 2; }
+            if((visited & 8) == 0 && d3 < best) { q = 3; }
+
+            visited |= 1 << q;
+
+            int from = q == 0 ? lo : q == 1 ? b1 : q == 2 ? b2 : b3;
+            int to = q == 0 ? b1 : q == 1 ? b2 : q == 2 ? b3 : hi;
+
+            nearestNode(level + 1, nodeX + (q & 1) * half, nodeY + (q >> 1) * half, codeBase + quarter * q, from, to, px, py, k);
+        }
+    }
+
+    private static long boxDistance(int nodeX, int nodeY, int side, long px, long py) {
+        long dx = px < nodeX ? nodeX - px : px >= nodeX + side ? px - (nodeX + side - 1) : 0;
+        long dy = py < nodeY ? nodeY - py : py >= nodeY + side ? py - (nodeY + side - 1) : 0;
+
+        return dx * dx + dy * dy;
+    }
+
+    // Max-heap by distance.
+    private void heapPush(long dist, int index) {
+        int i = heapSize++;
+
+        while(i > 0) {
+            int parent = (i - 1) >> 1;
+
+            if(heapDist[parent] >= dist) break;
+
+            heapDist[i] = heapDist[parent];
+            heapIndex[i] = heapIndex[parent];
+
+            i = parent;
+        }
+
+        heapDist[i] = dist;
+        heapIndex[i] = index;
+    }
+
+    private void heapPop() {
+        long dist = heapDist[--heapSize];
+
+        int index = heapIndex[heapSize];
+
+        int i = 0;
+
+        while(true) {
+            int child = i * 2 + 1;
+
+            if(child >= heapSize) break;
+
+            if(child + 1 < heapSize && heapDist[child + 1] > heapDist[child]) child++;
+
+            if(heapDist[child] <= dist) break;
+
+            heapDist[i] = heapDist[child];
+            heapIndex[i] = heapIndex[child];
+
+            i = child;
+        }
+
+        heapDist[i] = dist;
+        heapIndex[i] = index;
+    }
+
+    private void rebuild() {
+        if(size == 0) return;
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+
+        for(int i = 0; i < size; i++) {
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+
+        long extent = Math.max((long) maxX - minX, (long) maxY - minY) + 1;
+
+        int newDepth = Math.max(1, 64 - Long.numberOfLeadingZeros(extent - 1));
+
+        assert_t(newDepth > MAX_DEPTH, "points extent is bigger than 2^MAX_DEPTH");
+
+        originX = minX;
+        originY = minY;
+
+        depth = newDepth;
+
+        for(int i = 0; i < size; i++) sortBuffer[i] = (code(xs[i], ys[i]) << 32) | i;
+
+        Arrays.sort(sortBuffer, 0, size);
+
+        for(int i = 0; i < size; i++) {
+            int from = (int) sortBuffer[i];
+
+            tmpXs[i] = xs[from];
+            tmpYs[i] = ys[from];
+
+            codes[i] = sortBuffer[i] >>> 32;
+        }
+
+        int[] swap = xs; xs = tmpXs; tmpXs = swap;
+
+        swap = ys; ys = tmpYs; tmpYs = swap;
+    }
+
+    private boolean inBounds(int x, int y) {
+        long cx = (long) x - originX, cy = (long) y - originY;
+
+        return size > 0 && cx >= 0 && cy >= 0 && cx < (1L << depth) && cy < (1L << depth);
+    }
+
+    private long code(int x, int y) {
+        return interleave(x - originX) | (interleave(y - originY) << 1);
+    }
+
+    private int lowerBound(long code, int lo, int hi) {
+        while(lo < hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if(codes[mid] < code) lo = mid + 1;
+            else hi = mid;
+        }
+
+        return lo;
+    }
+
+    private int upperBound(long code, int lo, int hi) {
+        while(lo < hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if(codes[mid] <= code) lo = mid + 1;
+            else hi = mid;
+        }
+
+        return lo;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity <= xs.length) return;
+
+        int newCapacity = Math.max(capacity, xs.length * 2);
+
+        xs = Arrays.copyOf(xs, newCapacity);
+        ys = Arrays.copyOf(ys, newCapacity);
+
+        codes = Arrays.copyOf(codes, newCapacity);
+
+        tmpXs = new int[newCapacity];
+        tmpYs = new int[newCapacity];
+
+        sortBuffer = new long[newCapacity];
+    }
+
+    private void allocate(int capacity) {
+        xs = new int[capacity];
+        ys = new int[capacity];
+
+        codes = new long[capacity];
+
+        tmpXs = new int[capacity];
+        tmpYs = new int[capacity];
+
+        sortBuffer = new long[capacity];
+    }
+
+    /**
+     * Spread lower 16 bits of value to even bits (Morton code component).
+     *
+     * @param value Value.
+     */
+    public static long interleave(int value) {
+        long v = value & 0xFFFFL;
+
+        v = (v | (v << 8)) & 0x00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0FL;
+        v = (v | (v << 2)) & 0x33333333L;
+        v = (v | (v << 1)) & 0x55555555L;
+
+        return v;
+    }
+}